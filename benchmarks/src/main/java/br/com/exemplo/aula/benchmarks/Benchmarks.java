@@ -0,0 +1,27 @@
+package br.com.exemplo.aula.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Ponto de entrada do benchmarks.jar: aceita as mesmas opções do JMH, mas grava o resultado em JSON por padrão.
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        if (linhaDeComando.shouldHelp() || linhaDeComando.shouldList() || linhaDeComando.shouldListWithParams()
+                || linhaDeComando.shouldListProfilers() || linhaDeComando.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        Options opcoes = new OptionsBuilder()
+                .parent(linhaDeComando)
+                .resultFormat(linhaDeComando.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(linhaDeComando.getResult().orElse("target/jmh-result.json"))
+                .build();
+        new Runner(opcoes).run();
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.config.SqlLento;
+import br.com.exemplo.aula.config.SqlLogConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Custo do DataSourceMedido (sql.log.habilitado) sobre o DataSource do pool, no caminho comum: comandos abaixo do
+// limiar e fora da amostra. O driver é trocado pelo JdbcEmMemoria, então a diferença entre "bruto" e "medido" é só o
+// trabalho dos proxies de conexão, comando e ResultSet.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataSourceBenchmark {
+
+    @Param({"bruto", "medido"})
+    String dataSource;
+
+    @Param({"1", "100"})
+    int linhas;
+
+    DataSource alvo;
+    SqlLento sqlLento;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        alvo = JdbcEmMemoria.dataSource(linhas);
+        if (dataSource.equals("medido")) {
+            // Limiar que nenhum comando alcança e amostra zero: nada vai para o log.
+            sqlLento = new SqlLento(Duration.ofHours(1), 0, 8192);
+            DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+            beans.registerSingleton("sqlLento", sqlLento);
+            alvo = (DataSource) SqlLogConfig.dataSourceMedido(beans.getBeanProvider(SqlLento.class))
+                    .postProcessAfterInitialization(alvo, "dataSource");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws InterruptedException {
+        if (sqlLento != null) {
+            sqlLento.parar();
+        }
+    }
+
+    @Benchmark
+    public long consultar() throws SQLException {
+        try (Connection conexao = alvo.getConnection();
+             PreparedStatement comando = conexao.prepareStatement("select id_paciente from paciente where cpf = ?")) {
+            comando.setString(1, "12345678901");
+            try (ResultSet resultado = comando.executeQuery()) {
+                long soma = 0;
+                while (resultado.next()) {
+                    soma += resultado.getLong(1);
+                }
+                return soma;
+            }
+        }
+    }
+
+    @Benchmark
+    public int atualizar() throws SQLException {
+        try (Connection conexao = alvo.getConnection();
+             PreparedStatement comando = conexao.prepareStatement("update paciente set telefone = ? where id_paciente = ?")) {
+            comando.setString(1, "11999990000");
+            comando.setLong(2, 10L);
+            return comando.executeUpdate();
+        }
+    }
+}
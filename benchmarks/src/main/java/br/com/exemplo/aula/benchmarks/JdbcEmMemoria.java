@@ -0,0 +1,61 @@
+package br.com.exemplo.aula.benchmarks;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// DataSource sem banco: cada consulta devolve "linhas" linhas com o número da linha em todas as colunas e cada
+// UPDATE altera uma linha. Serve para medir o que fica em volta do driver, não o driver nem o banco.
+final class JdbcEmMemoria {
+
+    private JdbcEmMemoria() {
+    }
+
+    static DataSource dataSource(int linhas) {
+        Connection conexao = conexao(linhas);
+        return criar(DataSource.class, (metodo, argumentos) -> switch (metodo) {
+            case "getConnection" -> conexao;
+            default -> null;
+        });
+    }
+
+    private static Connection conexao(int linhas) {
+        return criar(Connection.class, (metodo, argumentos) -> switch (metodo) {
+            case "prepareStatement" -> comando(linhas);
+            case "getAutoCommit", "isClosed" -> false;
+            default -> null;
+        });
+    }
+
+    private static PreparedStatement comando(int linhas) {
+        return criar(PreparedStatement.class, (metodo, argumentos) -> switch (metodo) {
+            case "executeQuery" -> resultado(linhas);
+            case "executeUpdate" -> 1;
+            default -> null;
+        });
+    }
+
+    private static ResultSet resultado(int linhas) {
+        int[] atual = {0};
+        return criar(ResultSet.class, (metodo, argumentos) -> switch (metodo) {
+            case "next" -> ++atual[0] <= linhas;
+            case "getLong" -> (long) atual[0];
+            default -> null;
+        });
+    }
+
+    private interface Metodos {
+        Object chamar(String metodo, Object[] argumentos);
+    }
+
+    private static <T> T criar(Class<T> tipo, Metodos metodos) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, argumentos) ->
+                switch (metodo.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == argumentos[0];
+                    default -> metodos.chamar(metodo.getName(), argumentos);
+                }));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteResponseDTO;
+import br.com.exemplo.aula.services.ConsultaService;
+import br.com.exemplo.aula.services.NutricionistaService;
+import br.com.exemplo.aula.services.PacienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Listagens completas de 10 mil a 1 milhão de linhas. Consultas vêm prontas do resumo, então além da listagem
+// mede-se o corpo JSON de GET /consultas; pacientes e nutricionistas medem o mapeamento entidade -> DTO.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ListagemBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int linhas;
+
+    ObjectMapper objectMapper;
+    ConsultaService consultaService;
+    PacienteService pacienteService;
+    NutricionistaService nutricionistaService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = Servicos.objectMapper();
+        consultaService = Servicos.consultas(Massa.resumoConsultas(linhas), objectMapper);
+        pacienteService = Servicos.pacientes(Massa.pacientes(linhas));
+        nutricionistaService = Servicos.nutricionistas(Massa.nutricionistas(linhas), Massa.certificacoes(linhas),
+                Massa.catalogo());
+    }
+
+    @Benchmark
+    public List<ConsultaResponseListDTO> listarConsultas() {
+        return consultaService.listarConsultas();
+    }
+
+    @Benchmark
+    public void listarConsultasJson() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), consultaService.listarConsultas());
+    }
+
+    @Benchmark
+    public List<PacienteResponseDTO> listarPacientes() {
+        return pacienteService.listarPacientes();
+    }
+
+    @Benchmark
+    public List<NutricionistaResponseDTO> listarNutricionistas() {
+        return nutricionistaService.listarNutricionistas();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteResponseDTO;
+import br.com.exemplo.aula.services.ConsultaService;
+import br.com.exemplo.aula.services.NutricionistaService;
+import br.com.exemplo.aula.services.PacienteService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Mapeamento de um registro por requisição, como nos GET por id (sem o cache do Spring, que aqui não existe).
+// O sparse fieldset de consultas passa por BeanWrapper e ObjectMapper.convertValue a cada chamada.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeamentoBenchmark {
+
+    private static final int REGISTROS = 10_000;
+    private static final List<String> CAMPOS_CONSULTA = List.of("id", "nomePaciente", "data", "horaInicio");
+
+    ConsultaService consultaService;
+    PacienteService pacienteService;
+    NutricionistaService nutricionistaService;
+    long proximo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        consultaService = Servicos.consultas(List.of(), Servicos.objectMapper());
+        pacienteService = Servicos.pacientes(Massa.pacientes(REGISTROS));
+        nutricionistaService = Servicos.nutricionistas(Massa.nutricionistas(REGISTROS), Massa.certificacoes(REGISTROS),
+                Massa.catalogo());
+    }
+
+    // Ids variados a cada chamada, para não medir sempre o mesmo objeto já quente no cache da CPU.
+    // Um contador é barato o bastante para não aparecer na medida, ao contrário de um @Setup por invocação.
+    private long proximoId() {
+        proximo = proximo % REGISTROS + 1;
+        return proximo;
+    }
+
+    @Benchmark
+    public PacienteResponseDTO buscarPaciente() {
+        return pacienteService.buscarPaciente(proximoId());
+    }
+
+    @Benchmark
+    public NutricionistaResponseDTO buscarNutricionista() {
+        return nutricionistaService.buscarNutricionista(proximoId());
+    }
+
+    @Benchmark
+    public Map<String, Object> buscarConsultaCampos() {
+        return consultaService.buscarConsulta(1L, CAMPOS_CONSULTA);
+    }
+}
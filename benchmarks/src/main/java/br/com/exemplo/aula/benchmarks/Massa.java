@@ -0,0 +1,136 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.entities.Certificacao;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.CertificacaoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaCertificacaoView;
+import br.com.exemplo.aula.services.CertificacaoCatalogo;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dados sintéticos com tamanhos e formatos parecidos com os de produção; semente fixa para resultados comparáveis.
+final class Massa {
+
+    static final String[] ESPECIALIDADES = {"Clínica", "Esportiva", "Materno-infantil", "Oncológica", "Comportamental"};
+    static final String[] CERTIFICACOES = {"Nutrição esportiva", "Fitoterapia", "Nutrição funcional", "Gastronomia",
+            "Obesidade", "Diabetes", "Vegetarianismo", "Pediatria"};
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Heitor",
+            "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Patrícia", "Rafael"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Ferreira",
+            "Costa", "Rodrigues", "Almeida", "Nascimento", "Carvalho"};
+    private static final LocalDate INICIO_CONSULTAS = LocalDate.of(2023, 1, 1);
+
+    private Massa() {
+    }
+
+    static String nome(SplittableRandom aleatorio) {
+        return NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)] + " "
+                + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+    }
+
+    static List<Paciente> pacientes(int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        List<Paciente> pacientes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Paciente paciente = new Paciente();
+            paciente.setId((long) i);
+            paciente.setNome(nome(aleatorio));
+            paciente.setDataNascimento(LocalDate.of(1940, 1, 1).plusDays(aleatorio.nextInt(30_000)));
+            paciente.setCpf(String.format("%011d", aleatorio.nextLong(100_000_000_000L)));
+            paciente.setTelefone(String.format("(48) 9%04d-%04d", aleatorio.nextInt(10_000), aleatorio.nextInt(10_000)));
+            paciente.setEmail("paciente" + i + "@exemplo.com.br");
+            paciente.setVersao(aleatorio.nextInt(5));
+            paciente.setAtualizadoEm(Instant.parse("2024-06-01T12:00:00Z"));
+            pacientes.add(paciente);
+        }
+        return pacientes;
+    }
+
+    static List<Nutricionista> nutricionistas(int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(7);
+        List<Nutricionista> nutricionistas = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Nutricionista nutricionista = new Nutricionista();
+            nutricionista.setId((long) i);
+            nutricionista.setNome(nome(aleatorio) + " " + i);
+            nutricionista.setMatricula("M" + i);
+            nutricionista.setTempoExperiencia(aleatorio.nextInt(40));
+            nutricionista.setCrn("CRN-" + (10_000 + i));
+            nutricionista.setEspecialidade(ESPECIALIDADES[aleatorio.nextInt(ESPECIALIDADES.length)]);
+            nutricionista.setAtualizadoEm(Instant.parse("2024-06-01T12:00:00Z"));
+            nutricionistas.add(nutricionista);
+        }
+        return nutricionistas;
+    }
+
+    // De zero a três certificações por nutricionista, agrupadas por nutricionista como no retorno do banco.
+    static Map<Long, List<NutricionistaCertificacaoView>> certificacoes(int nutricionistas) {
+        SplittableRandom aleatorio = new SplittableRandom(11);
+        Map<Long, List<NutricionistaCertificacaoView>> vinculos = new ConcurrentHashMap<>();
+        for (long id = 1; id <= nutricionistas; id++) {
+            int quantidade = aleatorio.nextInt(4);
+            List<NutricionistaCertificacaoView> doNutricionista = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                doNutricionista.add(new Vinculo(id, 1L + aleatorio.nextInt(CERTIFICACOES.length)));
+            }
+            vinculos.put(id, doNutricionista);
+        }
+        return vinculos;
+    }
+
+    // Catálogo preenchido pelo mesmo caminho de uma certificação nova (idDe), com um repositório em memória.
+    static CertificacaoCatalogo catalogo() {
+        Map<String, Certificacao> porNome = new ConcurrentHashMap<>();
+        AtomicLong sequencia = new AtomicLong();
+        CertificacaoRepository repositorio = RepositorioEmMemoria.criar(CertificacaoRepository.class, Map.of(
+                "inserirSeAusente", argumentos -> {
+                    porNome.computeIfAbsent((String) argumentos[0], nome -> {
+                        Certificacao certificacao = new Certificacao();
+                        certificacao.setId(sequencia.incrementAndGet());
+                        certificacao.setNome(nome);
+                        return certificacao;
+                    });
+                    return 1;
+                },
+                "findByNome", argumentos -> Optional.ofNullable(porNome.get((String) argumentos[0]))));
+        CertificacaoCatalogo catalogo = new CertificacaoCatalogo(repositorio, null, null);
+        for (String certificacao : CERTIFICACOES) {
+            catalogo.idDe(certificacao);
+        }
+        return catalogo;
+    }
+
+    static List<ConsultaResponseListDTO> resumoConsultas(int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(3);
+        List<ConsultaResponseListDTO> consultas = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            consultas.add(new ConsultaResponseListDTO((long) i, nome(aleatorio), nome(aleatorio),
+                    INICIO_CONSULTAS.plusDays(aleatorio.nextInt(730))));
+        }
+        return consultas;
+    }
+
+    record Vinculo(Long idNutricionista, Long idCertificacao) implements NutricionistaCertificacaoView {
+
+        @Override
+        public Long getIdNutricionista() {
+            return idNutricionista;
+        }
+
+        @Override
+        public Long getIdCertificacao() {
+            return idCertificacao;
+        }
+    }
+}
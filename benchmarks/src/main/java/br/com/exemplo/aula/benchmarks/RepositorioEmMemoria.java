@@ -0,0 +1,28 @@
+package br.com.exemplo.aula.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+// Implementa uma interface de repositório só com os métodos que o benchmark usa, pelo nome do método.
+// Os demais lançam UnsupportedOperationException: se o serviço passar a chamá-los, o benchmark acusa na hora.
+final class RepositorioEmMemoria {
+
+    private RepositorioEmMemoria() {
+    }
+
+    static <T> T criar(Class<T> tipo, Map<String, Function<Object[], Object>> metodos) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, argumentos) -> {
+            Function<Object[], Object> implementacao = metodos.get(metodo.getName());
+            if (implementacao != null) {
+                return implementacao.apply(argumentos);
+            }
+            return switch (metodo.getName()) {
+                case "toString" -> tipo.getSimpleName() + " em memória";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == argumentos[0];
+                default -> throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName());
+            };
+        }));
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson dos DTOs de resposta com o mesmo ObjectMapper da aplicação, incluindo os @JsonFormat de data e hora.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    ObjectMapper objectMapper;
+    ConsultaResponseDTO consulta;
+    ConsultaResponseListDTO itemListagem;
+    NutricionistaResponseDTO nutricionista;
+
+    @Setup(Level.Trial)
+    public void preparar() throws JsonProcessingException {
+        objectMapper = Servicos.objectMapper();
+        consulta = Servicos.DETALHE_CONSULTA;
+        itemListagem = new ConsultaResponseListDTO(1L, "Ana Silva Costa", "Bruno Lima Souza", LocalDate.of(2024, 6, 17));
+        nutricionista = new NutricionistaResponseDTO(1L, "Ana Silva Costa", "M1", 12, "CRN-10001", "Esportiva");
+        nutricionista.setCertificacoes(Set.of("Fitoterapia", "Nutrição esportiva"));
+
+        // Garante que o caminho medido é o dos formatos anotados, e não o padrão ISO.
+        String json = objectMapper.writeValueAsString(consulta);
+        if (!json.contains("\"17/06/2024\"") || !json.contains("\"14:30\"")) {
+            throw new IllegalStateException("Formato inesperado: " + json);
+        }
+    }
+
+    @Benchmark
+    public byte[] consultaResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(consulta);
+    }
+
+    @Benchmark
+    public byte[] consultaResponseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemListagem);
+    }
+
+    @Benchmark
+    public byte[] nutricionistaResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(nutricionista);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaCertificacaoView;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import br.com.exemplo.aula.services.CertificacaoCatalogo;
+import br.com.exemplo.aula.services.ConsultaService;
+import br.com.exemplo.aula.services.NomeNutricionistaIndice;
+import br.com.exemplo.aula.services.NutricionistaBuscaIndice;
+import br.com.exemplo.aula.services.NutricionistaService;
+import br.com.exemplo.aula.services.NutricionistaTrigramaIndice;
+import br.com.exemplo.aula.services.PacienteService;
+import br.com.exemplo.aula.services.PacienteTrigramaIndice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Serviços reais sobre repositórios em memória: o que se mede é o código do serviço, não o banco.
+// Dependências que os caminhos medidos não usam (agenda, versão da coleção) ficam nulas.
+final class Servicos {
+
+    static final ConsultaResponseDTO DETALHE_CONSULTA = new ConsultaResponseDTO(1L, 10L, "Ana Silva Costa", 20L,
+            "Bruno Lima Souza", LocalDate.of(2024, 6, 17), LocalTime.of(14, 30), LocalTime.of(15, 30),
+            "Retorno; trazer exames de sangue recentes.");
+    private static final Map<String, Object> COLUNAS_DETALHE = colunas(DETALHE_CONSULTA);
+
+    private Servicos() {
+    }
+
+    // Mesma configuração de datas do ObjectMapper do Spring Boot (ISO em vez de timestamps numéricos).
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static PacienteService pacientes(List<Paciente> pacientes) {
+        Map<Long, Paciente> porId = indexar(pacientes, Paciente::getId);
+        PacienteRepository repositorio = RepositorioEmMemoria.criar(PacienteRepository.class, Map.of(
+                "findAll", argumentos -> pacientes,
+                "findById", argumentos -> Optional.ofNullable(porId.get((Long) argumentos[0]))));
+        return new PacienteService(repositorio, new PacienteTrigramaIndice(repositorio, null, 0.3), null, evento -> {
+        });
+    }
+
+    static NutricionistaService nutricionistas(List<Nutricionista> nutricionistas,
+                                               Map<Long, List<NutricionistaCertificacaoView>> certificacoes,
+                                               CertificacaoCatalogo catalogo) {
+        Map<Long, Nutricionista> porId = indexar(nutricionistas, Nutricionista::getId);
+        NutricionistaRepository repositorio = RepositorioEmMemoria.criar(NutricionistaRepository.class, Map.of(
+                "findAll", argumentos -> nutricionistas,
+                "findById", argumentos -> Optional.ofNullable(porId.get((Long) argumentos[0])),
+                "buscarCertificacoes", argumentos -> vinculos(certificacoes, argumentos[0])));
+        return new NutricionistaService(repositorio, new NomeNutricionistaIndice(repositorio), catalogo,
+                new NutricionistaBuscaIndice(repositorio), new NutricionistaTrigramaIndice(repositorio, null, 0.3), null,
+                evento -> {
+                });
+    }
+
+    static ConsultaService consultas(List<ConsultaResponseListDTO> resumo, ObjectMapper objectMapper) {
+        ConsultaResumoRepository resumoRepositorio = RepositorioEmMemoria.criar(ConsultaResumoRepository.class, Map.of(
+                "listarResumo", argumentos -> resumo));
+        ConsultaRepository consultaRepositorio = RepositorioEmMemoria.criar(ConsultaRepository.class, Map.of(
+                "buscarCampos", argumentos -> campos(argumentos[1])));
+        return new ConsultaService(consultaRepositorio, resumoRepositorio, null, null, null, objectMapper, evento -> {
+        });
+    }
+
+    // O repositório devolve os valores já nos tipos da entidade (LocalDate, LocalTime), como a consulta por tupla.
+    private static Map<String, Object> campos(Object campos) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (Object campo : (Collection<?>) campos) {
+            valores.put((String) campo, COLUNAS_DETALHE.get(campo));
+        }
+        return valores;
+    }
+
+    private static List<NutricionistaCertificacaoView> vinculos(Map<Long, List<NutricionistaCertificacaoView>> certificacoes,
+                                                                Object ids) {
+        List<NutricionistaCertificacaoView> vinculos = new ArrayList<>();
+        for (Object id : (Collection<?>) ids) {
+            List<NutricionistaCertificacaoView> doNutricionista = certificacoes.get((Long) id);
+            if (doNutricionista != null) {
+                vinculos.addAll(doNutricionista);
+            }
+        }
+        return vinculos;
+    }
+
+    private static Map<String, Object> colunas(ConsultaResponseDTO consulta) {
+        Map<String, Object> colunas = new HashMap<>();
+        colunas.put("id", consulta.getId());
+        colunas.put("idNutricionista", consulta.getIdNutricionista());
+        colunas.put("nomeNutricionista", consulta.getNomeNutricionista());
+        colunas.put("idPaciente", consulta.getIdPaciente());
+        colunas.put("nomePaciente", consulta.getNomePaciente());
+        colunas.put("data", consulta.getData());
+        colunas.put("horaInicio", consulta.getHoraInicio());
+        colunas.put("horaFim", consulta.getHoraFim());
+        colunas.put("observacoes", consulta.getObservacoes());
+        return colunas;
+    }
+
+    private static <T> Map<Long, T> indexar(List<T> itens, Function<T, Long> id) {
+        Map<Long, T> porId = new HashMap<>(itens.size() * 2);
+        for (T item : itens) {
+            porId.put(id.apply(item), item);
+        }
+        return porId;
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.exemplo.aula.benchmarks;
+
+import br.com.exemplo.aula.services.TrigramaIndice;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Busca aproximada por nome (GET /pacientes/busca). O TrigramaIndice soma as listas de trigramas bloco a bloco,
+// lendo os containers do RoaringBitmap; a referência aqui é a versão só com a API pública: percorre cada lista
+// e conta os ids num int[] reaproveitado entre buscas.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrigramaBenchmark {
+
+    private static final double LIMIAR = 0.3;
+    private static final int LIMITE = 10;
+    private static final int CONSULTAS = 64;
+
+    @Param({"10000", "200000"})
+    int nomes;
+
+    TrigramaIndice indice;
+    ContagemSimples contagem;
+    String[] consultas;
+    int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new TrigramaIndice(LIMIAR);
+        contagem = new ContagemSimples(nomes);
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        for (int id = 1; id <= nomes; id++) {
+            String nome = Massa.nome(aleatorio);
+            indice.indexar((long) id, nome);
+            contagem.indexar(id, nome);
+        }
+        // Metade das consultas com um erro de digitação, como em buscas digitadas por atendentes.
+        consultas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String nome = Massa.nome(aleatorio);
+            if (i % 2 == 1) {
+                int posicao = 1 + aleatorio.nextInt(nome.length() - 1);
+                nome = nome.substring(0, posicao) + nome.substring(posicao + 1);
+            }
+            consultas[i] = nome;
+            if (!indice.buscar(nome, LIMITE).equals(contagem.buscar(nome, LIMITE))) {
+                throw new IllegalStateException("Resultados diferentes para \"" + nome + "\".");
+            }
+        }
+    }
+
+    private String proximaConsulta() {
+        proxima = (proxima + 1) % CONSULTAS;
+        return consultas[proxima];
+    }
+
+    @Benchmark
+    public List<TrigramaIndice.Resultado> buscarIndice() {
+        return indice.buscar(proximaConsulta(), LIMITE);
+    }
+
+    @Benchmark
+    public List<TrigramaIndice.Resultado> buscarContagemSimples() {
+        return contagem.buscar(proximaConsulta(), LIMITE);
+    }
+
+    // Mesma similaridade e mesmo desempate do TrigramaIndice, sem poda e sem acesso aos containers.
+    static final class ContagemSimples {
+
+        private static final Comparator<TrigramaIndice.Resultado> PIOR_PRIMEIRO =
+                Comparator.comparingDouble(TrigramaIndice.Resultado::similaridade)
+                        .thenComparing(Comparator.comparingLong(TrigramaIndice.Resultado::id).reversed());
+
+        private final RoaringBitmap[] porTrigrama = new RoaringBitmap[37 * 37 * 37];
+        private final int[] tamanhos;
+        private final int[] contagens;
+        private final int[] tocados;
+
+        ContagemSimples(int nomes) {
+            tamanhos = new int[nomes + 1];
+            contagens = new int[nomes + 1];
+            tocados = new int[nomes + 1];
+        }
+
+        void indexar(int id, String nome) {
+            int[] trigramas = TrigramaIndice.trigramas(nome);
+            for (int trigrama : trigramas) {
+                if (porTrigrama[trigrama] == null) {
+                    porTrigrama[trigrama] = new RoaringBitmap();
+                }
+                porTrigrama[trigrama].add(id);
+            }
+            tamanhos[id] = trigramas.length;
+        }
+
+        List<TrigramaIndice.Resultado> buscar(String consulta, int limite) {
+            int[] trigramas = TrigramaIndice.trigramas(consulta);
+            int n = trigramas.length;
+            int quantidade = 0;
+            for (int trigrama : trigramas) {
+                RoaringBitmap ids = porTrigrama[trigrama];
+                if (ids == null) {
+                    continue;
+                }
+                for (int id : ids) {
+                    if (contagens[id]++ == 0) {
+                        tocados[quantidade++] = id;
+                    }
+                }
+            }
+
+            PriorityQueue<TrigramaIndice.Resultado> melhores = new PriorityQueue<>(limite, PIOR_PRIMEIRO);
+            for (int i = 0; i < quantidade; i++) {
+                int id = tocados[i];
+                int comuns = contagens[id];
+                contagens[id] = 0;
+                double similaridade = (double) comuns / (n + tamanhos[id] - comuns);
+                if (similaridade < LIMIAR) {
+                    continue;
+                }
+                TrigramaIndice.Resultado resultado = new TrigramaIndice.Resultado(id, similaridade);
+                if (melhores.size() < limite) {
+                    melhores.add(resultado);
+                } else if (PIOR_PRIMEIRO.compare(resultado, melhores.peek()) > 0) {
+                    melhores.poll();
+                    melhores.add(resultado);
+                }
+            }
+            List<TrigramaIndice.Resultado> resultados = new ArrayList<>(melhores);
+            resultados.sort(PIOR_PRIMEIRO.reversed());
+            return resultados;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.exemplo.aula.carga;
+
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+// Uma requisição GET sorteada pelo peso; o caminho é gerado a cada chamada para variar ids e filtros.
+record Cenario(String nome, int peso, Function<RandomGenerator, String> caminho) {
+
+    Cenario comPeso(int peso) {
+        return new Cenario(nome, peso, caminho);
+    }
+}
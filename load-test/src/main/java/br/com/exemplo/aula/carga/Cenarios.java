@@ -0,0 +1,79 @@
+package br.com.exemplo.aula.carga;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+// Cenários de leitura sobre a massa de MassaCarga, com o peso padrão de cada um (sobrescrito por carga.peso.<nome>).
+final class Cenarios {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private Cenarios() {
+    }
+
+    static List<Cenario> criar(ConfiguracaoCarga config) {
+        LocalDate primeiroDia = LocalDate.now().minusDays(MassaCarga.DIAS_PASSADOS);
+        List<Cenario> todos = List.of(
+                new Cenario("consultas-pagina", 15,
+                        r -> "/consultas?tamanho=50&de=" + dia(r, primeiroDia).format(DATA)),
+                new Cenario("consulta-por-id", 15,
+                        r -> "/consultas/" + id(r, config.consultas())),
+                new Cenario("consultas-por-nutricionista", 15, r -> {
+                    LocalDate de = dia(r, primeiroDia);
+                    return "/consultas?nutricionista=" + id(r, config.nutricionistas())
+                            + "&de=" + de.format(DATA) + "&ate=" + de.plusDays(30).format(DATA);
+                }),
+                new Cenario("consultas-por-paciente", 10,
+                        r -> "/consultas?paciente=" + id(r, config.pacientes())),
+                new Cenario("paciente-por-id", 15,
+                        r -> "/pacientes/" + id(r, config.pacientes())),
+                new Cenario("pacientes-busca", 5,
+                        r -> "/pacientes/busca?q=" + codificar(sortear(r, MassaCarga.PRENOMES) + " "
+                                + sortear(r, MassaCarga.SOBRENOMES))),
+                new Cenario("nutricionista-por-id", 15,
+                        r -> "/nutricionistas/" + id(r, config.nutricionistas())),
+                new Cenario("nutricionistas-busca", 10,
+                        r -> "/nutricionistas/busca?especialidade=" + codificar(sortear(r, MassaCarga.ESPECIALIDADES))),
+                // Listagens completas devolvem a coleção inteira: ficam desligadas a menos que recebam peso.
+                new Cenario("consultas-lista", 0, r -> "/consultas"),
+                new Cenario("pacientes-lista", 0, r -> "/pacientes"),
+                new Cenario("nutricionistas-lista", 0, r -> "/nutricionistas"));
+
+        Set<String> nomes = todos.stream().map(Cenario::nome).collect(Collectors.toSet());
+        for (String nome : config.peso().keySet()) {
+            if (!nomes.contains(nome)) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + nome + ". Cenários: " + nomes);
+            }
+        }
+        List<Cenario> ativos = todos.stream()
+                .map(cenario -> cenario.comPeso(config.peso().getOrDefault(cenario.nome(), cenario.peso())))
+                .filter(cenario -> cenario.peso() > 0)
+                .toList();
+        if (ativos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum cenário com peso maior que zero");
+        }
+        return ativos;
+    }
+
+    private static long id(RandomGenerator aleatorio, long total) {
+        return 1 + aleatorio.nextLong(total);
+    }
+
+    private static LocalDate dia(RandomGenerator aleatorio, LocalDate primeiroDia) {
+        return primeiroDia.plusDays(aleatorio.nextInt(MassaCarga.DIAS_TOTAL));
+    }
+
+    private static String sortear(RandomGenerator aleatorio, List<String> valores) {
+        return valores.get(aleatorio.nextInt(valores.size()));
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+}
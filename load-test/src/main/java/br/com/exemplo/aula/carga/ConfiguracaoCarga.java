@@ -0,0 +1,23 @@
+package br.com.exemplo.aula.carga;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Opções do teste de carga, lidas dos argumentos com prefixo "carga." (ver TesteCarga).
+record ConfiguracaoCarga(
+        @DefaultValue("target/carga") String dados,
+        @DefaultValue("target/carga-relatorio") String relatorio,
+        @DefaultValue("100000") int nutricionistas,
+        @DefaultValue("5000000") int pacientes,
+        @DefaultValue("20000000") long consultas,
+        @DefaultValue("32") int concorrencia,
+        @DefaultValue("30s") Duration aquecimento,
+        @DefaultValue("2m") Duration duracao,
+        Map<String, Integer> peso) {
+
+    ConfiguracaoCarga {
+        peso = peso == null ? Map.of() : Map.copyOf(peso);
+    }
+}
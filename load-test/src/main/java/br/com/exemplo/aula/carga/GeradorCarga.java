@@ -0,0 +1,99 @@
+package br.com.exemplo.aula.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+// Clientes em laço fechado: cada thread sorteia um cenário pelo peso, faz a requisição, espera a resposta e só
+// então faz a próxima. A latência é a de ponta a ponta vista pelo cliente, incluindo ler o corpo inteiro.
+// Como o cliente espera, a vazão medida é a que o servidor sustenta com essa concorrência.
+final class GeradorCarga {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final URI base;
+    private final String autorizacao;
+    private final List<Cenario> cenarios;
+    private final int[] pesosAcumulados;
+    private final int concorrencia;
+
+    GeradorCarga(URI base, String token, List<Cenario> cenarios, int concorrencia) {
+        this.base = base;
+        this.autorizacao = "Bearer " + token;
+        this.cenarios = cenarios;
+        this.concorrencia = concorrencia;
+        this.pesosAcumulados = new int[cenarios.size()];
+        int soma = 0;
+        for (int i = 0; i < cenarios.size(); i++) {
+            soma += cenarios.get(i).peso();
+            pesosAcumulados[i] = soma;
+        }
+    }
+
+    ResultadoCarga executar(Duration duracao) throws InterruptedException, ExecutionException {
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+        try {
+            long inicio = System.nanoTime();
+            long fim = inicio + duracao.toNanos();
+            List<Future<ResultadoCarga>> parciais = new ArrayList<>();
+            for (int i = 0; i < concorrencia; i++) {
+                parciais.add(clientes.submit(() -> medir(fim)));
+            }
+            ResultadoCarga resultado = new ResultadoCarga(cenarios);
+            for (Future<ResultadoCarga> parcial : parciais) {
+                resultado.somar(parcial.get());
+            }
+            resultado.setDuracao(Duration.ofNanos(System.nanoTime() - inicio));
+            return resultado;
+        } finally {
+            clientes.shutdownNow();
+        }
+    }
+
+    private ResultadoCarga medir(long fim) throws InterruptedException {
+        ResultadoCarga resultado = new ResultadoCarga(cenarios);
+        RandomGenerator aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fim) {
+            int cenario = sortear(aleatorio);
+            HttpRequest requisicao = HttpRequest.newBuilder(base.resolve(cenarios.get(cenario).caminho().apply(aleatorio)))
+                    .header("Authorization", autorizacao)
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            long inicio = System.nanoTime();
+            String erro;
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                erro = resposta.statusCode() >= 400 ? "HTTP " + resposta.statusCode() : null;
+            } catch (IOException e) {
+                erro = e.getClass().getSimpleName();
+            }
+            resultado.registrar(cenario, System.nanoTime() - inicio, erro);
+        }
+        return resultado;
+    }
+
+    private int sortear(RandomGenerator aleatorio) {
+        int sorteado = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        int i = 0;
+        while (pesosAcumulados[i] <= sorteado) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.exemplo.aula.carga;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Massa sintética gerada no próprio PostgreSQL (generate_series), sem trafegar linhas pela JDBC. Determinística:
+// os mesmos volumes produzem os mesmos dados. Nomes combinam listas fixas para que as buscas por nome tenham
+// o que encontrar; ids começam em 1 e são contíguos, o que permite aos cenários sortear ids existentes.
+final class MassaCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(MassaCarga.class);
+
+    static final List<String> PRENOMES = List.of("Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Juliana", "Lucas", "Mariana", "Mateus", "Natália", "Otávio", "Patrícia",
+            "Rafael", "Sabrina", "Thiago", "Vanessa", "Vinícius", "Alice", "Arthur", "Beatriz", "Caio", "Débora",
+            "Enzo", "Fernanda", "Gustavo", "Helena", "Igor", "Jéssica", "Leonardo", "Larissa", "Marcelo", "Nicole",
+            "Pedro", "Renata", "Samuel", "Tatiane", "Vitor", "Yasmin", "André", "Bianca", "Cristina", "Diego",
+            "Elaine", "Fábio", "Giovana", "Heitor", "Lívia", "Miguel", "Paula", "Ricardo", "Sofia", "Tiago", "Valéria",
+            "William", "Lorena");
+    static final List<String> SOBRENOMES = List.of("Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes",
+            "Marques", "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira",
+            "Araújo", "Pinto", "Correia", "Cavalcanti", "Monteiro", "Moura", "Campos", "Batista", "Reis", "Medeiros",
+            "Castro", "Farias", "Borges", "Pires", "Xavier", "Brito", "Miranda", "Duarte", "Siqueira", "Macedo",
+            "Tavares", "Fonseca", "Peixoto", "Guimarães", "Coelho");
+    static final List<String> ESPECIALIDADES = List.of("Nutrição Clínica", "Nutrição Esportiva", "Nutrição Infantil",
+            "Nutrição Funcional", "Nutrição Oncológica", "Gerontologia", "Saúde Coletiva", "Nutrição Materna");
+    static final List<String> CERTIFICACOES = List.of("Terapia Nutricional Enteral", "Nutrição Parenteral",
+            "Fitoterapia", "Comportamento Alimentar", "Nutrição Vegetariana", "Obesidade", "Diabetes",
+            "Doença Renal", "Alergias Alimentares", "Nutrigenômica", "Suplementação Esportiva", "Aleitamento Materno");
+
+    // Consultas entre ~23 meses atrás e 3 meses à frente: cabem nas partições criadas e ainda não são arquivadas.
+    static final int DIAS_PASSADOS = 690;
+    static final int DIAS_TOTAL = 780;
+
+    private static final int HORARIOS_POR_DIA = 20;
+    private static final long LOTE_CONSULTAS = 1_000_000;
+
+    // Três nomes em base 60: distintos até 216 mil linhas; acima disso o id entra no nome (nutricionista é único por nome).
+    private static final String NOME = """
+            (%s)[1 + (g %% 60)::int] || ' ' || (%s)[1 + (g / 60 %% 60)::int] || ' ' || (%s)[1 + (g / 3600 %% 60)::int]
+            """.formatted(array(PRENOMES), array(SOBRENOMES), array(SOBRENOMES)).strip();
+
+    private static final String INSERIR_NUTRICIONISTAS = """
+            insert into nutricionista (id_nutricionista, nome, matricula, tempo_experiencia, crn, especialidade, versao, atualizado_em)
+            select g, %s || case when g >= 216000 then ' ' || g else '' end,
+                   'M' || g, g %% 35, 'CRN-' || (1 + g %% 10) || '/' || g, (%s)[1 + (g %% %d)::int], 0, now()
+            from generate_series(1, cast(? as bigint)) g
+            """.formatted(NOME, array(ESPECIALIDADES), ESPECIALIDADES.size());
+
+    // Uma certificação para cada nutricionista e uma segunda para um terço deles.
+    private static final String INSERIR_CERTIFICACOES = """
+            insert into nutricionista_certificacao (id_nutricionista, id_certificacao)
+            select g, c.ids[1 + (g % cardinality(c.ids))::int]
+            from generate_series(1, cast(? as bigint)) g, (select array_agg(id order by id) ids from certificacao) c
+            union all
+            select g, c.ids[1 + ((g / 3 + 1) % cardinality(c.ids))::int]
+            from generate_series(1, cast(? as bigint)) g, (select array_agg(id order by id) ids from certificacao) c
+            where g % 3 = 0 and (g / 3 + 1) % cardinality(c.ids) <> g % cardinality(c.ids)
+            """;
+
+    private static final String INSERIR_PACIENTES = """
+            insert into paciente (id_paciente, nome, data_nascimento, cpf, telefone, email, versao, atualizado_em)
+            select g, %s, date '1940-01-01' + ((g * 7919) %% 29000)::int, lpad(g::text, 11, '0'),
+                   '(48) 9' || lpad(((g * 7) %% 100000000)::text, 8, '0'),
+                   'paciente' || g || '@exemplo.com', 0, now()
+            from generate_series(1, cast(? as bigint)) g
+            """.formatted(NOME);
+
+    // Multiplicadores primos espalham nutricionista e paciente de forma uniforme entre os ids existentes.
+    private static final String INSERIR_CONSULTAS = """
+            insert into consulta (id, nutricionista_id_nutricionista, id_paciente, data, hora_inicio, hora_fim, observacoes)
+            select g, 1 + (g * 7919) %% ?, 1 + (g * 104729) %% ?, current_date - %d + (g %% %d)::int,
+                   time '08:00' + (g / 13 %% %d) * interval '30 minutes',
+                   time '08:30' + (g / 13 %% %d) * interval '30 minutes',
+                   case when g %% 4 = 0 then 'Retorno' end
+            from generate_series(cast(? as bigint), cast(? as bigint)) g
+            """.formatted(DIAS_PASSADOS, DIAS_TOTAL, HORARIOS_POR_DIA, HORARIOS_POR_DIA);
+
+    private MassaCarga() {
+    }
+
+    static boolean confere(DataSource dataSource, ConfiguracaoCarga config) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (!Boolean.TRUE.equals(jdbc.queryForObject("select to_regclass('carga_massa') is not null", Boolean.class))) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "select exists (select 1 from carga_massa where nutricionistas = ? and pacientes = ? and consultas = ?)",
+                Boolean.class, config.nutricionistas(), config.pacientes(), config.consultas()));
+    }
+
+    static void gerar(DataSource dataSource, ConfiguracaoCarga config) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long inicio = System.nanoTime();
+
+        for (String certificacao : CERTIFICACOES) {
+            jdbc.update("insert into certificacao (nome) values (?) on conflict (nome) do nothing", certificacao);
+        }
+        jdbc.update(INSERIR_NUTRICIONISTAS, config.nutricionistas());
+        jdbc.update(INSERIR_CERTIFICACOES, config.nutricionistas(), config.nutricionistas());
+        log.info("{} nutricionistas gerados", config.nutricionistas());
+
+        jdbc.update(INSERIR_PACIENTES, config.pacientes());
+        log.info("{} pacientes gerados", config.pacientes());
+
+        // Índices secundários montados depois da carga: bem mais rápido que mantê-los linha a linha.
+        jdbc.execute("drop index if exists idx_consulta_nutricionista_data");
+        jdbc.execute("drop index if exists idx_consulta_paciente_data");
+        for (long de = 1; de <= config.consultas(); de += LOTE_CONSULTAS) {
+            long ate = Math.min(de + LOTE_CONSULTAS - 1, config.consultas());
+            jdbc.update(INSERIR_CONSULTAS, config.nutricionistas(), config.pacientes(), de, ate);
+            log.info("{} de {} consultas geradas", ate, config.consultas());
+        }
+        jdbc.execute("create index idx_consulta_nutricionista_data on consulta (nutricionista_id_nutricionista, data, id, id_paciente)");
+        jdbc.execute("create index idx_consulta_paciente_data on consulta (id_paciente, data, id, nutricionista_id_nutricionista)");
+
+        // Ids gravados explicitamente: as sequências precisam continuar depois deles.
+        jdbc.queryForObject("select setval(pg_get_serial_sequence('nutricionista', 'id_nutricionista'), ?)",
+                Long.class, Math.max(config.nutricionistas(), 1));
+        jdbc.queryForObject("select setval(pg_get_serial_sequence('paciente', 'id_paciente'), ?)",
+                Long.class, Math.max(config.pacientes(), 1));
+        jdbc.queryForObject("select setval('consulta_seq', ?)", Long.class, Math.max(config.consultas(), 1));
+        jdbc.execute("analyze");
+
+        jdbc.execute("create table carga_massa (nutricionistas integer, pacientes integer, consultas bigint)");
+        jdbc.update("insert into carga_massa values (?, ?, ?)",
+                config.nutricionistas(), config.pacientes(), config.consultas());
+        log.info("Massa gerada em {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private static String array(List<String> valores) {
+        return valores.stream()
+                .map(valor -> "'" + valor.replace("'", "''") + "'")
+                .collect(Collectors.joining(", ", "array[", "]"));
+    }
+}
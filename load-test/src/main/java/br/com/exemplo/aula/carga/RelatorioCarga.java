@@ -0,0 +1,66 @@
+package br.com.exemplo.aula.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Vazão e percentis de latência por cenário. Além do resumo, grava a distribuição completa de cada cenário
+// em .hgrm (milissegundos), que pode ser comparada entre execuções no HdrHistogram plotter.
+final class RelatorioCarga {
+
+    private static final String CABECALHO = "%-30s %12s %8s %10s %9s %9s %9s %9s %9s %9s%n";
+    private static final String LINHA = "%-30s %12d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private RelatorioCarga() {
+    }
+
+    static void imprimir(ResultadoCarga resultado, PrintStream saida) {
+        double segundos = resultado.getDuracao().toNanos() / 1e9;
+        saida.printf(Locale.ROOT, "%nDuração: %.1f s%n", segundos);
+        saida.printf(Locale.ROOT, CABECALHO, "Cenário", "Requisições", "Erros", "req/s",
+                "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "máx ms");
+        long erros = 0;
+        for (int i = 0; i < resultado.getCenarios().size(); i++) {
+            linha(saida, resultado.getCenarios().get(i).nome(), resultado.getLatencia(i), resultado.getErros(i), segundos);
+            erros += resultado.getErros(i);
+        }
+        linha(saida, "total", resultado.total(), erros, segundos);
+        if (!resultado.getMotivosErro().isEmpty()) {
+            saida.printf("%nErros:%n");
+            resultado.getMotivosErro().forEach((motivo, total) -> saida.printf("  %s: %d%n", motivo, total));
+        }
+    }
+
+    static void gravar(ResultadoCarga resultado, Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        try (PrintStream resumo = new PrintStream(Files.newOutputStream(diretorio.resolve("resumo.txt")), true,
+                StandardCharsets.UTF_8)) {
+            imprimir(resultado, resumo);
+        }
+        for (int i = 0; i < resultado.getCenarios().size(); i++) {
+            gravarDistribuicao(resultado.getLatencia(i), diretorio.resolve(resultado.getCenarios().get(i).nome() + ".hgrm"));
+        }
+        gravarDistribuicao(resultado.total(), diretorio.resolve("total.hgrm"));
+    }
+
+    private static void linha(PrintStream saida, String nome, Histogram latencia, long erros, double segundos) {
+        saida.printf(Locale.ROOT, LINHA, nome, latencia.getTotalCount(), erros, latencia.getTotalCount() / segundos,
+                ms(latencia, 50), ms(latencia, 90), ms(latencia, 95), ms(latencia, 99), ms(latencia, 99.9),
+                latencia.getMaxValue() / 1000.0);
+    }
+
+    private static double ms(Histogram latencia, double percentil) {
+        return latencia.getValueAtPercentile(percentil) / 1000.0;
+    }
+
+    private static void gravarDistribuicao(Histogram latencia, Path arquivo) throws IOException {
+        try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo), true, StandardCharsets.UTF_8)) {
+            latencia.outputPercentileDistribution(saida, 1000.0);
+        }
+    }
+}
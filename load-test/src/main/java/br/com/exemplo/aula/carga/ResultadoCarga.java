@@ -0,0 +1,78 @@
+package br.com.exemplo.aula.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Latências (em microssegundos) e erros por cenário. Cada cliente preenche o seu; no fim eles são somados.
+final class ResultadoCarga {
+
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toMicros(10);
+
+    private final List<Cenario> cenarios;
+    private final Histogram[] latencias;
+    private final long[] erros;
+    private final Map<String, Long> motivosErro = new TreeMap<>();
+    private Duration duracao = Duration.ZERO;
+
+    ResultadoCarga(List<Cenario> cenarios) {
+        this.cenarios = cenarios;
+        this.latencias = new Histogram[cenarios.size()];
+        this.erros = new long[cenarios.size()];
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new Histogram(LATENCIA_MAXIMA, 3);
+        }
+    }
+
+    void registrar(int cenario, long nanos, String erro) {
+        latencias[cenario].recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA));
+        if (erro != null) {
+            erros[cenario]++;
+            motivosErro.merge(cenarios.get(cenario).nome() + ": " + erro, 1L, Long::sum);
+        }
+    }
+
+    void somar(ResultadoCarga outro) {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i].add(outro.latencias[i]);
+            erros[i] += outro.erros[i];
+        }
+        outro.motivosErro.forEach((motivo, total) -> motivosErro.merge(motivo, total, Long::sum));
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(LATENCIA_MAXIMA, 3);
+        for (Histogram latencia : latencias) {
+            total.add(latencia);
+        }
+        return total;
+    }
+
+    List<Cenario> getCenarios() {
+        return cenarios;
+    }
+
+    Histogram getLatencia(int cenario) {
+        return latencias[cenario];
+    }
+
+    long getErros(int cenario) {
+        return erros[cenario];
+    }
+
+    Map<String, Long> getMotivosErro() {
+        return motivosErro;
+    }
+
+    Duration getDuracao() {
+        return duracao;
+    }
+
+    void setDuracao(Duration duracao) {
+        this.duracao = duracao;
+    }
+}
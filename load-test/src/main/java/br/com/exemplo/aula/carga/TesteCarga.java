@@ -0,0 +1,111 @@
+package br.com.exemplo.aula.carga;
+
+import br.com.exemplo.aula.Application;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Ponto de entrada do load-test.jar. Argumentos no formato --chave=valor; os que não começam com "carga."
+// vão direto para a aplicação (ex.: --cache.pacientes.tamanho-maximo=500000).
+//   carga.dados=target/carga               diretório do PostgreSQL embutido, reaproveitado se a massa for a mesma
+//   carga.relatorio=target/carga-relatorio resumo e histogramas (.hgrm) de cada cenário
+//   carga.nutricionistas=100000, carga.pacientes=5000000, carga.consultas=20000000
+//   carga.concorrencia=32                  clientes simultâneos, cada um em laço fechado (espera a resposta)
+//   carga.aquecimento=30s, carga.duracao=2m
+//   carga.peso.<cenário>=n                 peso de cada cenário de Cenarios; 0 desliga
+public class TesteCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(TesteCarga.class);
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment ambiente = new StandardEnvironment();
+        ambiente.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        ConfiguracaoCarga config = new Binder(ConfigurationPropertySources.get(ambiente))
+                .bindOrCreate("carga", ConfiguracaoCarga.class);
+
+        try (EmbeddedPostgres banco = iniciarBanco(config)) {
+            List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+            argumentos.add("--spring.datasource.url=" + banco.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+            argumentos.add("--spring.datasource.username=postgres");
+            argumentos.add("--spring.datasource.password=");
+
+            try (ConfigurableApplicationContext aplicacao = iniciarAplicacao(argumentos)) {
+                int porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+                GeradorCarga gerador = new GeradorCarga(URI.create("http://localhost:" + porta),
+                        TokenCarga.emitir(config.aquecimento().plus(config.duracao()).multipliedBy(2)),
+                        Cenarios.criar(config), config.concorrencia());
+
+                log.info("Aquecimento: {} com {} clientes", config.aquecimento(), config.concorrencia());
+                gerador.executar(config.aquecimento());
+                log.info("Medição: {} com {} clientes", config.duracao(), config.concorrencia());
+                ResultadoCarga resultado = gerador.executar(config.duracao());
+
+                RelatorioCarga.imprimir(resultado, System.out);
+                RelatorioCarga.gravar(resultado, Path.of(config.relatorio()));
+            }
+        }
+    }
+
+    // Reaproveita o diretório se a massa gravada nele tem os mesmos volumes; senão recria do zero e gera de novo.
+    private static EmbeddedPostgres iniciarBanco(ConfiguracaoCarga config) throws Exception {
+        EmbeddedPostgres banco = iniciarPostgres(config);
+        if (MassaCarga.confere(banco.getPostgresDatabase(), config)) {
+            log.info("Massa existente em {} reaproveitada", config.dados());
+            return banco;
+        }
+        banco.close();
+        FileSystemUtils.deleteRecursively(diretorio(config));
+        banco = iniciarPostgres(config);
+
+        // A primeira subida só cria o esquema (ddl-auto). Sem particionamento, a massa entra numa tabela comum
+        // e a subida seguinte converte consulta em particionada como faria em produção.
+        List<String> esquema = List.of("--spring.datasource.url=" + banco.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres", "--spring.datasource.password=",
+                "--consulta.particionamento.habilitado=false", "--spring.main.web-application-type=none");
+        iniciarAplicacao(esquema).close();
+        MassaCarga.gerar(banco.getPostgresDatabase(), config);
+        return banco;
+    }
+
+    private static EmbeddedPostgres iniciarPostgres(ConfiguracaoCarga config) throws IOException {
+        File diretorio = diretorio(config);
+        File saida = new File(config.dados(), "postgres.log");
+        diretorio.mkdirs();
+        return EmbeddedPostgres.builder()
+                .setDataDirectory(diretorio)
+                .setCleanDataDirectory(false)
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("shared_buffers", "512MB")
+                .setServerConfig("max_wal_size", "8GB")
+                .setOutputRedirector(Redirect.appendTo(saida))
+                .setErrorRedirector(Redirect.appendTo(saida))
+                .start();
+    }
+
+    private static File diretorio(ConfiguracaoCarga config) {
+        return new File(config.dados(), "pg").getAbsoluteFile();
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(List<String> argumentos) {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("carga")
+                .run(argumentos.toArray(String[]::new));
+    }
+}
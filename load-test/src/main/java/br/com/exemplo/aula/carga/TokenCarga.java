@@ -0,0 +1,46 @@
+package br.com.exemplo.aula.carga;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+
+// JWT local assinado com o par de chaves que acompanha a aplicação; o perfil carga valida com public-key.pem.
+final class TokenCarga {
+
+    private TokenCarga() {
+    }
+
+    static String emitir(Duration validade) throws IOException {
+        RSAPublicKey chavePublica;
+        RSAPrivateKey chavePrivada;
+        try (InputStream publica = new ClassPathResource("public-key.pem").getInputStream();
+             InputStream privada = new ClassPathResource("private-key.pem").getInputStream()) {
+            chavePublica = RsaKeyConverters.x509().convert(publica);
+            chavePrivada = RsaKeyConverters.pkcs8().convert(privada);
+        }
+        RSAKey chave = new RSAKey.Builder(chavePublica).privateKey(chavePrivada).build();
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(chave)));
+
+        Instant agora = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("load-test")
+                .subject("carga")
+                .issuedAt(agora)
+                .expiresAt(agora.plus(validade))
+                .claim("scope", "ADMIN")
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.exemplo.aula.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+// Caches de leitura dos DTOs de nutricionista e paciente por id. Cada um pode ser desligado por configuração;
+// desligado, vira um NoOpCache e toda leitura vai ao banco. As estatísticas aparecem em /actuator/metrics/cache.gets.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String NUTRICIONISTAS = "nutricionistas";
+    public static final String PACIENTES = "pacientes";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.nutricionistas.habilitado:true}") boolean nutricionistasHabilitado,
+                                     @Value("${cache.nutricionistas.tamanho-maximo:10000}") long nutricionistasTamanho,
+                                     @Value("${cache.nutricionistas.ttl:PT1H}") String nutricionistasTtl,
+                                     @Value("${cache.pacientes.habilitado:true}") boolean pacientesHabilitado,
+                                     @Value("${cache.pacientes.tamanho-maximo:100000}") long pacientesTamanho,
+                                     @Value("${cache.pacientes.ttl:PT1H}") String pacientesTtl) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                criar(NUTRICIONISTAS, nutricionistasHabilitado, nutricionistasTamanho, nutricionistasTtl),
+                criar(PACIENTES, pacientesHabilitado, pacientesTamanho, pacientesTtl)
+        ));
+        return cacheManager;
+    }
+
+    private Cache criar(String nome, boolean habilitado, long tamanhoMaximo, String ttl) {
+        if (!habilitado) {
+            return new NoOpCache(nome);
+        }
+        return new CaffeineCache(nome, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.parse(ttl))
+                .recordStats()
+                .build(), false);
+    }
+}
@@ -0,0 +1,318 @@
+package br.com.exemplo.aula.config;
+
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Optional;
+
+// DataSource que mede cada comando JDBC e entrega ao SqlLento os que passam do limiar ou caem na amostra.
+// Conexões e comandos viram proxies: no caminho comum só se guarda o tipo de cada parâmetro e se mede o tempo de
+// execução. A origem (StackWalker) e a contagem de linhas (ResultSet embrulhado) ficam só para o que vai ao log.
+class DataSourceMedido extends DelegatingDataSource {
+
+    private static final String PACOTE = "br.com.exemplo.aula.";
+    private static final StackWalker PILHA = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final SqlLento sqlLento;
+
+    DataSourceMedido(DataSource alvo, SqlLento sqlLento) {
+        super(alvo);
+        this.sqlLento = sqlLento;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new Conexao(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return proxy(Connection.class, new Conexao(super.getConnection(usuario, senha)));
+    }
+
+    private static <T> T proxy(Class<T> tipo, Encaminhador<?> encaminhador) {
+        T proxy = tipo.cast(Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(), new Class<?>[]{tipo}, encaminhador));
+        encaminhador.proxy = proxy;
+        return proxy;
+    }
+
+    // Primeiro método do repositório na pilha: a interface do Spring Data (o proxy dela) ou uma implementação
+    // própria do pacote repositories. Sem repositório (JdbcTemplate num serviço), fica o primeiro método da aplicação.
+    static String origem() {
+        return PILHA.walk(frames -> {
+            String aplicacao = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> classe = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(classe)) {
+                    Optional<Class<?>> repositorio = Arrays.stream(classe.getInterfaces())
+                            .filter(Repository.class::isAssignableFrom).findFirst();
+                    if (repositorio.isPresent()) {
+                        return repositorio.get().getSimpleName() + "." + frame.getMethodName();
+                    }
+                } else if (classe.getName().startsWith(PACOTE) && classe != DataSourceMedido.class
+                        && classe.getEnclosingClass() != DataSourceMedido.class) {
+                    String metodo = classe.getSimpleName() + "." + frame.getMethodName();
+                    if (classe.getPackageName().equals(PACOTE + "repositories")) {
+                        return metodo;
+                    }
+                    if (aplicacao == null) {
+                        aplicacao = metodo;
+                    }
+                }
+            }
+            return aplicacao;
+        });
+    }
+
+    // Repassa tudo ao objeto JDBC real; equals e hashCode ficam por identidade do proxy.
+    private abstract static class Encaminhador<T> implements InvocationHandler {
+
+        final T alvo;
+        Object proxy;
+
+        Encaminhador(T alvo) {
+            this.alvo = alvo;
+        }
+
+        Object encaminhar(Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        Object identidade(Method metodo, Object[] args) {
+            return switch (metodo.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> null;
+            };
+        }
+    }
+
+    private class Conexao extends Encaminhador<Connection> {
+
+        Conexao(Connection alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object identidade = identidade(metodo, args);
+            if (identidade != null) {
+                return identidade;
+            }
+            Object resultado = encaminhar(metodo, args);
+            String nome = metodo.getName();
+            if (resultado instanceof Statement comando && (nome.startsWith("prepare") || nome.equals("createStatement"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return DataSourceMedido.proxy(metodo.getReturnType().asSubclass(Statement.class),
+                        new Comando(comando, sql, proxy));
+            }
+            return resultado;
+        }
+    }
+
+    private class Comando extends Encaminhador<Statement> {
+
+        private final String sql;
+        private final Object conexao;
+        private Class<?>[] parametros = new Class<?>[8];
+        private int quantidadeParametros;
+        private int lotes;
+        private Execucao pendente;
+
+        Comando(Statement alvo, String sql, Object conexao) {
+            super(alvo);
+            this.sql = sql;
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.startsWith("execute")) {
+                return executar(proxy, metodo, args);
+            }
+            // Parâmetros: setXxx(índice, valor, ...). setFetchSize, setMaxRows e afins têm um argumento só.
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice && indice > 0) {
+                ligar(indice, nome.equals("setNull") || args[1] == null ? null : args[1].getClass());
+            }
+            switch (nome) {
+                case "clearParameters" -> quantidadeParametros = 0;
+                case "addBatch" -> lotes++;
+                case "clearBatch" -> lotes = 0;
+                case "getConnection" -> {
+                    return conexao;
+                }
+                case "close" -> concluirPendente();
+                default -> {
+                    Object identidade = identidade(metodo, args);
+                    if (identidade != null) {
+                        return identidade;
+                    }
+                }
+            }
+            Object resultado = encaminhar(metodo, args);
+            if (nome.equals("getResultSet") && resultado instanceof ResultSet linhas && pendente != null) {
+                return pendente.acompanhar(linhas, proxy);
+            }
+            return resultado;
+        }
+
+        private void ligar(int indice, Class<?> tipo) {
+            if (indice > parametros.length) {
+                parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+            }
+            parametros[indice - 1] = tipo;
+            quantidadeParametros = Math.max(quantidadeParametros, indice);
+        }
+
+        private Object executar(Object proxy, Method metodo, Object[] args) throws Throwable {
+            concluirPendente();
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = encaminhar(metodo, args);
+            } catch (Throwable e) {
+                // Timeout ou cancelamento também interessam: registra se demorou, sem contagem de linhas.
+                long nanos = System.nanoTime() - inicio;
+                if (sqlLento.lento(nanos)) {
+                    execucao(nanos, args).concluir();
+                }
+                lotes = 0;
+                throw e;
+            }
+            long nanos = System.nanoTime() - inicio;
+            if (!sqlLento.deveRegistrar(nanos)) {
+                lotes = 0;
+                return resultado;
+            }
+            Execucao execucao = execucao(nanos, args);
+            lotes = 0;
+            if (resultado instanceof ResultSet linhas) {
+                pendente = execucao;
+                return execucao.acompanhar(linhas, proxy);
+            }
+            if (Boolean.TRUE.equals(resultado)) {
+                // execute() com ResultSet: as linhas são contadas se ele for lido por getResultSet.
+                pendente = execucao;
+                return resultado;
+            }
+            execucao.linhas = linhasAlteradas(resultado);
+            execucao.concluir();
+            return resultado;
+        }
+
+        // executeUpdate devolve int ou long, executeBatch um por lote (negativo quando o driver não informa).
+        private long linhasAlteradas(Object resultado) throws SQLException {
+            if (resultado instanceof Number alteradas) {
+                return alteradas.longValue();
+            }
+            if (resultado instanceof int[] porLote) {
+                return Arrays.stream(porLote).filter(n -> n >= 0).asLongStream().sum();
+            }
+            if (resultado instanceof long[] porLote) {
+                return Arrays.stream(porLote).filter(n -> n >= 0).sum();
+            }
+            return resultado instanceof Boolean ? alvo.getUpdateCount() : -1;
+        }
+
+        private Execucao execucao(long nanos, Object[] args) {
+            String texto = args != null && args.length > 0 && args[0] instanceof String comando ? comando : sql;
+            return new Execucao(System.currentTimeMillis(), nanos, texto,
+                    Arrays.copyOf(parametros, quantidadeParametros), origem(), lotes, sqlLento.lento(nanos));
+        }
+
+        private void concluirPendente() {
+            if (pendente != null) {
+                pendente.concluir();
+                pendente = null;
+            }
+        }
+    }
+
+    // Execução escolhida para o log; com ResultSet, vai para a fila quando ele (ou o comando) é fechado.
+    private class Execucao {
+
+        private final long instante;
+        private final long nanos;
+        private final String sql;
+        private final Class<?>[] parametros;
+        private final String origem;
+        private final int lotes;
+        private final boolean lento;
+        private long linhas = -1;
+        private boolean concluida;
+
+        Execucao(long instante, long nanos, String sql, Class<?>[] parametros, String origem, int lotes, boolean lento) {
+            this.instante = instante;
+            this.nanos = nanos;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.origem = origem;
+            this.lotes = lotes;
+            this.lento = lento;
+        }
+
+        ResultSet acompanhar(ResultSet resultSet, Object comando) {
+            linhas = 0;
+            return proxy(ResultSet.class, new Linhas(resultSet, this, comando));
+        }
+
+        void concluir() {
+            if (!concluida) {
+                concluida = true;
+                sqlLento.registrar(new RegistroSql(instante, nanos, sql, parametros, origem, linhas, lotes, lento));
+            }
+        }
+    }
+
+    private static class Linhas extends Encaminhador<ResultSet> {
+
+        private final Execucao execucao;
+        private final Object comando;
+
+        Linhas(ResultSet alvo, Execucao execucao, Object comando) {
+            super(alvo);
+            this.execucao = execucao;
+            this.comando = comando;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "next" -> {
+                    boolean proxima = alvo.next();
+                    if (proxima) {
+                        execucao.linhas++;
+                    }
+                    return proxima;
+                }
+                case "close" -> {
+                    alvo.close();
+                    execucao.concluir();
+                    return null;
+                }
+                case "getStatement" -> {
+                    return comando;
+                }
+                default -> {
+                    Object identidade = identidade(metodo, args);
+                    return identidade != null ? identidade : encaminhar(metodo, args);
+                }
+            }
+        }
+    }
+}
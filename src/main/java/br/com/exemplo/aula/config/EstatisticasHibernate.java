@@ -0,0 +1,29 @@
+package br.com.exemplo.aula.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Estatísticas padrão do Hibernate mais a contagem de execuções de query acima do limiar. O Hibernate só guarda
+// o tempo máximo de cada query; a contagem mostra com que frequência as lentas acontecem.
+class EstatisticasHibernate extends StatisticsImpl {
+
+    private final long limiarMillis;
+    private final LongAdder queriesLentas;
+
+    EstatisticasHibernate(SessionFactoryImplementor sessionFactory, Duration limiar, LongAdder queriesLentas) {
+        super(sessionFactory);
+        this.limiarMillis = limiar.toMillis();
+        this.queriesLentas = queriesLentas;
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        if (time >= limiarMillis) {
+            queriesLentas.increment();
+        }
+    }
+}
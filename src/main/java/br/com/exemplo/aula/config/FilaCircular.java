@@ -0,0 +1,70 @@
+package br.com.exemplo.aula.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fila circular limitada e sem locks, para vários produtores e um único consumidor. Cada posição tem um número de
+// sequência que diz se ela está livre para a volta atual (produtor) ou já preenchida (consumidor); os produtores só
+// disputam o contador da cauda com CAS. Cheia, oferecer devolve false em vez de esperar: quem produz nunca bloqueia.
+class FilaCircular<T> {
+
+    private final Object[] itens;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+    private final AtomicLong cauda = new AtomicLong();
+    // Só o consumidor lê e escreve a cabeça.
+    private long cabeca;
+
+    FilaCircular(int capacidade) {
+        if (capacidade < 2 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        int tamanho = 1 << (32 - Integer.numberOfLeadingZeros(capacidade - 1));
+        this.itens = new Object[tamanho];
+        this.sequencias = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    int capacidade() {
+        return itens.length;
+    }
+
+    boolean oferecer(T item) {
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    itens[indice] = item;
+                    // A escrita volátil da sequência publica o item para o consumidor.
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                // O consumidor ainda não liberou esta posição da volta anterior.
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    // Devolve null se vazia ou se o próximo produtor ainda não terminou de publicar.
+    @SuppressWarnings("unchecked")
+    T retirar() {
+        int indice = (int) (cabeca & mascara);
+        if (sequencias.get(indice) != cabeca + 1) {
+            return null;
+        }
+        T item = (T) itens[indice];
+        itens[indice] = null;
+        sequencias.set(indice, cabeca + itens.length);
+        cabeca++;
+        return item;
+    }
+}
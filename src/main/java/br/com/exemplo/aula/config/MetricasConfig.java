@@ -0,0 +1,40 @@
+package br.com.exemplo.aula.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Métricas expostas em /actuator/prometheus. Os timers por endpoint (http.server.requests) vêm do Spring Boot; os
+// por método de serviço vêm do @Timed(SERVICOS) nas classes de serviço, aplicado pelo TimedAspect
+// (management.observations.annotations.enabled). Histogramas e percentis ficam em application.properties.
+@Configuration
+public class MetricasConfig {
+
+    public static final String SERVICOS = "servico.metodo";
+    public static final String QUERIES_LENTAS = "hibernate.query.lentas";
+
+    private final LongAdder queriesLentas = new LongAdder();
+
+    // As estatísticas do Hibernate (hibernate.generate_statistics) já viram métricas pelo HibernateMetrics: queries,
+    // carregamentos de entidade, cache de segundo nível. A implementação trocada só acrescenta a contagem das lentas.
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasHibernate(@Value("${metricas.hibernate.query-lenta:PT0.2S}") Duration limiar) {
+        return propriedades -> propriedades.put(AvailableSettings.STATS_BUILDER,
+                (StatisticsFactory) sessionFactory -> new EstatisticasHibernate(sessionFactory, limiar, queriesLentas));
+    }
+
+    @Bean
+    public MeterBinder queriesLentasMetrica(@Value("${metricas.hibernate.query-lenta:PT0.2S}") Duration limiar) {
+        return registry -> FunctionCounter.builder(QUERIES_LENTAS, queriesLentas, LongAdder::sum)
+                .description("Execuções de query acima de " + limiar.toMillis() + " ms")
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.exemplo.aula.config;
+
+import java.util.Objects;
+
+// Um comando registrado pelo DataSourceMedido. Os parâmetros guardam só o tipo de cada valor ligado (null quando
+// ligado como NULL), nunca o valor: o log fica em produção e os parâmetros incluem CPF, e-mail e afins.
+record RegistroSql(long instante, long nanos, String sql, Class<?>[] parametros, String origem, long linhas,
+                   int lotes, boolean lento) {
+
+    // Tipos em ordem, com repetições seguidas agrupadas: "Long x500, String" denuncia um IN com 500 valores.
+    String formaDosParametros() {
+        StringBuilder forma = new StringBuilder();
+        int i = 0;
+        while (i < parametros.length) {
+            Class<?> tipo = parametros[i];
+            int repeticoes = 1;
+            while (i + repeticoes < parametros.length && Objects.equals(parametros[i + repeticoes], tipo)) {
+                repeticoes++;
+            }
+            if (!forma.isEmpty()) {
+                forma.append(", ");
+            }
+            forma.append(tipo == null ? "null" : tipo.getSimpleName());
+            if (repeticoes > 1) {
+                forma.append(" x").append(repeticoes);
+            }
+            i += repeticoes;
+        }
+        return forma.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.exemplo.aula.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Recebe das threads de requisição os comandos acima do limiar (e uma amostra dos demais) e os escreve no logger
+// "sql.lento" a partir de uma thread própria. Formatação e I/O ficam fora da requisição; registrar só oferece o
+// registro à FilaCircular e, se ela estiver cheia, descarta e conta em vez de esperar.
+public class SqlLento {
+
+    public static final String LOGGER = "sql.lento";
+    public static final String DESCARTADOS = "sql.log.descartados";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER);
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int TAMANHO_MAXIMO_SQL = 2000;
+
+    private final long limiarNanos;
+    private final double amostra;
+    private final FilaCircular<RegistroSql> fila;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+    private volatile boolean ativo = true;
+    private long descartadosAvisados;
+
+    public SqlLento(Duration limiar, double amostra, int capacidade) {
+        this.limiarNanos = limiar.toNanos();
+        this.amostra = amostra;
+        this.fila = new FilaCircular<>(capacidade);
+        this.escritor = new Thread(this::escrever, "sql-lento");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    // Chamado a cada execução, na thread da requisição: precisa ser barato.
+    boolean deveRegistrar(long nanos) {
+        return nanos >= limiarNanos || (amostra > 0 && ThreadLocalRandom.current().nextDouble() < amostra);
+    }
+
+    boolean lento(long nanos) {
+        return nanos >= limiarNanos;
+    }
+
+    void registrar(RegistroSql registro) {
+        if (!fila.oferecer(registro)) {
+            descartados.increment();
+        }
+    }
+
+    public long descartados() {
+        return descartados.sum();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(escritor);
+        escritor.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private void escrever() {
+        while (true) {
+            RegistroSql registro = fila.retirar();
+            if (registro != null) {
+                escrever(registro);
+                continue;
+            }
+            avisarDescartados();
+            if (!ativo) {
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_NANOS);
+        }
+    }
+
+    private void escrever(RegistroSql registro) {
+        try {
+            String mensagem = "{} {} ms, {} linha(s){} em {} | parâmetros ({}) | {}";
+            Object[] argumentos = {Instant.ofEpochMilli(registro.instante()),
+                    String.format("%.1f", registro.nanos() / 1_000_000.0),
+                    registro.linhas() < 0 ? "?" : registro.linhas(),
+                    registro.lotes() > 0 ? ", " + registro.lotes() + " lote(s)" : "",
+                    registro.origem() == null ? "?" : registro.origem(), registro.formaDosParametros(),
+                    abreviar(registro.sql())};
+            if (registro.lento()) {
+                log.warn(mensagem, argumentos);
+            } else {
+                log.info("[amostra] " + mensagem, argumentos);
+            }
+        } catch (RuntimeException e) {
+            // Um registro com problema não pode derrubar a thread que escreve os demais.
+            log.error("Falha ao escrever registro de SQL", e);
+        }
+    }
+
+    private void avisarDescartados() {
+        long total = descartados.sum();
+        if (total > descartadosAvisados) {
+            log.warn("{} registro(s) de SQL descartados com a fila cheia (capacidade {})",
+                    total - descartadosAvisados, fila.capacidade());
+            descartadosAvisados = total;
+        }
+    }
+
+    private static String abreviar(String sql) {
+        if (sql == null) {
+            return "?";
+        }
+        String linha = sql.replaceAll("\\s+", " ").trim();
+        return linha.length() <= TAMANHO_MAXIMO_SQL ? linha : linha.substring(0, TAMANHO_MAXIMO_SQL) + "...";
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.exemplo.aula.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Log de SQL lento no lugar do spring.jpa.show-sql, que escrevia todo comando no stdout dentro da requisição.
+// Vão para o logger "sql.lento" os comandos acima de sql.log.limiar e uma fração sql.log.amostra dos demais, com a
+// forma dos parâmetros, o método de repositório que os chamou e as linhas lidas ou alteradas.
+@Configuration
+@ConditionalOnProperty(name = "sql.log.habilitado", havingValue = "true", matchIfMissing = true)
+public class SqlLogConfig {
+
+    @Bean
+    public SqlLento sqlLento(@Value("${sql.log.limiar:PT0.2S}") Duration limiar,
+                             @Value("${sql.log.amostra:0}") double amostra,
+                             @Value("${sql.log.capacidade:8192}") int capacidade) {
+        return new SqlLento(limiar, amostra, capacidade);
+    }
+
+    // static porque BeanPostProcessors são criados antes dos demais beans; o SqlLento só é buscado ao embrulhar o
+    // DataSource, e o Spring Boot (health, métricas do Hikari) enxerga o pool por trás do DelegatingDataSource.
+    @Bean
+    public static BeanPostProcessor dataSourceMedido(ObjectProvider<SqlLento> sqlLento) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)) {
+                    return new DataSourceMedido(dataSource, sqlLento.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder sqlLogDescartados(SqlLento sqlLento) {
+        return registry -> FunctionCounter.builder(SqlLento.DESCARTADOS, sqlLento, SqlLento::descartados)
+                .description("Registros de SQL descartados com a fila do log cheia")
+                .register(registry);
+    }
+}
@@ -1,13 +1,27 @@
 package br.com.exemplo.aula.controllers;
 
 import br.com.exemplo.aula.services.ConsultaService;
+import br.com.exemplo.aula.controllers.dto.ConsultaFatiaDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaLoteItemDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaPaginaDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaRequestDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.controllers.dto.HorarioDisponivelDTO;
+import br.com.exemplo.aula.controllers.dto.HorarioLivreDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "/consultas")
@@ -24,7 +38,13 @@ public class ConsultaController {
         return consultaService.salvarConsulta(request);
     }
 
-    @GetMapping()
+    @PostMapping("/batch")
+    public List<ConsultaLoteItemDTO> salvarConsultas(@RequestBody List<ConsultaRequestDTO> requests) {
+        return consultaService.salvarConsultas(requests);
+    }
+
+    // Sem parâmetros mantém a listagem completa; com qualquer parâmetro de paginação usa o modo por cursor.
+    @GetMapping(params = {"!tamanho", "!next", "!de", "!ate", "!nutricionista", "!paciente"})
     public List<ConsultaResponseListDTO> listarConsultas() {
         var consultas = consultaService.listarConsultas();
         if (consultas.isEmpty()){
@@ -34,5 +54,90 @@ public class ConsultaController {
         }
 
     }
-    
+
+    @GetMapping(params = {"!nutricionista", "!paciente"})
+    public ConsultaPaginaDTO listarConsultasPaginadas(@RequestParam(defaultValue = "50") int tamanho,
+                                                      @RequestParam(required = false) String next,
+                                                      @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate de,
+                                                      @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate ate) {
+        return consultaService.listarConsultasPaginadas(tamanho, next, de, ate);
+    }
+
+    @GetMapping(params = "nutricionista")
+    public ConsultaFatiaDTO listarPorNutricionista(@RequestParam Long nutricionista,
+                                                   @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate de,
+                                                   @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate ate,
+                                                   @RequestParam(defaultValue = "0") int pagina,
+                                                   @RequestParam(defaultValue = "50") int tamanho) {
+        return consultaService.listarPorNutricionista(nutricionista, de, ate, pagina, tamanho);
+    }
+
+    @GetMapping(params = {"paciente", "!nutricionista"})
+    public ConsultaFatiaDTO listarPorPaciente(@RequestParam Long paciente,
+                                              @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate de,
+                                              @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate ate,
+                                              @RequestParam(defaultValue = "0") int pagina,
+                                              @RequestParam(defaultValue = "50") int tamanho) {
+        return consultaService.listarPorPaciente(paciente, de, ate, pagina, tamanho);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> buscarConsulta(@PathVariable long id, @RequestParam(required = false) Set<String> fields) {
+        Object response = fields == null || fields.isEmpty()
+                ? consultaService.buscarConsulta(id)
+                : consultaService.buscarConsulta(id, fields);
+        if (response != null) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletarConsulta(@PathVariable long id) {
+        consultaService.deletarConsulta(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/agenda/{idNutricionista}/disponivel")
+    public boolean horarioDisponivel(@PathVariable Long idNutricionista,
+                                     @RequestParam @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate data,
+                                     @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime inicio,
+                                     @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime fim) {
+        return consultaService.horarioDisponivel(idNutricionista, data, inicio, fim);
+    }
+
+    @GetMapping("/agenda/{idNutricionista}/horarios-livres")
+    public List<HorarioLivreDTO> listarHorariosLivres(@PathVariable Long idNutricionista,
+                                                      @RequestParam @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate data,
+                                                      @RequestParam(defaultValue = "30") int duracao) {
+        return consultaService.listarHorariosLivres(idNutricionista, data, duracao);
+    }
+
+    @GetMapping("/disponibilidade")
+    public List<HorarioDisponivelDTO> buscarDisponibilidade(@RequestParam String especialidade,
+                                                            @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate desde,
+                                                            @RequestParam(defaultValue = "30") int duracao,
+                                                            @RequestParam(defaultValue = "10") int quantidade) {
+        return consultaService.buscarDisponibilidade(especialidade, desde, duracao, Math.min(quantidade, 100));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarConsultas(@RequestParam(defaultValue = "ndjson") String formato) {
+        MediaType tipo;
+        if ("csv".equalsIgnoreCase(formato)) {
+            tipo = new MediaType("text", "csv");
+        } else if ("ndjson".equalsIgnoreCase(formato)) {
+            tipo = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de exportação não suportado: " + formato);
+        }
+
+        StreamingResponseBody corpo = saida -> consultaService.exportarConsultas(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=consultas." + formato.toLowerCase())
+                .body(corpo);
+    }
+
 }
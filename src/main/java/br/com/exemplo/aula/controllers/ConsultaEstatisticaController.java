@@ -0,0 +1,40 @@
+package br.com.exemplo.aula.controllers;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO;
+import br.com.exemplo.aula.entities.ConsultaEstatistica;
+import br.com.exemplo.aula.services.ConsultaEstatisticaService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/consultas/estatisticas")
+public class ConsultaEstatisticaController {
+
+    private final ConsultaEstatisticaService consultaEstatisticaService;
+
+    public ConsultaEstatisticaController(ConsultaEstatisticaService consultaEstatisticaService) {
+        this.consultaEstatisticaService = consultaEstatisticaService;
+    }
+
+    // agrupamento=especialidade soma os nutricionistas de cada especialidade no período.
+    @GetMapping()
+    public List<ConsultaEstatisticaDTO> buscarEstatisticas(@RequestParam(defaultValue = "DIA") ConsultaEstatistica.Granularidade granularidade,
+                                                           @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate de,
+                                                           @RequestParam(required = false) @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate ate,
+                                                           @RequestParam(required = false) Long nutricionista,
+                                                           @RequestParam(required = false) String especialidade,
+                                                           @RequestParam(defaultValue = "nutricionista") String agrupamento) {
+        return consultaEstatisticaService.buscarEstatisticas(granularidade, de, ate, nutricionista, especialidade,
+                "especialidade".equalsIgnoreCase(agrupamento));
+    }
+
+    @PostMapping("/reconstruir")
+    public ResponseEntity<Void> reconstruir() {
+        consultaEstatisticaService.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.exemplo.aula.controllers;
+
+import br.com.exemplo.aula.controllers.dto.ExperienciaJobDTO;
+import br.com.exemplo.aula.services.ExperienciaAnualService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/nutricionistas/experiencia")
+public class ExperienciaAnualController {
+
+    private final ExperienciaAnualService experienciaAnualService;
+
+    public ExperienciaAnualController(ExperienciaAnualService experienciaAnualService) {
+        this.experienciaAnualService = experienciaAnualService;
+    }
+
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping("/incrementar")
+    public ExperienciaJobDTO incrementar(@RequestParam(defaultValue = "false") boolean simulacao) {
+        return experienciaAnualService.incrementar(simulacao);
+    }
+
+    // Progresso da execução corrente ou resultado da última.
+    @GetMapping("/incrementar")
+    public ResponseEntity<ExperienciaJobDTO> progresso() {
+        ExperienciaJobDTO execucao = experienciaAnualService.ultimaExecucao();
+        if (execucao != null) {
+            return ResponseEntity.ok(execucao);
+        } else {
+            return ResponseEntity.noContent().build();
+        }
+    }
+}
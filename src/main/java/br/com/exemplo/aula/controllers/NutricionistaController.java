@@ -3,11 +3,15 @@ package br.com.exemplo.aula.controllers;
 import br.com.exemplo.aula.services.NutricionistaService;
 import br.com.exemplo.aula.controllers.dto.NutricionistaRequestDTO;
 import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(value = "/nutricionistas")
@@ -27,12 +31,17 @@ public class NutricionistaController {
         return nutricionistaService.salvarNutricionista(request);
     }
 
+    // A ETag é a versão da coleção: com If-None-Match igual responde 304 sem carregar nenhum nutricionista.
     @GetMapping()
     public List<NutricionistaResponseDTO> listarnutricionistas(
             @RequestHeader(name="Authorization")
-            String token
+            String token,
              // bearer shadkjasdasjhk
+            WebRequest webRequest
     ) {
+        if (webRequest.checkNotModified("nutricionistas-" + nutricionistaService.versaoNutricionistas())) {
+            return null;
+        }
 
         var nutricionistas = nutricionistaService.
                 listarNutricionistas();
@@ -44,10 +53,31 @@ public class NutricionistaController {
 
     }
 
+    // Busca da página "encontre um nutricionista": todos os filtros são opcionais e combinados com E.
+    @GetMapping(value = "/busca", params = "!q")
+    public List<NutricionistaResponseDTO> buscarNutricionistas(@RequestParam(required = false) String especialidade,
+                                                               @RequestParam(required = false) String certificacao,
+                                                               @RequestParam(required = false) Integer minExperiencia,
+                                                               @RequestParam(defaultValue = "50") int limite) {
+        return nutricionistaService.buscarNutricionistas(especialidade, certificacao, minExperiencia, Math.min(Math.max(limite, 1), 500));
+    }
+
+    // Busca por nome tolerante a erros de digitação, ordenada por similaridade.
+    @GetMapping(value = "/busca", params = "q")
+    public List<NutricionistaResponseDTO> buscarPorNome(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "10") int limite) {
+        return nutricionistaService.buscarPorNome(q, Math.min(Math.max(limite, 1), 50));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<NutricionistaResponseDTO> search(@PathVariable long id) {
+    public ResponseEntity<NutricionistaResponseDTO> search(@PathVariable long id, WebRequest webRequest) {
         NutricionistaResponseDTO response = nutricionistaService.buscarNutricionista(id);
         if (response != null) {
+            String etag = response.getVersao() != null ? response.getVersao().toString() : null;
+            long ultimaAlteracao = UltimaAlteracao.paraLastModified(response.getAtualizadoEm(), Instant.now());
+            if (webRequest.checkNotModified(etag, ultimaAlteracao)) {
+                return null;
+            }
             return ResponseEntity.ok(response);
         } else {
             throw new RuntimeException("404");
@@ -60,6 +90,18 @@ public class NutricionistaController {
         return ResponseEntity.noContent().build();
     }
 
+    // Altera só os campos enviados. Com If-Match (a ETag do GET por id), responde 412 se o nutricionista mudou desde a leitura.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable long id, @RequestBody Map<String, Object> campos,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versao = nutricionistaService.alterarNutricionista(id, campos, VersaoEtag.doIfMatch(ifMatch));
+        ResponseEntity.HeadersBuilder<?> resposta = ResponseEntity.noContent();
+        if (versao != null) {
+            resposta.eTag(versao.toString());
+        }
+        return resposta.build();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<NutricionistaResponseDTO> update(@PathVariable long id, @RequestBody NutricionistaRequestDTO request) {
         NutricionistaResponseDTO nutricionista = nutricionistaService.atualizarNutricionista(id, request);
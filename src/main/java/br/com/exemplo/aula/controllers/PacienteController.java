@@ -4,12 +4,16 @@ import br.com.exemplo.aula.services.PacienteService;
 import br.com.exemplo.aula.controllers.dto.PacienteRequestDTO;
 import br.com.exemplo.aula.controllers.dto.PacienteResponseDTO;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(value = "/pacientes")
@@ -31,8 +35,12 @@ public class PacienteController {
 
     }
 
+    // A ETag é a versão da coleção: com If-None-Match igual responde 304 sem carregar nenhum paciente.
     @GetMapping()
-    public List<PacienteResponseDTO> listarPacientes() {
+    public List<PacienteResponseDTO> listarPacientes(WebRequest webRequest) {
+        if (webRequest.checkNotModified("pacientes-" + pacienteService.versaoPacientes())) {
+            return null;
+        }
         var Pacientes = pacienteService.listarPacientes();
         if (Pacientes.isEmpty()){
             return null;
@@ -42,10 +50,27 @@ public class PacienteController {
 
     }
 
+    // Busca da recepção por nome parcial ou com erros de digitação, ordenada por similaridade.
+    @GetMapping("/busca")
+    public List<PacienteResponseDTO> buscarPorNome(@RequestParam String q,
+                                                   @RequestParam(defaultValue = "10") int limite) {
+        return pacienteService.buscarPorNome(q, Math.min(Math.max(limite, 1), 50));
+    }
+
+    @GetMapping("/cpf/{cpf}")
+    public PacienteResponseDTO buscarPorCpf(@PathVariable String cpf) {
+        return pacienteService.buscarPorCpf(cpf);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PacienteResponseDTO> search(@PathVariable long id) {
+    public ResponseEntity<PacienteResponseDTO> search(@PathVariable long id, WebRequest webRequest) {
         PacienteResponseDTO response = pacienteService.buscarPaciente(id);
         if (response != null) {
+            String etag = response.getVersao() != null ? response.getVersao().toString() : null;
+            long ultimaAlteracao = UltimaAlteracao.paraLastModified(response.getAtualizadoEm(), Instant.now());
+            if (webRequest.checkNotModified(etag, ultimaAlteracao)) {
+                return null;
+            }
             return ResponseEntity.ok(response);
         } else {
             throw new RuntimeException("404");
@@ -59,6 +84,18 @@ public class PacienteController {
         return ResponseEntity.noContent().build();
     }
 
+    // Altera só os campos enviados. Com If-Match (a ETag do GET por id), responde 412 se o paciente mudou desde a leitura.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable long id, @RequestBody Map<String, Object> campos,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versao = pacienteService.alterarPaciente(id, campos, VersaoEtag.doIfMatch(ifMatch));
+        ResponseEntity.HeadersBuilder<?> resposta = ResponseEntity.noContent();
+        if (versao != null) {
+            resposta.eTag(versao.toString());
+        }
+        return resposta.build();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PacienteResponseDTO> update(@PathVariable long id,
                                                       @RequestBody PacienteRequestDTO request,
@@ -0,0 +1,59 @@
+package br.com.exemplo.aula.controllers;
+
+import br.com.exemplo.aula.controllers.dto.DeduplicacaoJobDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteDuplicidadeDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteMesclagemDTO;
+import br.com.exemplo.aula.services.PacienteDeduplicacaoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/pacientes/duplicidades")
+public class PacienteDeduplicacaoController {
+
+    private final PacienteDeduplicacaoService pacienteDeduplicacaoService;
+
+    public PacienteDeduplicacaoController(PacienteDeduplicacaoService pacienteDeduplicacaoService) {
+        this.pacienteDeduplicacaoService = pacienteDeduplicacaoService;
+    }
+
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping("/analisar")
+    public DeduplicacaoJobDTO analisar() {
+        return pacienteDeduplicacaoService.analisar();
+    }
+
+    // Progresso da análise corrente ou resultado da última.
+    @GetMapping("/analisar")
+    public ResponseEntity<DeduplicacaoJobDTO> progresso() {
+        DeduplicacaoJobDTO execucao = pacienteDeduplicacaoService.ultimaExecucao();
+        if (execucao != null) {
+            return ResponseEntity.ok(execucao);
+        } else {
+            return ResponseEntity.noContent().build();
+        }
+    }
+
+    // Sugestões da última análise, das mais prováveis para as menos.
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @GetMapping
+    public List<PacienteDuplicidadeDTO> listar(@RequestParam(defaultValue = "0") double pontuacaoMinima,
+                                               @RequestParam(defaultValue = "100") int limite) {
+        return pacienteDeduplicacaoService.listarSugestoes(pontuacaoMinima, Math.max(1, Math.min(limite, 1000)));
+    }
+
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping("/mesclar")
+    public PacienteMesclagemDTO mesclar(@RequestParam double pontuacaoMinima) {
+        return pacienteDeduplicacaoService.mesclar(pontuacaoMinima);
+    }
+
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping("/{id}/mesclar")
+    public PacienteMesclagemDTO mesclarSugestao(@PathVariable Long id) {
+        return pacienteDeduplicacaoService.mesclarSugestao(id);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.exemplo.aula.controllers;
+
+import br.com.exemplo.aula.controllers.dto.PacienteImportacaoDTO;
+import br.com.exemplo.aula.services.PacienteImportacaoService;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(value = "/pacientes/import")
+public class PacienteImportacaoController {
+
+    private final PacienteImportacaoService pacienteImportacaoService;
+
+    public PacienteImportacaoController(PacienteImportacaoService pacienteImportacaoService) {
+        this.pacienteImportacaoService = pacienteImportacaoService;
+    }
+
+    // Corpo text/csv lido direto da requisição, sem passar por arquivo temporário.
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public PacienteImportacaoDTO importar(InputStream csv) {
+        return pacienteImportacaoService.importar(csv);
+    }
+
+    // Upload por formulário: o arquivo vai para disco (spring.servlet.multipart) e é lido dali.
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public PacienteImportacaoDTO importarArquivo(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream csv = arquivo.getInputStream()) {
+            return pacienteImportacaoService.importar(csv);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.exemplo.aula.controllers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Last-Modified e If-Modified-Since têm resolução de segundos, e o Spring compara truncando; duas alterações no mesmo
+// segundo teriam a mesma data. O validador confiável é a ETag (If-None-Match); a data é arredondada para cima e só vai
+// no cabeçalho depois que esse segundo passou, quando nenhuma alteração posterior pode cair nele.
+final class UltimaAlteracao {
+
+    private UltimaAlteracao() {
+    }
+
+    // -1 (sem Last-Modified) quando não há data ou o segundo dela ainda não terminou.
+    static long paraLastModified(Instant atualizadoEm, Instant agora) {
+        if (atualizadoEm == null) {
+            return -1;
+        }
+        Instant arredondado = atualizadoEm.truncatedTo(ChronoUnit.SECONDS);
+        if (arredondado.isBefore(atualizadoEm)) {
+            arredondado = arredondado.plusSeconds(1);
+        }
+        return arredondado.isBefore(agora) ? arredondado.toEpochMilli() : -1;
+    }
+}
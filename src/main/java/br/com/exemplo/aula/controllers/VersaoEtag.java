@@ -0,0 +1,27 @@
+package br.com.exemplo.aula.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// A ETag do GET por id é a versão da linha; o If-Match de um PATCH traz a versão que o cliente leu.
+final class VersaoEtag {
+
+    private VersaoEtag() {
+    }
+
+    // Null quando não há condição (cabeçalho ausente ou "*").
+    static Long doIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.valueOf(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match não corresponde a nenhuma versão.");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import br.com.exemplo.aula.entities.ConsultaEstatistica;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+public class ConsultaEstatisticaDTO {
+
+    private ConsultaEstatistica.Granularidade granularidade;
+
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate periodo;
+
+    // Nulo quando a contagem está agrupada apenas por especialidade.
+    private Long idNutricionista;
+    private String especialidade;
+    private long total;
+
+    public ConsultaEstatisticaDTO() {
+    }
+
+    public ConsultaEstatisticaDTO(ConsultaEstatistica.Granularidade granularidade, LocalDate periodo, Long idNutricionista, String especialidade, long total) {
+        this.granularidade = granularidade;
+        this.periodo = periodo;
+        this.idNutricionista = idNutricionista;
+        this.especialidade = especialidade;
+        this.total = total;
+    }
+
+    public ConsultaEstatisticaDTO(ConsultaEstatistica.Granularidade granularidade, LocalDate periodo, String especialidade, Long total) {
+        this(granularidade, periodo, null, especialidade, total);
+    }
+
+    public ConsultaEstatistica.Granularidade getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(ConsultaEstatistica.Granularidade granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public LocalDate getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDate periodo) {
+        this.periodo = periodo;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public void setIdNutricionista(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public String getEspecialidade() {
+        return especialidade;
+    }
+
+    public void setEspecialidade(String especialidade) {
+        this.especialidade = especialidade;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import java.util.List;
+
+public class ConsultaFatiaDTO {
+
+    private List<ConsultaResponseListDTO> consultas;
+    private int pagina;
+    private int tamanho;
+
+    // Indica se existe ao menos mais uma consulta após esta página (sem count total).
+    private boolean temProxima;
+
+    public ConsultaFatiaDTO() {
+    }
+
+    public ConsultaFatiaDTO(List<ConsultaResponseListDTO> consultas, int pagina, int tamanho, boolean temProxima) {
+        this.consultas = consultas;
+        this.pagina = pagina;
+        this.tamanho = tamanho;
+        this.temProxima = temProxima;
+    }
+
+    public List<ConsultaResponseListDTO> getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(List<ConsultaResponseListDTO> consultas) {
+        this.consultas = consultas;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public void setPagina(int pagina) {
+        this.pagina = pagina;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public boolean isTemProxima() {
+        return temProxima;
+    }
+
+    public void setTemProxima(boolean temProxima) {
+        this.temProxima = temProxima;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.exemplo.aula.controllers.dto;
+
+public class ConsultaLoteItemDTO {
+
+    // Posição do item na requisição original.
+    private int indice;
+    private Long id;
+    private String erro;
+
+    public ConsultaLoteItemDTO() {
+    }
+
+    public ConsultaLoteItemDTO(int indice, Long id, String erro) {
+        this.indice = indice;
+        this.id = id;
+        this.erro = erro;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import java.util.List;
+
+public class ConsultaPaginaDTO {
+
+    private List<ConsultaResponseListDTO> consultas;
+
+    // Cursor opaco para a próxima página; nulo quando não há mais resultados.
+    private String next;
+
+    public ConsultaPaginaDTO() {
+    }
+
+    public ConsultaPaginaDTO(List<ConsultaResponseListDTO> consultas, String next) {
+        this.consultas = consultas;
+        this.next = next;
+    }
+
+    public List<ConsultaResponseListDTO> getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(List<ConsultaResponseListDTO> consultas) {
+        this.consultas = consultas;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
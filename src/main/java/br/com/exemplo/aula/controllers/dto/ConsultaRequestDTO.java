@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class ConsultaRequestDTO {
 
@@ -14,6 +15,13 @@ public class ConsultaRequestDTO {
     @JsonDeserialize
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate data;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaInicio;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaFim;
+
     private String observacoes;
 
     public ConsultaRequestDTO(){
@@ -26,6 +34,15 @@ public class ConsultaRequestDTO {
         this.observacoes = observacoes;
     }
 
+    public ConsultaRequestDTO(Long idNutricionista, Long idPaciente, LocalDate data, LocalTime horaInicio, LocalTime horaFim, String observacoes) {
+        this.idNutricionista = idNutricionista;
+        this.idPaciente = idPaciente;
+        this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+        this.observacoes = observacoes;
+    }
+
     public Long getIdNutricionista() {
         return idNutricionista;
     }
@@ -50,6 +67,22 @@ public class ConsultaRequestDTO {
         this.data = data;
     }
 
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(LocalTime horaFim) {
+        this.horaFim = horaFim;
+    }
+
     public String getObservacoes() {
         return observacoes;
     }
@@ -1,31 +1,43 @@
 package br.com.exemplo.aula.controllers.dto;
 
-import br.com.exemplo.aula.entities.Nutricionista;
-import br.com.exemplo.aula.entities.Paciente;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class ConsultaResponseDTO {
 
     private Long id;
-    private Nutricionista nutricionista;
-    private Paciente paciente;
+    private Long idNutricionista;
+    private String nomeNutricionista;
+    private Long idPaciente;
+    private String nomePaciente;
 
     @JsonSerialize
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate data;
 
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaInicio;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaFim;
+
     private String observacoes;
 
     public ConsultaResponseDTO(){}
 
-    public ConsultaResponseDTO(Long id, Nutricionista nutricionista, Paciente paciente, LocalDate data, String observacoes) {
+    public ConsultaResponseDTO(Long id, Long idNutricionista, String nomeNutricionista, Long idPaciente, String nomePaciente,
+                               LocalDate data, LocalTime horaInicio, LocalTime horaFim, String observacoes) {
         this.id = id;
-        this.nutricionista = nutricionista;
-        this.paciente = paciente;
+        this.idNutricionista = idNutricionista;
+        this.nomeNutricionista = nomeNutricionista;
+        this.idPaciente = idPaciente;
+        this.nomePaciente = nomePaciente;
         this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
         this.observacoes = observacoes;
     }
 
@@ -37,20 +49,36 @@ public class ConsultaResponseDTO {
         this.id = id;
     }
 
-    public Nutricionista getNutricionista() {
-        return nutricionista;
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public void setIdNutricionista(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public String getNomeNutricionista() {
+        return nomeNutricionista;
+    }
+
+    public void setNomeNutricionista(String nomeNutricionista) {
+        this.nomeNutricionista = nomeNutricionista;
+    }
+
+    public Long getIdPaciente() {
+        return idPaciente;
     }
 
-    public void setNutricionista(Nutricionista nutricionista) {
-        this.nutricionista = nutricionista;
+    public void setIdPaciente(Long idPaciente) {
+        this.idPaciente = idPaciente;
     }
 
-    public Paciente getPaciente() {
-        return paciente;
+    public String getNomePaciente() {
+        return nomePaciente;
     }
 
-    public void setPaciente(Paciente paciente) {
-        this.paciente = paciente;
+    public void setNomePaciente(String nomePaciente) {
+        this.nomePaciente = nomePaciente;
     }
 
     public LocalDate getData() {
@@ -61,6 +89,22 @@ public class ConsultaResponseDTO {
         this.data = data;
     }
 
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(LocalTime horaFim) {
+        this.horaFim = horaFim;
+    }
+
     public String getObservacoes() {
         return observacoes;
     }
@@ -0,0 +1,99 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import java.time.LocalDateTime;
+
+public class DeduplicacaoJobDTO {
+
+    public enum Status { EM_EXECUCAO, CONCLUIDO, FALHOU }
+
+    private Status status;
+    private long pacientesLidos;
+    private long blocosComparados;
+    private long paresComparados;
+
+    // Blocos acima do tamanho máximo: comparar todos os pares deles sairia caro demais e quase sempre são dados genéricos.
+    private long blocosIgnorados;
+
+    private long sugestoes;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+
+    public DeduplicacaoJobDTO() {
+    }
+
+    public DeduplicacaoJobDTO(Status status, long pacientesLidos, long blocosComparados, long paresComparados,
+                              long blocosIgnorados, long sugestoes, LocalDateTime iniciadoEm, LocalDateTime concluidoEm) {
+        this.status = status;
+        this.pacientesLidos = pacientesLidos;
+        this.blocosComparados = blocosComparados;
+        this.paresComparados = paresComparados;
+        this.blocosIgnorados = blocosIgnorados;
+        this.sugestoes = sugestoes;
+        this.iniciadoEm = iniciadoEm;
+        this.concluidoEm = concluidoEm;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getPacientesLidos() {
+        return pacientesLidos;
+    }
+
+    public void setPacientesLidos(long pacientesLidos) {
+        this.pacientesLidos = pacientesLidos;
+    }
+
+    public long getBlocosComparados() {
+        return blocosComparados;
+    }
+
+    public void setBlocosComparados(long blocosComparados) {
+        this.blocosComparados = blocosComparados;
+    }
+
+    public long getParesComparados() {
+        return paresComparados;
+    }
+
+    public void setParesComparados(long paresComparados) {
+        this.paresComparados = paresComparados;
+    }
+
+    public long getBlocosIgnorados() {
+        return blocosIgnorados;
+    }
+
+    public void setBlocosIgnorados(long blocosIgnorados) {
+        this.blocosIgnorados = blocosIgnorados;
+    }
+
+    public long getSugestoes() {
+        return sugestoes;
+    }
+
+    public void setSugestoes(long sugestoes) {
+        this.sugestoes = sugestoes;
+    }
+
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public void setIniciadoEm(LocalDateTime iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public void setConcluidoEm(LocalDateTime concluidoEm) {
+        this.concluidoEm = concluidoEm;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import java.time.LocalDateTime;
+
+public class ExperienciaJobDTO {
+
+    public enum Status { EM_EXECUCAO, CONCLUIDO, FALHOU }
+
+    private Status status;
+    private boolean simulacao;
+    private int ano;
+    private int lotesProcessados;
+    private int totalLotes;
+
+    // Nutricionistas atualizados ou, na simulação, que seriam atualizados.
+    private long afetados;
+
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+
+    public ExperienciaJobDTO() {
+    }
+
+    public ExperienciaJobDTO(Status status, boolean simulacao, int ano, int lotesProcessados, int totalLotes, long afetados,
+                             LocalDateTime iniciadoEm, LocalDateTime concluidoEm) {
+        this.status = status;
+        this.simulacao = simulacao;
+        this.ano = ano;
+        this.lotesProcessados = lotesProcessados;
+        this.totalLotes = totalLotes;
+        this.afetados = afetados;
+        this.iniciadoEm = iniciadoEm;
+        this.concluidoEm = concluidoEm;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isSimulacao() {
+        return simulacao;
+    }
+
+    public void setSimulacao(boolean simulacao) {
+        this.simulacao = simulacao;
+    }
+
+    public int getAno() {
+        return ano;
+    }
+
+    public void setAno(int ano) {
+        this.ano = ano;
+    }
+
+    public int getLotesProcessados() {
+        return lotesProcessados;
+    }
+
+    public void setLotesProcessados(int lotesProcessados) {
+        this.lotesProcessados = lotesProcessados;
+    }
+
+    public int getTotalLotes() {
+        return totalLotes;
+    }
+
+    public void setTotalLotes(int totalLotes) {
+        this.totalLotes = totalLotes;
+    }
+
+    public long getAfetados() {
+        return afetados;
+    }
+
+    public void setAfetados(long afetados) {
+        this.afetados = afetados;
+    }
+
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public void setIniciadoEm(LocalDateTime iniciadoEm) {
+        this.iniciadoEm = iniciadoEm;
+    }
+
+    public LocalDateTime getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    public void setConcluidoEm(LocalDateTime concluidoEm) {
+        this.concluidoEm = concluidoEm;
+    }
+}
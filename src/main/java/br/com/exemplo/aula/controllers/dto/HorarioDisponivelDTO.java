@@ -0,0 +1,74 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class HorarioDisponivelDTO {
+
+    private Long idNutricionista;
+    private String nomeNutricionista;
+
+    @JsonSerialize
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate data;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaInicio;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime horaFim;
+
+    public HorarioDisponivelDTO() {
+    }
+
+    public HorarioDisponivelDTO(Long idNutricionista, String nomeNutricionista, LocalDate data, LocalTime horaInicio, LocalTime horaFim) {
+        this.idNutricionista = idNutricionista;
+        this.nomeNutricionista = nomeNutricionista;
+        this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public void setIdNutricionista(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public String getNomeNutricionista() {
+        return nomeNutricionista;
+    }
+
+    public void setNomeNutricionista(String nomeNutricionista) {
+        this.nomeNutricionista = nomeNutricionista;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(LocalTime horaFim) {
+        this.horaFim = horaFim;
+    }
+}
@@ -1,5 +1,9 @@
 package br.com.exemplo.aula.controllers.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.Set;
 
 public class NutricionistaResponseDTO {
 
@@ -9,6 +13,14 @@ public class NutricionistaResponseDTO {
     private int tempoExperiencia;
     private String crn;
     private String especialidade;
+    private Set<String> certificacoes = Set.of();
+
+    // Vão nos cabeçalhos ETag e Last-Modified, não no corpo.
+    @JsonIgnore
+    private Long versao;
+
+    @JsonIgnore
+    private Instant atualizadoEm;
 
     public NutricionistaResponseDTO() {
     }
@@ -70,4 +82,28 @@ public class NutricionistaResponseDTO {
     public void setEspecialidade(String especialidade) {
         this.especialidade = especialidade;
     }
-}
\ No newline at end of file
+
+    public Set<String> getCertificacoes() {
+        return certificacoes;
+    }
+
+    public void setCertificacoes(Set<String> certificacoes) {
+        this.certificacoes = certificacoes;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.exemplo.aula.controllers.dto;
+
+public class PacienteDuplicidadeDTO {
+
+    private Long id;
+    private Long idPacienteMantido;
+    private String nomePacienteMantido;
+    private Long idPacienteDuplicado;
+    private String nomePacienteDuplicado;
+    private double pontuacao;
+
+    public PacienteDuplicidadeDTO() {
+    }
+
+    public PacienteDuplicidadeDTO(Long id, Long idPacienteMantido, String nomePacienteMantido, Long idPacienteDuplicado,
+                                  String nomePacienteDuplicado, double pontuacao) {
+        this.id = id;
+        this.idPacienteMantido = idPacienteMantido;
+        this.nomePacienteMantido = nomePacienteMantido;
+        this.idPacienteDuplicado = idPacienteDuplicado;
+        this.nomePacienteDuplicado = nomePacienteDuplicado;
+        this.pontuacao = pontuacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdPacienteMantido() {
+        return idPacienteMantido;
+    }
+
+    public void setIdPacienteMantido(Long idPacienteMantido) {
+        this.idPacienteMantido = idPacienteMantido;
+    }
+
+    public String getNomePacienteMantido() {
+        return nomePacienteMantido;
+    }
+
+    public void setNomePacienteMantido(String nomePacienteMantido) {
+        this.nomePacienteMantido = nomePacienteMantido;
+    }
+
+    public Long getIdPacienteDuplicado() {
+        return idPacienteDuplicado;
+    }
+
+    public void setIdPacienteDuplicado(Long idPacienteDuplicado) {
+        this.idPacienteDuplicado = idPacienteDuplicado;
+    }
+
+    public String getNomePacienteDuplicado() {
+        return nomePacienteDuplicado;
+    }
+
+    public void setNomePacienteDuplicado(String nomePacienteDuplicado) {
+        this.nomePacienteDuplicado = nomePacienteDuplicado;
+    }
+
+    public double getPontuacao() {
+        return pontuacao;
+    }
+
+    public void setPontuacao(double pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+}
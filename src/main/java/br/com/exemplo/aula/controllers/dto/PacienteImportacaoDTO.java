@@ -0,0 +1,49 @@
+package br.com.exemplo.aula.controllers.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PacienteImportacaoDTO {
+
+    private long linhasLidas;
+    private long importados;
+    private long rejeitados;
+
+    // Só as primeiras rejeitadas são detalhadas; "rejeitados" tem o total.
+    private List<PacienteImportacaoErroDTO> erros = new ArrayList<>();
+
+    public PacienteImportacaoDTO() {
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(long rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+
+    public List<PacienteImportacaoErroDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<PacienteImportacaoErroDTO> erros) {
+        this.erros = erros;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.exemplo.aula.controllers.dto;
+
+public class PacienteImportacaoErroDTO {
+
+    // Linha do arquivo, contando o cabeçalho como linha 1.
+    private long linha;
+    private String erro;
+
+    public PacienteImportacaoErroDTO() {
+    }
+
+    public PacienteImportacaoErroDTO(long linha, String erro) {
+        this.linha = linha;
+        this.erro = erro;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public void setLinha(long linha) {
+        this.linha = linha;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
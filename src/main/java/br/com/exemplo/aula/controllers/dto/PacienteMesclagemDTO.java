@@ -0,0 +1,31 @@
+package br.com.exemplo.aula.controllers.dto;
+
+public class PacienteMesclagemDTO {
+
+    private long pacientesMesclados;
+    private long consultasReatribuidas;
+
+    public PacienteMesclagemDTO() {
+    }
+
+    public PacienteMesclagemDTO(long pacientesMesclados, long consultasReatribuidas) {
+        this.pacientesMesclados = pacientesMesclados;
+        this.consultasReatribuidas = consultasReatribuidas;
+    }
+
+    public long getPacientesMesclados() {
+        return pacientesMesclados;
+    }
+
+    public void setPacientesMesclados(long pacientesMesclados) {
+        this.pacientesMesclados = pacientesMesclados;
+    }
+
+    public long getConsultasReatribuidas() {
+        return consultasReatribuidas;
+    }
+
+    public void setConsultasReatribuidas(long consultasReatribuidas) {
+        this.consultasReatribuidas = consultasReatribuidas;
+    }
+}
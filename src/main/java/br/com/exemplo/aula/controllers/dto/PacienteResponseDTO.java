@@ -1,12 +1,14 @@
 package br.com.exemplo.aula.controllers.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @NoArgsConstructor
@@ -26,5 +28,20 @@ public class PacienteResponseDTO {
     private String telefone;
     private String email;
 
+    // Vão nos cabeçalhos ETag e Last-Modified, não no corpo.
+    @JsonIgnore
+    private Long versao;
+
+    @JsonIgnore
+    private Instant atualizadoEm;
+
+    public PacienteResponseDTO(Long id, String nome, LocalDate dataNascimento, String cpf, String telefone, String email) {
+        this.id = id;
+        this.nome = nome;
+        this.dataNascimento = dataNascimento;
+        this.cpf = cpf;
+        this.telefone = telefone;
+        this.email = email;
+    }
 
 }
@@ -0,0 +1,34 @@
+package br.com.exemplo.aula.entities;
+
+import jakarta.persistence.*;
+
+// Catálogo de certificações: cada nome é gravado uma única vez e referenciado por id.
+@Entity
+@Table(name = "certificacao", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_certificacao_nome", columnNames = "nome")
+})
+public class Certificacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nome;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+}
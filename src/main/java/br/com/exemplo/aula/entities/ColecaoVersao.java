@@ -0,0 +1,35 @@
+package br.com.exemplo.aula.entities;
+
+import jakarta.persistence.*;
+
+// Versão de uma coleção inteira (pacientes, nutricionistas), incrementada a cada escrita.
+// Serve de ETag das listagens sem precisar ler a tabela da coleção.
+@Entity
+@Table(name = "colecao_versao")
+public class ColecaoVersao {
+
+    public static final String PACIENTES = "pacientes";
+    public static final String NUTRICIONISTAS = "nutricionistas";
+
+    @Id
+    private String nome;
+
+    @Column(nullable = false)
+    private long versao;
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+}
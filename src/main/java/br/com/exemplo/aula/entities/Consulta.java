@@ -3,24 +3,33 @@ package br.com.exemplo.aula.entities;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
-@Table(name = "consulta")
+// Índices compostos que cobrem as listagens por nutricionista/paciente e período (index-only scan).
+@Table(name = "consulta", indexes = {
+        @Index(name = "idx_consulta_nutricionista_data", columnList = "nutricionista_id_nutricionista, data, id, id_paciente"),
+        @Index(name = "idx_consulta_paciente_data", columnList = "id_paciente, data, id, nutricionista_id_nutricionista")
+})
 public class Consulta {
 
+    // Sequência com alocação em blocos (pooled) para permitir inserts em lote via JDBC batch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consulta_seq")
+    @SequenceGenerator(name = "consulta_seq", sequenceName = "consulta_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     // @JoinColumn(name = "id_nutricionista") OPCIONAL ISSO AQUI.
     private Nutricionista nutricionista;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_paciente")
     private Paciente paciente;
 
     private LocalDate data;
+    private LocalTime horaInicio;
+    private LocalTime horaFim;
     private String observacoes;
 
     public Long getId() {
@@ -55,6 +64,22 @@ public class Consulta {
         this.data = data;
     }
 
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+
+    public void setHoraFim(LocalTime horaFim) {
+        this.horaFim = horaFim;
+    }
+
     public String getObservacoes() {
         return observacoes;
     }
@@ -0,0 +1,83 @@
+package br.com.exemplo.aula.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Contagem pré-agregada de consultas por período e nutricionista, mantida incrementalmente.
+@Entity
+@Table(name = "consulta_estatistica", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_consulta_estatistica", columnNames = {"granularidade", "periodo", "id_nutricionista"})
+})
+public class ConsultaEstatistica {
+
+    public enum Granularidade { DIA, MES }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private Granularidade granularidade;
+
+    // Dia da consulta, ou primeiro dia do mês para a granularidade MES.
+    @Column(nullable = false)
+    private LocalDate periodo;
+
+    @Column(name = "id_nutricionista", nullable = false)
+    private Long idNutricionista;
+
+    private String especialidade;
+
+    @Column(nullable = false)
+    private long total;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Granularidade getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(Granularidade granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public LocalDate getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDate periodo) {
+        this.periodo = periodo;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public void setIdNutricionista(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public String getEspecialidade() {
+        return especialidade;
+    }
+
+    public void setEspecialidade(String especialidade) {
+        this.especialidade = especialidade;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.exemplo.aula.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Modelo de leitura desnormalizado das consultas, mantido a partir dos eventos de escrita.
+@Entity
+@Table(name = "consulta_resumo", indexes = {
+        @Index(name = "idx_consulta_resumo_data_id", columnList = "data, id"),
+        @Index(name = "idx_consulta_resumo_nutricionista", columnList = "id_nutricionista"),
+        @Index(name = "idx_consulta_resumo_paciente", columnList = "id_paciente")
+})
+public class ConsultaResumo {
+
+    // Mesmo id da consulta de origem.
+    @Id
+    private Long id;
+
+    @Column(name = "id_nutricionista")
+    private Long idNutricionista;
+
+    private String nomeNutricionista;
+
+    @Column(name = "id_paciente")
+    private Long idPaciente;
+
+    private String nomePaciente;
+
+    private LocalDate data;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public void setIdNutricionista(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public String getNomeNutricionista() {
+        return nomeNutricionista;
+    }
+
+    public void setNomeNutricionista(String nomeNutricionista) {
+        this.nomeNutricionista = nomeNutricionista;
+    }
+
+    public Long getIdPaciente() {
+        return idPaciente;
+    }
+
+    public void setIdPaciente(Long idPaciente) {
+        this.idPaciente = idPaciente;
+    }
+
+    public String getNomePaciente() {
+        return nomePaciente;
+    }
+
+    public void setNomePaciente(String nomePaciente) {
+        this.nomePaciente = nomePaciente;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+}
@@ -1,14 +1,22 @@
 package br.com.exemplo.aula.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.BatchSize;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "nutricionista")
+@Table(name = "nutricionista", uniqueConstraints = {
+        @UniqueConstraint(name = Nutricionista.UK_NOME, columnNames = "nome")
+})
 public class Nutricionista {
 
+    public static final String UK_NOME = "uk_nutricionista_nome";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_nutricionista")
@@ -20,13 +28,31 @@ public class Nutricionista {
     private String matricula;
     private int tempoExperiencia;
 
+    // Ano do último incremento automático de tempoExperiencia; evita somar duas vezes no mesmo ano.
+    private Integer anoUltimoIncremento;
+
     @Column(nullable = false)
     private String crn;
 
     private String especialidade;
 
+    // Controle otimista e data da última alteração (Last-Modified do GET por id).
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    // Ids do catálogo de certificações; os nomes vêm do CertificacaoCatalogo.
     @ElementCollection
-    private Set<String> certificacoes = new HashSet<>();
+    @CollectionTable(name = "nutricionista_certificacao", joinColumns = @JoinColumn(name = "id_nutricionista"))
+    @Column(name = "id_certificacao", nullable = false)
+    @BatchSize(size = 100)
+    private Set<Long> idsCertificacoes = new HashSet<>();
 
 
     public Long getId() {
@@ -61,6 +87,14 @@ public class Nutricionista {
         this.tempoExperiencia = tempoExperiencia;
     }
 
+    public Integer getAnoUltimoIncremento() {
+        return anoUltimoIncremento;
+    }
+
+    public void setAnoUltimoIncremento(Integer anoUltimoIncremento) {
+        this.anoUltimoIncremento = anoUltimoIncremento;
+    }
+
 
     public String getCrn() {
         return crn;
@@ -78,11 +112,27 @@ public class Nutricionista {
         this.especialidade = especialidade;
     }
 
-    public Set<String> getCertificacoes() {
-        return certificacoes;
+    public Set<Long> getIdsCertificacoes() {
+        return idsCertificacoes;
+    }
+
+    public void setIdsCertificacoes(Set<Long> idsCertificacoes) {
+        this.idsCertificacoes = idsCertificacoes;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
     }
 
-    public void setCertificacoes(Set<String> certificacoes) {
-        this.certificacoes = certificacoes;
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
     }
 }
@@ -1,13 +1,23 @@
 package br.com.exemplo.aula.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "paciente")
+// O índice por nascimento e CPF entrega os pacientes já agrupados nos blocos da deduplicação.
+@Table(name = "paciente", uniqueConstraints = {
+        @UniqueConstraint(name = Paciente.UK_CPF, columnNames = "cpf")
+}, indexes = {
+        @Index(name = "idx_paciente_nascimento_cpf", columnList = "data_nascimento, cpf")
+})
 public class Paciente {
 
+    public static final String UK_CPF = "uk_paciente_cpf";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_paciente")
@@ -18,12 +28,24 @@ public class Paciente {
 
     private LocalDate dataNascimento;
 
+    // Só dígitos (ver CpfUtil); o índice único atende a busca do totem e barra cadastro duplicado.
     @Column(nullable = false)
     private String cpf;
 
     private String telefone;
     private String email;
 
+    // Controle otimista e data da última alteração (Last-Modified do GET por id).
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
     public Paciente(long l, String nomeDePaciente, LocalDate of, String s, String s1, String mail) {
     }
 
@@ -80,6 +102,19 @@ public class Paciente {
         this.email = email;
     }
 
-}
+    public long getVersao() {
+        return versao;
+    }
 
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
 
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.exemplo.aula.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Sugestão de mesclagem gerada pela deduplicação: o paciente duplicado deve ser absorvido pelo mantido.
+// É refeita a cada análise; só vira alteração de cadastro quando alguém pede a mesclagem.
+@Entity
+@Table(name = "paciente_duplicidade", indexes = {
+        @Index(name = "idx_paciente_duplicidade_mantido", columnList = "id_paciente_mantido"),
+        @Index(name = "idx_paciente_duplicidade_duplicado", columnList = "id_paciente_duplicado")
+})
+public class PacienteDuplicidade {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_paciente_mantido", nullable = false)
+    private Long idPacienteMantido;
+
+    @Column(name = "id_paciente_duplicado", nullable = false)
+    private Long idPacienteDuplicado;
+
+    @Column(nullable = false)
+    private double pontuacao;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdPacienteMantido() {
+        return idPacienteMantido;
+    }
+
+    public void setIdPacienteMantido(Long idPacienteMantido) {
+        this.idPacienteMantido = idPacienteMantido;
+    }
+
+    public Long getIdPacienteDuplicado() {
+        return idPacienteDuplicado;
+    }
+
+    public void setIdPacienteDuplicado(Long idPacienteDuplicado) {
+        this.idPacienteDuplicado = idPacienteDuplicado;
+    }
+
+    public double getPontuacao() {
+        return pontuacao;
+    }
+
+    public void setPontuacao(double pontuacao) {
+        this.pontuacao = pontuacao;
+    }
+
+    public LocalDateTime getCriadaEm() {
+        return criadaEm;
+    }
+
+    public void setCriadaEm(LocalDateTime criadaEm) {
+        this.criadaEm = criadaEm;
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.exemplo.aula.events;
+
+public class CertificacaoAdicionadaEvent {
+
+    private final Long idNutricionista;
+    private final Long idCertificacao;
+
+    public CertificacaoAdicionadaEvent(Long idNutricionista, Long idCertificacao) {
+        this.idNutricionista = idNutricionista;
+        this.idCertificacao = idCertificacao;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public Long getIdCertificacao() {
+        return idCertificacao;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.exemplo.aula.events;
+
+import java.time.LocalDate;
+
+// Carrega os dados da consulta removida, que não podem mais ser lidos do banco após o delete.
+public class ConsultaRemovidaEvent {
+
+    private final Long id;
+    private final Long idNutricionista;
+    private final LocalDate data;
+
+    public ConsultaRemovidaEvent(Long id, Long idNutricionista, LocalDate data) {
+        this.id = id;
+        this.idNutricionista = idNutricionista;
+        this.data = data;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+}
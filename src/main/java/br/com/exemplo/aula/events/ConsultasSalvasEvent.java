@@ -0,0 +1,16 @@
+package br.com.exemplo.aula.events;
+
+import java.util.List;
+
+public class ConsultasSalvasEvent {
+
+    private final List<Long> ids;
+
+    public ConsultasSalvasEvent(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.exemplo.aula.events;
+
+// Incremento de tempoExperiencia feito direto no banco; idNutricionista nulo significa atualização em lote.
+public class ExperienciaIncrementadaEvent {
+
+    private final Long idNutricionista;
+
+    public ExperienciaIncrementadaEvent(Long idNutricionista) {
+        this.idNutricionista = idNutricionista;
+    }
+
+    public Long getIdNutricionista() {
+        return idNutricionista;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.exemplo.aula.events;
+
+public class NutricionistaRemovidoEvent {
+
+    private final Long id;
+
+    public NutricionistaRemovidoEvent(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.exemplo.aula.events;
+
+// Publicado ao criar ou atualizar um nutricionista, com os campos usados pelos modelos de leitura.
+public class NutricionistaSalvoEvent {
+
+    private final Long id;
+    private final String nome;
+    private final String especialidade;
+    private final int tempoExperiencia;
+
+    public NutricionistaSalvoEvent(Long id, String nome, String especialidade, int tempoExperiencia) {
+        this.id = id;
+        this.nome = nome;
+        this.especialidade = especialidade;
+        this.tempoExperiencia = tempoExperiencia;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEspecialidade() {
+        return especialidade;
+    }
+
+    public int getTempoExperiencia() {
+        return tempoExperiencia;
+    }
+}
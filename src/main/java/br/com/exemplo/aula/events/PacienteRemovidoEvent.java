@@ -0,0 +1,14 @@
+package br.com.exemplo.aula.events;
+
+public class PacienteRemovidoEvent {
+
+    private final Long id;
+
+    public PacienteRemovidoEvent(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
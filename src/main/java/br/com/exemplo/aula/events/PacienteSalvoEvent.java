@@ -0,0 +1,20 @@
+package br.com.exemplo.aula.events;
+
+public class PacienteSalvoEvent {
+
+    private final Long id;
+    private final String nome;
+
+    public PacienteSalvoEvent(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
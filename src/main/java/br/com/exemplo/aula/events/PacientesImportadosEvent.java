@@ -0,0 +1,17 @@
+package br.com.exemplo.aula.events;
+
+import java.util.Map;
+
+// Pacientes novos de um lote de importação; ainda não têm consultas, então só os índices em memória precisam saber.
+public class PacientesImportadosEvent {
+
+    private final Map<Long, String> nomesPorId;
+
+    public PacientesImportadosEvent(Map<Long, String> nomesPorId) {
+        this.nomesPorId = nomesPorId;
+    }
+
+    public Map<Long, String> getNomesPorId() {
+        return nomesPorId;
+    }
+}
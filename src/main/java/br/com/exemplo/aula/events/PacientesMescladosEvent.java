@@ -0,0 +1,17 @@
+package br.com.exemplo.aula.events;
+
+import java.util.Map;
+
+// Pacientes duplicados já removidos, cada um com o id do paciente que ficou com as suas consultas.
+public class PacientesMescladosEvent {
+
+    private final Map<Long, Long> mantidoPorDuplicado;
+
+    public PacientesMescladosEvent(Map<Long, Long> mantidoPorDuplicado) {
+        this.mantidoPorDuplicado = mantidoPorDuplicado;
+    }
+
+    public Map<Long, Long> getMantidoPorDuplicado() {
+        return mantidoPorDuplicado;
+    }
+}
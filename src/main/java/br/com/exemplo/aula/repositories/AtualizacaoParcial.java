@@ -0,0 +1,41 @@
+package br.com.exemplo.aula.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+// UPDATE só das colunas enviadas, sem carregar a linha antes. Como não passa pela entidade, a versão e a data de
+// alteração são incrementadas no próprio comando; com "versao" informada, só altera se ela ainda for a atual.
+final class AtualizacaoParcial {
+
+    private AtualizacaoParcial() {
+    }
+
+    static int executar(EntityManager entityManager, String entidade, Set<String> camposAlteraveis,
+                        Long id, Long versao, Map<String, Object> valores) {
+        StringJoiner set = new StringJoiner(", ");
+        for (String campo : valores.keySet()) {
+            if (!camposAlteraveis.contains(campo)) {
+                throw new IllegalArgumentException("Campo desconhecido: " + campo);
+            }
+            set.add("e." + campo + " = :" + campo);
+        }
+        set.add("e.versao = e.versao + 1");
+        set.add("e.atualizadoEm = :atualizadoEm");
+
+        String jpql = "update " + entidade + " e set " + set + " where e.id = :id"
+                + (versao != null ? " and e.versao = :versao" : "");
+        Query query = entityManager.createQuery(jpql)
+                .setParameter("id", id)
+                .setParameter("atualizadoEm", Instant.now());
+        valores.forEach(query::setParameter);
+        if (versao != null) {
+            query.setParameter("versao", versao);
+        }
+        return query.executeUpdate();
+    }
+}
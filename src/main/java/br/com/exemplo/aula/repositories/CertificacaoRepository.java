@@ -0,0 +1,22 @@
+package br.com.exemplo.aula.repositories;
+
+import br.com.exemplo.aula.entities.Certificacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CertificacaoRepository extends JpaRepository<Certificacao, Long> {
+
+    Optional<Certificacao> findByNome(String nome);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into certificacao (nome) values (:nome) on conflict (nome) do nothing", nativeQuery = true)
+    int inserirSeAusente(@Param("nome") String nome);
+}
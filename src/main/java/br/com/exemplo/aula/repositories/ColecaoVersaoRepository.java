@@ -0,0 +1,27 @@
+package br.com.exemplo.aula.repositories;
+
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ColecaoVersaoRepository extends JpaRepository<ColecaoVersao, String> {
+
+    @Query("select v.versao from ColecaoVersao v where v.nome = :nome")
+    Optional<Long> buscarVersao(@Param("nome") String nome);
+
+    // Participa da transação corrente, se houver; senão roda na sua própria.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into colecao_versao (nome, versao) values (:nome, 1)
+            on conflict (nome) do update set versao = colecao_versao.versao + 1
+            """, nativeQuery = true)
+    int incrementar(@Param("nome") String nome);
+}
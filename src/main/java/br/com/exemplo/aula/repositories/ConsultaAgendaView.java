@@ -0,0 +1,18 @@
+package br.com.exemplo.aula.repositories;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Projeção com apenas as colunas necessárias para montar a agenda em memória.
+public interface ConsultaAgendaView {
+
+    Long getId();
+
+    Long getIdNutricionista();
+
+    LocalDate getData();
+
+    LocalTime getHoraInicio();
+
+    LocalTime getHoraFim();
+}
@@ -0,0 +1,99 @@
+package br.com.exemplo.aula.repositories;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO;
+import br.com.exemplo.aula.entities.ConsultaEstatistica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ConsultaEstatisticaRepository extends JpaRepository<ConsultaEstatistica, Long> {
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO(e.granularidade, e.periodo, e.idNutricionista, e.especialidade, e.total)
+            from ConsultaEstatistica e
+            where e.granularidade = :granularidade and e.periodo between :de and :ate
+              and (:idNutricionista is null or e.idNutricionista = :idNutricionista)
+              and (:especialidade is null or e.especialidade = :especialidade)
+              and e.total > 0
+            order by e.periodo, e.idNutricionista
+            """)
+    List<ConsultaEstatisticaDTO> buscarPorNutricionista(@Param("granularidade") ConsultaEstatistica.Granularidade granularidade,
+                                                        @Param("de") LocalDate de,
+                                                        @Param("ate") LocalDate ate,
+                                                        @Param("idNutricionista") Long idNutricionista,
+                                                        @Param("especialidade") String especialidade);
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO(e.granularidade, e.periodo, e.especialidade, sum(e.total))
+            from ConsultaEstatistica e
+            where e.granularidade = :granularidade and e.periodo between :de and :ate
+              and (:especialidade is null or e.especialidade = :especialidade)
+            group by e.granularidade, e.periodo, e.especialidade
+            having sum(e.total) > 0
+            order by e.periodo, e.especialidade
+            """)
+    List<ConsultaEstatisticaDTO> buscarPorEspecialidade(@Param("granularidade") ConsultaEstatistica.Granularidade granularidade,
+                                                        @Param("de") LocalDate de,
+                                                        @Param("ate") LocalDate ate,
+                                                        @Param("especialidade") String especialidade);
+
+    // Soma as consultas indicadas às linhas de dia e de mês, criando-as se necessário (upsert do PostgreSQL).
+    @Modifying
+    @Query(value = """
+            insert into consulta_estatistica (granularidade, periodo, id_nutricionista, especialidade, total)
+            select g.granularidade, g.periodo, n.id_nutricionista, n.especialidade, count(*)
+            from consulta c
+            join nutricionista n on n.id_nutricionista = c.nutricionista_id_nutricionista
+            cross join lateral (values ('DIA', c.data), ('MES', cast(date_trunc('month', c.data) as date))) as g(granularidade, periodo)
+            where c.id in (:ids) and c.data is not null
+            group by g.granularidade, g.periodo, n.id_nutricionista, n.especialidade
+            on conflict (granularidade, periodo, id_nutricionista)
+            do update set total = consulta_estatistica.total + excluded.total,
+                          especialidade = excluded.especialidade
+            """, nativeQuery = true)
+    int incrementar(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = """
+            update consulta_estatistica
+            set total = total - 1
+            where id_nutricionista = :idNutricionista and total > 0
+              and ((granularidade = 'DIA' and periodo = :data)
+                or (granularidade = 'MES' and periodo = cast(date_trunc('month', cast(:data as date)) as date)))
+            """, nativeQuery = true)
+    int decrementar(@Param("idNutricionista") Long idNutricionista, @Param("data") LocalDate data);
+
+    @Modifying
+    @Query("""
+            update ConsultaEstatistica e set e.especialidade = :especialidade
+            where e.idNutricionista = :idNutricionista and e.especialidade is distinct from :especialidade
+            """)
+    int atualizarEspecialidade(@Param("idNutricionista") Long idNutricionista, @Param("especialidade") String especialidade);
+
+    @Modifying
+    @Query(value = """
+            insert into consulta_estatistica (granularidade, periodo, id_nutricionista, especialidade, total)
+            select g.granularidade, g.periodo, n.id_nutricionista, n.especialidade, count(*)
+            from consulta c
+            join nutricionista n on n.id_nutricionista = c.nutricionista_id_nutricionista
+            cross join lateral (values ('DIA', c.data), ('MES', cast(date_trunc('month', c.data) as date))) as g(granularidade, periodo)
+            where c.data is not null
+            group by g.granularidade, g.periodo, n.id_nutricionista, n.especialidade
+            """, nativeQuery = true)
+    int inserirTodas();
+
+    @Modifying
+    @Query(value = "lock table consulta_estatistica in exclusive mode", nativeQuery = true)
+    void bloquear();
+
+    @Modifying
+    @Query("delete from ConsultaEstatistica")
+    int removerTodas();
+}
@@ -1,9 +1,75 @@
 package br.com.exemplo.aula.repositories;
 
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
 import br.com.exemplo.aula.entities.Consulta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ConsultaRepository extends JpaRepository<Consulta,Long> {
+public interface ConsultaRepository extends JpaRepository<Consulta,Long>, ConsultaRepositoryCustom {
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO(
+                c.id, n.id, n.nome, p.id, p.nome, c.data, c.horaInicio, c.horaFim, c.observacoes)
+            from Consulta c left join c.nutricionista n left join c.paciente p
+            where c.id = :id
+            """)
+    Optional<ConsultaResponseDTO> buscarDetalhe(@Param("id") Long id);
+
+    // Só lê colunas de consulta presentes em idx_consulta_nutricionista_data; os nomes vêm por chave primária.
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO(c.id, n.nome, p.nome, c.data)
+            from Consulta c join c.nutricionista n join c.paciente p
+            where c.nutricionista.id = :idNutricionista and c.data between :de and :ate
+            order by c.data, c.id
+            """)
+    Slice<ConsultaResponseListDTO> buscarPorNutricionista(@Param("idNutricionista") Long idNutricionista,
+                                                          @Param("de") LocalDate de,
+                                                          @Param("ate") LocalDate ate,
+                                                          Pageable pageable);
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO(c.id, n.nome, p.nome, c.data)
+            from Consulta c join c.nutricionista n join c.paciente p
+            where c.paciente.id = :idPaciente and c.data between :de and :ate
+            order by c.data, c.id
+            """)
+    Slice<ConsultaResponseListDTO> buscarPorPaciente(@Param("idPaciente") Long idPaciente,
+                                                     @Param("de") LocalDate de,
+                                                     @Param("ate") LocalDate ate,
+                                                     Pageable pageable);
+
+    // Leitura somente-avante em lotes do cursor JDBC; deve ser consumida dentro de uma transação.
+    // Left join: a exportação inclui consultas sem nutricionista ou paciente, como a listagem antiga.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select c from Consulta c left join fetch c.nutricionista left join fetch c.paciente order by c.id")
+    Stream<Consulta> streamTodas();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select c.id as id, c.nutricionista.id as idNutricionista, c.data as data,
+                   c.horaInicio as horaInicio, c.horaFim as horaFim
+            from Consulta c
+            where c.data >= :desde and c.horaInicio is not null and c.horaFim is not null
+            """)
+    Stream<ConsultaAgendaView> streamAgenda(@Param("desde") LocalDate desde);
 }
@@ -0,0 +1,15 @@
+package br.com.exemplo.aula.repositories;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface ConsultaRepositoryCustom {
+
+    Set<String> CAMPOS_DETALHE = Set.of(
+            "id", "idNutricionista", "nomeNutricionista", "idPaciente", "nomePaciente",
+            "data", "horaInicio", "horaFim", "observacoes");
+
+    // Seleciona apenas os campos pedidos (sparse fieldset), fazendo join somente com as tabelas necessárias.
+    Map<String, Object> buscarCampos(Long id, Collection<String> campos);
+}
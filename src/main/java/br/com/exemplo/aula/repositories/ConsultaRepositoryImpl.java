@@ -0,0 +1,64 @@
+package br.com.exemplo.aula.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class ConsultaRepositoryImpl implements ConsultaRepositoryCustom {
+
+    // Campo do DTO -> caminho JPQL; ids das associações são lidos pela chave estrangeira, sem join.
+    private static final Map<String, String> CAMINHOS = Map.of(
+            "id", "c.id",
+            "idNutricionista", "c.nutricionista.id",
+            "nomeNutricionista", "n.nome",
+            "idPaciente", "c.paciente.id",
+            "nomePaciente", "p.nome",
+            "data", "c.data",
+            "horaInicio", "c.horaInicio",
+            "horaFim", "c.horaFim",
+            "observacoes", "c.observacoes");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Object> buscarCampos(Long id, Collection<String> campos) {
+        StringJoiner select = new StringJoiner(", ");
+        boolean joinNutricionista = false;
+        boolean joinPaciente = false;
+        for (String campo : campos) {
+            String caminho = CAMINHOS.get(campo);
+            if (caminho == null) {
+                throw new IllegalArgumentException("Campo desconhecido: " + campo);
+            }
+            joinNutricionista |= caminho.startsWith("n.");
+            joinPaciente |= caminho.startsWith("p.");
+            select.add(caminho + " as " + campo);
+        }
+
+        String jpql = "select " + select + " from Consulta c"
+                + (joinNutricionista ? " left join c.nutricionista n" : "")
+                + (joinPaciente ? " left join c.paciente p" : "")
+                + " where c.id = :id";
+
+        List<Tuple> resultado = entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("id", id)
+                .getResultList();
+        if (resultado.isEmpty()) {
+            return null;
+        }
+
+        Tuple tupla = resultado.get(0);
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (String campo : campos) {
+            valores.put(campo, tupla.get(campo));
+        }
+        return valores;
+    }
+}
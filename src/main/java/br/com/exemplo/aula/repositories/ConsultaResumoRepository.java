@@ -0,0 +1,102 @@
+package br.com.exemplo.aula.repositories;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.entities.ConsultaResumo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ConsultaResumoRepository extends JpaRepository<ConsultaResumo, Long> {
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO(r.id, r.nomeNutricionista, r.nomePaciente, r.data)
+            from ConsultaResumo r
+            """)
+    List<ConsultaResponseListDTO> listarResumo();
+
+    // Paginação por cursor ordenada por (data, id): a página seguinte começa após o último par retornado.
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO(r.id, r.nomeNutricionista, r.nomePaciente, r.data)
+            from ConsultaResumo r
+            where r.data >= :cursorData and r.data <= :ate
+              and (r.data > :cursorData or r.id > :cursorId)
+            order by r.data, r.id
+            """)
+    List<ConsultaResponseListDTO> buscarPagina(@Param("cursorData") LocalDate cursorData,
+                                               @Param("cursorId") Long cursorId,
+                                               @Param("ate") LocalDate ate,
+                                               Limit limit);
+
+    // Copia as consultas indicadas já com os nomes resolvidos; a linha antiga deve ser removida antes.
+    // Left joins: consultas sem nutricionista ou paciente também aparecem na listagem, com o nome nulo.
+    @Modifying
+    @Query("""
+            insert into ConsultaResumo (id, idNutricionista, nomeNutricionista, idPaciente, nomePaciente, data)
+            select c.id, n.id, n.nome, p.id, p.nome, c.data
+            from Consulta c left join c.nutricionista n left join c.paciente p
+            where c.id in :ids
+            """)
+    int inserirDeConsultas(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            insert into ConsultaResumo (id, idNutricionista, nomeNutricionista, idPaciente, nomePaciente, data)
+            select c.id, n.id, n.nome, p.id, p.nome, c.data
+            from Consulta c left join c.nutricionista n left join c.paciente p
+            """)
+    int inserirTodas();
+
+    // Reconciliação com a tabela consulta: remove o que sumiu ou divergiu e insere o que falta.
+    @Modifying
+    @Query("delete from ConsultaResumo r where not exists (select 1 from Consulta c where c.id = r.id)")
+    int removerOrfaos();
+
+    @Modifying
+    @Query("""
+            delete from ConsultaResumo r
+            where exists (
+                select 1 from Consulta c left join c.nutricionista n left join c.paciente p
+                where c.id = r.id
+                  and (r.data is distinct from c.data
+                    or r.idNutricionista is distinct from n.id or r.nomeNutricionista is distinct from n.nome
+                    or r.idPaciente is distinct from p.id or r.nomePaciente is distinct from p.nome))
+            """)
+    int removerDivergentes();
+
+    @Modifying
+    @Query("""
+            insert into ConsultaResumo (id, idNutricionista, nomeNutricionista, idPaciente, nomePaciente, data)
+            select c.id, n.id, n.nome, p.id, p.nome, c.data
+            from Consulta c left join c.nutricionista n left join c.paciente p
+            where not exists (select 1 from ConsultaResumo r where r.id = c.id)
+            """)
+    int inserirFaltantes();
+
+    @Modifying
+    @Query("delete from ConsultaResumo r where r.id in :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update ConsultaResumo r set r.nomeNutricionista = :nome where r.idNutricionista = :id")
+    int atualizarNomeNutricionista(@Param("id") Long id, @Param("nome") String nome);
+
+    @Modifying
+    @Query("update ConsultaResumo r set r.nomePaciente = :nome where r.idPaciente = :id")
+    int atualizarNomePaciente(@Param("id") Long id, @Param("nome") String nome);
+
+    @Modifying
+    @Query("""
+            update ConsultaResumo r
+            set r.idPaciente = :mantido, r.nomePaciente = (select p.nome from Paciente p where p.id = :mantido)
+            where r.idPaciente = :duplicado
+            """)
+    int reatribuirPaciente(@Param("duplicado") Long duplicado, @Param("mantido") Long mantido);
+}
@@ -0,0 +1,10 @@
+package br.com.exemplo.aula.repositories;
+
+public interface NutricionistaBuscaView {
+
+    Long getId();
+
+    String getEspecialidade();
+
+    int getTempoExperiencia();
+}
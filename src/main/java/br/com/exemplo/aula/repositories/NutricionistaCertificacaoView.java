@@ -0,0 +1,8 @@
+package br.com.exemplo.aula.repositories;
+
+public interface NutricionistaCertificacaoView {
+
+    Long getIdNutricionista();
+
+    Long getIdCertificacao();
+}
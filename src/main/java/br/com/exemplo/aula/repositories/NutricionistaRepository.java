@@ -1,14 +1,97 @@
 package br.com.exemplo.aula.repositories;
 
 import br.com.exemplo.aula.entities.Nutricionista;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface NutricionistaRepository extends JpaRepository<Nutricionista,Long> {
+public interface NutricionistaRepository extends JpaRepository<Nutricionista,Long>, NutricionistaRepositoryCustom {
 
     Optional<Nutricionista> findByNome(String nome);
 
+    @Query("select n.id from Nutricionista n where n.nome = :nome")
+    Optional<Long> buscarIdPorNome(@Param("nome") String nome);
+
+    List<Nutricionista> findByEspecialidade(String especialidade);
+
+    @Query("select n.id from Nutricionista n where n.id in :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select n.id as id, n.nome as nome from Nutricionista n")
+    Stream<NutricionistaNomeView> streamNomes();
+
+    @Query("select n.id as id, n.especialidade as especialidade, n.tempoExperiencia as tempoExperiencia from Nutricionista n")
+    List<NutricionistaBuscaView> listarBusca();
+
+    @Query("select n.id as idNutricionista, c as idCertificacao from Nutricionista n join n.idsCertificacoes c")
+    List<NutricionistaCertificacaoView> listarCertificacoes();
+
+    @Query("select min(n.id) from Nutricionista n")
+    Long menorId();
+
+    @Query("select max(n.id) from Nutricionista n")
+    Long maiorId();
+
+    @Query("""
+            select count(n) from Nutricionista n
+            where n.id between :de and :ate and (n.anoUltimoIncremento is null or n.anoUltimoIncremento < :ano)
+            """)
+    long contarSemIncrementoNoAno(@Param("de") Long de, @Param("ate") Long ate, @Param("ano") int ano);
+
+    // Incremento anual em lote por faixa de ids; deve rodar dentro de uma transação.
+    @Modifying
+    @Query("""
+            update Nutricionista n
+            set n.tempoExperiencia = n.tempoExperiencia + 1, n.anoUltimoIncremento = :ano,
+                n.versao = n.versao + 1, n.atualizadoEm = instant
+            where n.id between :de and :ate and (n.anoUltimoIncremento is null or n.anoUltimoIncremento < :ano)
+            """)
+    int incrementarExperienciaNoAno(@Param("de") Long de, @Param("ate") Long ate, @Param("ano") int ano);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Nutricionista n
+            set n.tempoExperiencia = n.tempoExperiencia + 1, n.versao = n.versao + 1, n.atualizadoEm = instant
+            where n.id = :id
+            """)
+    int incrementarExperiencia(@Param("id") Long id);
+
+    // Para alterações que não passam pela linha do nutricionista (ex.: vínculos de certificação).
+    @Transactional
+    @Modifying
+    @Query("update Nutricionista n set n.versao = n.versao + 1, n.atualizadoEm = instant where n.id = :id")
+    int marcarAlterado(@Param("id") Long id);
+
+    // Certificações de vários nutricionistas em uma única consulta.
+    @Query("""
+            select n.id as idNutricionista, c as idCertificacao
+            from Nutricionista n join n.idsCertificacoes c
+            where n.id in :ids
+            """)
+    List<NutricionistaCertificacaoView> buscarCertificacoes(@Param("ids") Collection<Long> ids);
+
+    // Acrescenta um vínculo sem carregar a coleção; não faz nada se o nutricionista não existir ou já tiver a certificação.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into nutricionista_certificacao (id_nutricionista, id_certificacao)
+            select n.id_nutricionista, :idCertificacao from nutricionista n where n.id_nutricionista = :idNutricionista
+            on conflict do nothing
+            """, nativeQuery = true)
+    int adicionarCertificacao(@Param("idNutricionista") Long idNutricionista, @Param("idCertificacao") Long idCertificacao);
+
 }
@@ -0,0 +1,12 @@
+package br.com.exemplo.aula.repositories;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface NutricionistaRepositoryCustom {
+
+    Set<String> CAMPOS_ALTERAVEIS = Set.of("nome", "matricula", "tempoExperiencia", "crn", "especialidade");
+
+    // Quantidade de linhas alteradas: zero se o nutricionista não existe ou se a versão informada não é mais a atual.
+    int atualizarCampos(Long id, Long versao, Map<String, Object> valores);
+}
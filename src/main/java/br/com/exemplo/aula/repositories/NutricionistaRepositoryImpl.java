@@ -0,0 +1,19 @@
+package br.com.exemplo.aula.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+public class NutricionistaRepositoryImpl implements NutricionistaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int atualizarCampos(Long id, Long versao, Map<String, Object> valores) {
+        return AtualizacaoParcial.executar(entityManager, "Nutricionista", CAMPOS_ALTERAVEIS, id, versao, valores);
+    }
+}
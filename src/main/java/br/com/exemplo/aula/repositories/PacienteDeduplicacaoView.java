@@ -0,0 +1,18 @@
+package br.com.exemplo.aula.repositories;
+
+import java.time.LocalDate;
+
+public interface PacienteDeduplicacaoView {
+
+    Long getId();
+
+    String getNome();
+
+    LocalDate getDataNascimento();
+
+    String getCpf();
+
+    String getTelefone();
+
+    String getEmail();
+}
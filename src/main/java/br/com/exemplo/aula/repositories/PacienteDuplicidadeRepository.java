@@ -0,0 +1,39 @@
+package br.com.exemplo.aula.repositories;
+
+import br.com.exemplo.aula.controllers.dto.PacienteDuplicidadeDTO;
+import br.com.exemplo.aula.entities.PacienteDuplicidade;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PacienteDuplicidadeRepository extends JpaRepository<PacienteDuplicidade, Long> {
+
+    @Query("""
+            select new br.com.exemplo.aula.controllers.dto.PacienteDuplicidadeDTO(
+                d.id, m.id, m.nome, p.id, p.nome, d.pontuacao)
+            from PacienteDuplicidade d, Paciente m, Paciente p
+            where m.id = d.idPacienteMantido and p.id = d.idPacienteDuplicado and d.pontuacao >= :pontuacaoMinima
+            order by d.pontuacao desc, d.id
+            """)
+    List<PacienteDuplicidadeDTO> listar(@Param("pontuacaoMinima") double pontuacaoMinima, Limit limit);
+
+    // Percorre as sugestões por id para a mesclagem em lotes; as já mescladas somem da tabela.
+    @Query("""
+            select d from PacienteDuplicidade d
+            where d.pontuacao >= :pontuacaoMinima and d.id > :cursorId
+            order by d.id
+            """)
+    List<PacienteDuplicidade> buscarLote(@Param("pontuacaoMinima") double pontuacaoMinima,
+                                         @Param("cursorId") Long cursorId, Limit limit);
+
+    @Modifying
+    @Query("delete from PacienteDuplicidade d where d.idPacienteMantido in :ids or d.idPacienteDuplicado in :ids")
+    int removerPorPacientes(@Param("ids") Collection<Long> ids);
+}
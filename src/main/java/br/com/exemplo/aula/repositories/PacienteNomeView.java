@@ -0,0 +1,8 @@
+package br.com.exemplo.aula.repositories;
+
+public interface PacienteNomeView {
+
+    Long getId();
+
+    String getNome();
+}
@@ -1,9 +1,45 @@
 package br.com.exemplo.aula.repositories;
 
 import br.com.exemplo.aula.entities.Paciente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface PacienteRepository extends JpaRepository<Paciente,Long> {
+public interface PacienteRepository extends JpaRepository<Paciente,Long>, PacienteRepositoryCustom {
+
+    Optional<Paciente> findByCpf(String cpf);
+
+    @Query("select p.id from Paciente p where p.id in :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.id as id, p.nome as nome from Paciente p")
+    Stream<PacienteNomeView> streamNomes();
+
+    // Ordenado pela chave de bloco da deduplicação; sem data de nascimento não há bloco, e o paciente fica de fora.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select p.id as id, p.nome as nome, p.dataNascimento as dataNascimento, p.cpf as cpf,
+                   p.telefone as telefone, p.email as email
+            from Paciente p
+            where p.dataNascimento is not null
+            order by p.dataNascimento, p.cpf
+            """)
+    Stream<PacienteDeduplicacaoView> streamParaDeduplicacao();
 }
@@ -0,0 +1,251 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.repositories.ConsultaAgendaView;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+// Agenda em memória por nutricionista: horários ocupados ordenados por início, sem sobreposição entre si.
+// Consultas de leitura não usam lock; reservas são serializadas por nutricionista.
+@Service
+public class AgendaService implements SmartInitializingSingleton {
+
+    private final ConsultaRepository consultaRepository;
+    private final TransactionTemplate leitura;
+    private final LocalTime inicioExpediente;
+    private final LocalTime fimExpediente;
+    private final int diasBusca;
+
+    private final Map<Long, ConcurrentSkipListMap<LocalDateTime, Reserva>> agendas = new ConcurrentHashMap<>();
+    private final Map<Long, Reserva> reservasPorConsulta = new ConcurrentHashMap<>();
+
+    public AgendaService(ConsultaRepository consultaRepository, PlatformTransactionManager transactionManager,
+                         @Value("${agenda.expediente.inicio:08:00}") String inicioExpediente,
+                         @Value("${agenda.expediente.fim:18:00}") String fimExpediente,
+                         @Value("${agenda.busca.dias:60}") int diasBusca) {
+        this.consultaRepository = consultaRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.inicioExpediente = LocalTime.parse(inicioExpediente);
+        this.fimExpediente = LocalTime.parse(fimExpediente);
+        this.diasBusca = diasBusca;
+    }
+
+    // Carrega as consultas de hoje em diante; horários passados não participam de novas reservas. Roda antes de o
+    // servidor web aceitar requisições: com a agenda ainda vazia, uma reserva passaria sem checar conflitos.
+    @Override
+    public void afterSingletonsInstantiated() {
+        leitura.executeWithoutResult(status -> {
+            try (Stream<ConsultaAgendaView> consultas = consultaRepository.streamAgenda(LocalDate.now())) {
+                consultas.forEach(consulta -> {
+                    Reserva reserva = new Reserva(consulta.getIdNutricionista(),
+                            LocalDateTime.of(consulta.getData(), consulta.getHoraInicio()),
+                            LocalDateTime.of(consulta.getData(), consulta.getHoraFim()));
+                    agendaDe(reserva.idNutricionista).put(reserva.inicio, reserva);
+                    confirmar(reserva, consulta.getId());
+                });
+            }
+        });
+    }
+
+    // Horários de dias anteriores não entram mais em conflito com nada; sem a limpeza a agenda só cresceria.
+    @Scheduled(cron = "${agenda.limpeza.cron:0 5 0 * * *}")
+    public void descartarPassado() {
+        descartarAnteriores(LocalDate.now());
+    }
+
+    void descartarAnteriores(LocalDate dia) {
+        LocalDateTime inicioDoDia = dia.atStartOfDay();
+        for (ConcurrentSkipListMap<LocalDateTime, Reserva> agenda : agendas.values()) {
+            for (Reserva reserva : agenda.headMap(inicioDoDia).values()) {
+                if (!reserva.fim.isAfter(inicioDoDia)) {
+                    cancelar(reserva);
+                }
+            }
+        }
+    }
+
+    public Reserva reservar(Long idNutricionista, LocalDateTime inicio, LocalDateTime fim) {
+        if (!fim.isAfter(inicio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O horário final deve ser posterior ao inicial.");
+        }
+        ConcurrentSkipListMap<LocalDateTime, Reserva> agenda = agendaDe(idNutricionista);
+        synchronized (agenda) {
+            if (possuiConflito(agenda, inicio, fim)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Nutricionista já possui consulta neste horário.");
+            }
+            Reserva reserva = new Reserva(idNutricionista, inicio, fim);
+            agenda.put(inicio, reserva);
+            return reserva;
+        }
+    }
+
+    public void confirmar(Reserva reserva, Long idConsulta) {
+        if (reserva != null) {
+            reserva.idConsulta = idConsulta;
+            reservasPorConsulta.put(idConsulta, reserva);
+        }
+    }
+
+    public void cancelar(Reserva reserva) {
+        if (reserva != null) {
+            agendaDe(reserva.idNutricionista).remove(reserva.inicio, reserva);
+            if (reserva.idConsulta != null) {
+                reservasPorConsulta.remove(reserva.idConsulta, reserva);
+            }
+        }
+    }
+
+    public void liberar(Long idConsulta) {
+        cancelar(reservasPorConsulta.get(idConsulta));
+    }
+
+    public boolean estaLivre(Long idNutricionista, LocalDateTime inicio, LocalDateTime fim) {
+        ConcurrentSkipListMap<LocalDateTime, Reserva> agenda = agendas.get(idNutricionista);
+        return agenda == null || !possuiConflito(agenda, inicio, fim);
+    }
+
+    // Percorre apenas as reservas do dia, preenchendo os intervalos livres do expediente com blocos da duração pedida.
+    public List<LocalDateTime> horariosLivres(Long idNutricionista, LocalDate data, Duration duracao, int limite) {
+        return horariosLivres(idNutricionista, LocalDateTime.of(data, inicioExpediente), duracao, limite);
+    }
+
+    // Mesma busca começando em "desde" quando ele cai depois da abertura do expediente (hoje, já com o dia andando).
+    // Nesse caso o início é arredondado para cima na grade de blocos contada da abertura: "agora" traz segundos e
+    // nanos, e sem o arredondamento todos os horários sairiam fora da grade.
+    public List<LocalDateTime> horariosLivres(Long idNutricionista, LocalDateTime desde, Duration duracao, int limite) {
+        List<LocalDateTime> livres = new ArrayList<>();
+        LocalDate data = desde.toLocalDate();
+        LocalDateTime abertura = LocalDateTime.of(data, inicioExpediente);
+        LocalDateTime cursor = desde.isAfter(abertura) ? naGrade(abertura, desde, duracao) : abertura;
+        LocalDateTime fimDoDia = LocalDateTime.of(data, fimExpediente);
+
+        ConcurrentSkipListMap<LocalDateTime, Reserva> agenda = agendas.get(idNutricionista);
+        if (agenda != null) {
+            Map.Entry<LocalDateTime, Reserva> anterior = agenda.lowerEntry(cursor);
+            if (anterior != null && anterior.getValue().fim.isAfter(cursor)) {
+                cursor = anterior.getValue().fim;
+            }
+            for (Reserva reserva : agenda.subMap(cursor, true, fimDoDia, false).values()) {
+                while (!cursor.plus(duracao).isAfter(reserva.inicio)) {
+                    livres.add(cursor);
+                    if (livres.size() >= limite) {
+                        return livres;
+                    }
+                    cursor = cursor.plus(duracao);
+                }
+                if (reserva.fim.isAfter(cursor)) {
+                    cursor = reserva.fim;
+                }
+            }
+        }
+
+        while (!cursor.plus(duracao).isAfter(fimDoDia) && livres.size() < limite) {
+            livres.add(cursor);
+            cursor = cursor.plus(duracao);
+        }
+        return livres;
+    }
+
+    private static LocalDateTime naGrade(LocalDateTime abertura, LocalDateTime desde, Duration duracao) {
+        long passo = duracao.toNanos();
+        long decorrido = Duration.between(abertura, desde).toNanos();
+        long blocos = (decorrido + passo - 1) / passo;
+        return abertura.plusNanos(blocos * passo);
+    }
+
+    // Primeiros horários livres entre vários nutricionistas, buscados em paralelo no ForkJoinPool comum.
+    public List<Horario> proximosHorariosLivres(List<Long> idsNutricionistas, LocalDateTime desde, Duration duracao, int quantidade) {
+        if (idsNutricionistas.isEmpty() || quantidade <= 0) {
+            return List.of();
+        }
+        LocalDate ultimoDia = desde.toLocalDate().plusDays(diasBusca);
+        AtomicReference<LocalDateTime> limite = new AtomicReference<>(LocalDateTime.MAX);
+        return ForkJoinPool.commonPool().invoke(new BuscaHorariosTask(
+                this, idsNutricionistas, desde, ultimoDia, duracao, quantidade, limite));
+    }
+
+    // Como as reservas não se sobrepõem, basta verificar a última que começa antes do fim pedido.
+    private boolean possuiConflito(ConcurrentSkipListMap<LocalDateTime, Reserva> agenda, LocalDateTime inicio, LocalDateTime fim) {
+        Map.Entry<LocalDateTime, Reserva> anterior = agenda.lowerEntry(fim);
+        return anterior != null && anterior.getValue().fim.isAfter(inicio);
+    }
+
+    private ConcurrentSkipListMap<LocalDateTime, Reserva> agendaDe(Long idNutricionista) {
+        return agendas.computeIfAbsent(idNutricionista, id -> new ConcurrentSkipListMap<>());
+    }
+
+    public static class Horario {
+
+        private final Long idNutricionista;
+        private final LocalDateTime inicio;
+        private final LocalDateTime fim;
+
+        public Horario(Long idNutricionista, LocalDateTime inicio, LocalDateTime fim) {
+            this.idNutricionista = idNutricionista;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        public Long getIdNutricionista() {
+            return idNutricionista;
+        }
+
+        public LocalDateTime getInicio() {
+            return inicio;
+        }
+
+        public LocalDateTime getFim() {
+            return fim;
+        }
+    }
+
+    public static class Reserva {
+
+        private final Long idNutricionista;
+        private final LocalDateTime inicio;
+        private final LocalDateTime fim;
+        private volatile Long idConsulta;
+
+        Reserva(Long idNutricionista, LocalDateTime inicio, LocalDateTime fim) {
+            this.idNutricionista = idNutricionista;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        public Long getIdNutricionista() {
+            return idNutricionista;
+        }
+
+        public LocalDateTime getInicio() {
+            return inicio;
+        }
+
+        public LocalDateTime getFim() {
+            return fim;
+        }
+
+        public Long getIdConsulta() {
+            return idConsulta;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.exemplo.aula.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Divide a lista de nutricionistas entre os núcleos e devolve os N horários livres mais cedo.
+// O limite compartilhado guarda o menor "N-ésimo horário" já encontrado por algum nutricionista:
+// nada depois dele pode entrar no resultado, então as demais buscas param ao alcançá-lo.
+class BuscaHorariosTask extends RecursiveTask<List<AgendaService.Horario>> {
+
+    private static final int LIMIAR = 16;
+
+    static final Comparator<AgendaService.Horario> ORDEM = Comparator
+            .comparing(AgendaService.Horario::getInicio)
+            .thenComparing(AgendaService.Horario::getIdNutricionista);
+
+    private final AgendaService agendaService;
+    private final List<Long> idsNutricionistas;
+    private final LocalDateTime desde;
+    private final LocalDate ultimoDia;
+    private final Duration duracao;
+    private final int quantidade;
+    private final AtomicReference<LocalDateTime> limite;
+
+    BuscaHorariosTask(AgendaService agendaService, List<Long> idsNutricionistas, LocalDateTime desde, LocalDate ultimoDia,
+                      Duration duracao, int quantidade, AtomicReference<LocalDateTime> limite) {
+        this.agendaService = agendaService;
+        this.idsNutricionistas = idsNutricionistas;
+        this.desde = desde;
+        this.ultimoDia = ultimoDia;
+        this.duracao = duracao;
+        this.quantidade = quantidade;
+        this.limite = limite;
+    }
+
+    @Override
+    protected List<AgendaService.Horario> compute() {
+        if (idsNutricionistas.size() <= LIMIAR) {
+            List<AgendaService.Horario> encontrados = new ArrayList<>();
+            for (Long idNutricionista : idsNutricionistas) {
+                encontrados = mesclar(encontrados, buscar(idNutricionista));
+            }
+            return encontrados;
+        }
+
+        int meio = idsNutricionistas.size() / 2;
+        BuscaHorariosTask esquerda = new BuscaHorariosTask(agendaService, idsNutricionistas.subList(0, meio),
+                desde, ultimoDia, duracao, quantidade, limite);
+        BuscaHorariosTask direita = new BuscaHorariosTask(agendaService, idsNutricionistas.subList(meio, idsNutricionistas.size()),
+                desde, ultimoDia, duracao, quantidade, limite);
+        esquerda.fork();
+        List<AgendaService.Horario> resultadoDireita = direita.compute();
+        return mesclar(esquerda.join(), resultadoDireita);
+    }
+
+    private List<AgendaService.Horario> buscar(Long idNutricionista) {
+        List<AgendaService.Horario> horarios = new ArrayList<>();
+        for (LocalDate dia = desde.toLocalDate(); !dia.isAfter(ultimoDia); dia = dia.plusDays(1)) {
+            if (dia.atStartOfDay().isAfter(limite.get())) {
+                break;
+            }
+            // No primeiro dia a busca já parte de "desde": o limite não é gasto com horários anteriores a ele.
+            LocalDateTime inicioDoDia = dia.equals(desde.toLocalDate()) ? desde : dia.atStartOfDay();
+            for (LocalDateTime inicio : agendaService.horariosLivres(idNutricionista, inicioDoDia, duracao, quantidade)) {
+                if (inicio.isAfter(limite.get())) {
+                    return horarios;
+                }
+                horarios.add(new AgendaService.Horario(idNutricionista, inicio, inicio.plus(duracao)));
+                if (horarios.size() == quantidade) {
+                    limite.accumulateAndGet(inicio, (atual, novo) -> novo.isBefore(atual) ? novo : atual);
+                    return horarios;
+                }
+            }
+        }
+        return horarios;
+    }
+
+    private List<AgendaService.Horario> mesclar(List<AgendaService.Horario> a, List<AgendaService.Horario> b) {
+        List<AgendaService.Horario> resultado = new ArrayList<>(Math.min(quantidade, a.size() + b.size()));
+        int i = 0;
+        int j = 0;
+        while (resultado.size() < quantidade && (i < a.size() || j < b.size())) {
+            if (j >= b.size() || (i < a.size() && ORDEM.compare(a.get(i), b.get(j)) <= 0)) {
+                resultado.add(a.get(i++));
+            } else {
+                resultado.add(b.get(j++));
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Certificacao;
+import br.com.exemplo.aula.repositories.CertificacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Dicionário id <-> nome das certificações. Os mapas são imutáveis e trocados por inteiro (copy-on-write),
+// então as leituras não usam lock. Outras instâncias também criam certificações, por isso uma falta no dicionário
+// é conferida no banco e o resultado entra pelo método sincronizado incluir.
+@Component
+public class CertificacaoCatalogo implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificacaoCatalogo.class);
+
+    private final CertificacaoRepository certificacaoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+
+    private volatile Dicionario dicionario = new Dicionario(Map.of(), Map.of());
+
+    public CertificacaoCatalogo(CertificacaoRepository certificacaoRepository, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.certificacaoRepository = certificacaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    // Roda antes de o servidor web aceitar requisições: com o dicionário ainda vazio, todo nome seria conferido no
+    // banco, e um cadastro durante a migração da tabela legada veria o catálogo pela metade.
+    @Override
+    public void afterSingletonsInstantiated() {
+        transacao.executeWithoutResult(status -> carregar());
+    }
+
+    void carregar() {
+        migrarTabelaLegada();
+        Map<Long, String> nomes = new HashMap<>();
+        Map<String, Long> ids = new HashMap<>();
+        for (Certificacao certificacao : certificacaoRepository.findAll()) {
+            nomes.put(certificacao.getId(), certificacao.getNome());
+            ids.put(certificacao.getNome(), certificacao.getId());
+        }
+        dicionario = new Dicionario(Map.copyOf(nomes), Map.copyOf(ids));
+    }
+
+    // Ids fora do dicionário podem ter sido criados em outra instância: são buscados no catálogo antes de montar os nomes.
+    public Set<String> nomes(Collection<Long> ids) {
+        Map<Long, String> nomesPorId = dicionario.nomesPorId();
+        List<Long> ausentes = ids.stream().filter(id -> !nomesPorId.containsKey(id)).distinct().toList();
+        if (!ausentes.isEmpty()) {
+            return nomes(ids, incluir(certificacaoRepository.findAllById(ausentes)).nomesPorId());
+        }
+        return nomes(ids, nomesPorId);
+    }
+
+    private static Set<String> nomes(Collection<Long> ids, Map<Long, String> nomesPorId) {
+        Set<String> nomes = new LinkedHashSet<>();
+        for (Long id : ids) {
+            String nome = nomesPorId.get(id);
+            if (nome != null) {
+                nomes.add(nome);
+            }
+        }
+        return nomes;
+    }
+
+    // Nulo para nomes que não estão no catálogo; uma falta no dicionário é conferida no banco.
+    public Long idExistente(String nome) {
+        Long id = dicionario.idsPorNome().get(nome);
+        if (id != null || nome == null) {
+            return id;
+        }
+        return certificacaoRepository.findByNome(nome)
+                .map(certificacao -> incluir(List.of(certificacao)).idsPorNome().get(nome))
+                .orElse(null);
+    }
+
+    // Id já existente no catálogo ou recém-criado.
+    public Long idDe(String nome) {
+        if (nome == null || nome.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nome da certificação não informado.");
+        }
+        Long id = dicionario.idsPorNome().get(nome);
+        if (id != null) {
+            return id;
+        }
+        certificacaoRepository.inserirSeAusente(nome);
+        return incluir(List.of(certificacaoRepository.findByNome(nome).orElseThrow())).idsPorNome().get(nome);
+    }
+
+    private synchronized Dicionario incluir(List<Certificacao> certificacoes) {
+        Dicionario atual = dicionario;
+        if (certificacoes.isEmpty()) {
+            return atual;
+        }
+        Map<Long, String> nomes = new HashMap<>(atual.nomesPorId());
+        Map<String, Long> ids = new HashMap<>(atual.idsPorNome());
+        for (Certificacao certificacao : certificacoes) {
+            nomes.put(certificacao.getId(), certificacao.getNome());
+            ids.put(certificacao.getNome(), certificacao.getId());
+        }
+        dicionario = new Dicionario(Map.copyOf(nomes), Map.copyOf(ids));
+        return dicionario;
+    }
+
+    // Converte a antiga coleção de strings (nutricionista_certificacoes) para catálogo + ids, uma única vez.
+    private void migrarTabelaLegada() {
+        List<String> legada = jdbcTemplate.queryForList(
+                "select table_name from information_schema.tables where lower(table_name) = 'nutricionista_certificacoes'", String.class);
+        if (legada.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                insert into certificacao (nome)
+                select distinct certificacoes from nutricionista_certificacoes where certificacoes is not null
+                on conflict (nome) do nothing
+                """);
+        int migradas = jdbcTemplate.update("""
+                insert into nutricionista_certificacao (id_nutricionista, id_certificacao)
+                select l.nutricionista_id_nutricionista, c.id
+                from nutricionista_certificacoes l join certificacao c on c.nome = l.certificacoes
+                on conflict do nothing
+                """);
+        jdbcTemplate.execute("drop table nutricionista_certificacoes");
+        log.info("Certificações migradas para o catálogo: {} vínculos.", migradas);
+    }
+
+    private record Dicionario(Map<Long, String> nomesPorId, Map<String, Long> idsPorNome) {
+    }
+}
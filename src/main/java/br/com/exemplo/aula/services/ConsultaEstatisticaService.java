@@ -0,0 +1,87 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO;
+import br.com.exemplo.aula.entities.ConsultaEstatistica;
+import br.com.exemplo.aula.events.ConsultaRemovidaEvent;
+import br.com.exemplo.aula.events.ConsultasSalvasEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.repositories.ConsultaEstatisticaRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Contagens de consultas por dia/mês e nutricionista. As linhas são ajustadas a cada consulta
+// criada ou removida; a reconstrução recalcula tudo a partir da tabela consulta. Consultas arquivadas
+// (consulta_arquivo) não entram: o arquivamento remove as contagens dos meses que arquiva (ver ConsultaParticaoService).
+// Os ajustes são síncronos e entram na mesma transação da escrita: depois do commit, um ajuste parado no lock da
+// reconstrução seria aplicado em cima de uma contagem que já incluía a consulta.
+@Service
+public class ConsultaEstatisticaService {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private final ConsultaEstatisticaRepository consultaEstatisticaRepository;
+
+    public ConsultaEstatisticaService(ConsultaEstatisticaRepository consultaEstatisticaRepository) {
+        this.consultaEstatisticaRepository = consultaEstatisticaRepository;
+    }
+
+    public List<ConsultaEstatisticaDTO> buscarEstatisticas(ConsultaEstatistica.Granularidade granularidade, LocalDate de, LocalDate ate,
+                                                           Long idNutricionista, String especialidade, boolean porEspecialidade) {
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = de != null ? de
+                : granularidade == ConsultaEstatistica.Granularidade.MES ? fim.minusMonths(12) : fim.minusDays(30);
+        if (granularidade == ConsultaEstatistica.Granularidade.MES) {
+            inicio = inicio.withDayOfMonth(1);
+        }
+        if (porEspecialidade) {
+            return consultaEstatisticaRepository.buscarPorEspecialidade(granularidade, inicio, fim, especialidade);
+        }
+        return consultaEstatisticaRepository.buscarPorNutricionista(granularidade, inicio, fim, idNutricionista, especialidade);
+    }
+
+    // Recalcula todas as linhas. O lock espera as escritas que já ajustaram a tabela (e entram na contagem) e segura
+    // as demais, que só ajustam depois da reconstrução e não estavam commitadas quando a contagem foi feita.
+    @Transactional
+    public void reconstruir() {
+        consultaEstatisticaRepository.bloquear();
+        consultaEstatisticaRepository.removerTodas();
+        consultaEstatisticaRepository.inserirTodas();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregarEstatisticas() {
+        if (consultaEstatisticaRepository.count() == 0) {
+            consultaEstatisticaRepository.inserirTodas();
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void aoSalvarConsultas(ConsultasSalvasEvent evento) {
+        List<Long> ids = evento.getIds();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            consultaEstatisticaRepository.incrementar(ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size())));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void aoRemoverConsulta(ConsultaRemovidaEvent evento) {
+        if (evento.getIdNutricionista() != null && evento.getData() != null) {
+            consultaEstatisticaRepository.decrementar(evento.getIdNutricionista(), evento.getData());
+        }
+    }
+
+    // A especialidade é copiada para as linhas do nutricionista; ao mudar, todas passam para a nova.
+    @EventListener
+    @Transactional
+    public void aoSalvarNutricionista(NutricionistaSalvoEvent evento) {
+        consultaEstatisticaRepository.atualizarEspecialidade(evento.getId(), evento.getEspecialidade());
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.exemplo.aula.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Particionamento mensal da tabela consulta por data (PostgreSQL). O nome da tabela não muda,
+// então o ConsultaRepository continua igual e filtros por data fazem partition pruning.
+// Meses antigos são desanexados e movidos para consulta_arquivo; consultas arquivadas saem dos modelos de leitura
+// (consulta_resumo e consulta_estatistica), que são sempre calculados só a partir de consulta.
+@Service
+@ConditionalOnProperty(name = "consulta.particionamento.habilitado", havingValue = "true")
+public class ConsultaParticaoService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaParticaoService.class);
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern NOME_PARTICAO = Pattern.compile("consulta_p(\\d{6})");
+    // As cópias listam as colunas: consulta_arquivo é criada uma vez, e uma coluna nova em consulta mudaria a ordem.
+    // Coluna acrescentada à entidade Consulta precisa entrar aqui e em consulta_arquivo.
+    private static final String COLUNAS = "id, data, hora_inicio, hora_fim, observacoes, nutricionista_id_nutricionista, id_paciente";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int mesesAFrente;
+    private final int arquivarAposMeses;
+
+    public ConsultaParticaoService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   @Value("${consulta.particionamento.meses-a-frente:3}") int mesesAFrente,
+                                   @Value("${consulta.particionamento.arquivar-apos-meses:24}") int arquivarAposMeses) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mesesAFrente = mesesAFrente;
+        this.arquivarAposMeses = arquivarAposMeses;
+    }
+
+    // Roda antes de o servidor web aceitar requisições: a conversão segura consulta em ACCESS EXCLUSIVE durante a
+    // cópia, e com a instância já no ar toda requisição de consulta ficaria parada nesse lock.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!estaParticionada()) {
+            transactionTemplate.executeWithoutResult(status -> converterTabela());
+        }
+        criarParticoesFuturas();
+    }
+
+    public boolean estaParticionada() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('consulta'))", Boolean.class));
+    }
+
+    // Recria consulta como tabela particionada e copia as linhas, tudo em uma transação (bloqueia a tabela durante a cópia).
+    private void converterTabela() {
+        jdbcTemplate.execute("lock table consulta in access exclusive mode");
+        Long semData = jdbcTemplate.queryForObject("select count(*) from consulta where data is null", Long.class);
+        if (semData != null && semData > 0) {
+            log.warn("Particionamento de consulta não aplicado: {} consultas sem data.", semData);
+            return;
+        }
+
+        jdbcTemplate.execute("alter table consulta rename to consulta_legado");
+        jdbcTemplate.execute("alter table consulta_legado drop constraint if exists consulta_pkey");
+        jdbcTemplate.execute("drop index if exists idx_consulta_nutricionista_data");
+        jdbcTemplate.execute("drop index if exists idx_consulta_paciente_data");
+
+        jdbcTemplate.execute("create table consulta (like consulta_legado including defaults) partition by range (data)");
+        jdbcTemplate.execute("alter table consulta alter column data set not null");
+        jdbcTemplate.execute("alter table consulta add primary key (id, data)");
+        jdbcTemplate.execute("alter table consulta add foreign key (nutricionista_id_nutricionista) references nutricionista (id_nutricionista)");
+        jdbcTemplate.execute("alter table consulta add foreign key (id_paciente) references paciente (id_paciente)");
+        jdbcTemplate.execute("create index idx_consulta_nutricionista_data on consulta (nutricionista_id_nutricionista, data, id, id_paciente)");
+        jdbcTemplate.execute("create index idx_consulta_paciente_data on consulta (id_paciente, data, id, nutricionista_id_nutricionista)");
+        jdbcTemplate.execute("create table consulta_padrao partition of consulta default");
+
+        LocalDate menorData = jdbcTemplate.queryForObject("select min(data) from consulta_legado", LocalDate.class);
+        YearMonth mes = menorData != null ? YearMonth.from(menorData) : YearMonth.now();
+        YearMonth ultimo = YearMonth.now().plusMonths(mesesAFrente);
+        for (; !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+            jdbcTemplate.execute("create table " + nomeParticao(mes) + " partition of consulta for values from ('"
+                    + mes.atDay(1) + "') to ('" + mes.plusMonths(1).atDay(1) + "')");
+        }
+
+        int copiadas = jdbcTemplate.update("insert into consulta (" + COLUNAS + ") select " + COLUNAS + " from consulta_legado");
+        jdbcTemplate.execute("drop table consulta_legado");
+        log.info("Tabela consulta particionada por mês; {} consultas copiadas.", copiadas);
+    }
+
+    // Garante as partições dos próximos meses; linhas que tenham caído na partição padrão são movidas para a nova.
+    @Scheduled(cron = "${consulta.particionamento.cron-criacao:0 0 3 * * *}")
+    public void criarParticoesFuturas() {
+        if (!estaParticionada()) {
+            return;
+        }
+        YearMonth ultimo = YearMonth.now().plusMonths(mesesAFrente);
+        for (YearMonth mes = YearMonth.now(); !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+            YearMonth alvo = mes;
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, nomeParticao(alvo)))) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> anexarParticao(alvo));
+        }
+    }
+
+    private void anexarParticao(YearMonth mes) {
+        String nome = nomeParticao(mes);
+        String inicio = mes.atDay(1).toString();
+        String fim = mes.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.execute("create table " + nome + " (like consulta including defaults including constraints)");
+        jdbcTemplate.update("with movidas as (delete from consulta_padrao where data >= cast(? as date) and data < cast(? as date) returning "
+                + COLUNAS + ") insert into " + nome + " (" + COLUNAS + ") select " + COLUNAS + " from movidas", inicio, fim);
+        jdbcTemplate.execute("alter table consulta attach partition " + nome
+                + " for values from ('" + inicio + "') to ('" + fim + "')");
+    }
+
+    // Cada mês antigo é desanexado, copiado em ordem de data para consulta_arquivo e removido, em transação própria.
+    @Scheduled(cron = "${consulta.particionamento.cron-arquivamento:0 30 3 1 * *}")
+    public void arquivarParticoesAntigas() {
+        if (!estaParticionada()) {
+            return;
+        }
+        YearMonth limite = YearMonth.now().minusMonths(arquivarAposMeses);
+        criarTabelaArquivo();
+
+        List<String> particoes = jdbcTemplate.queryForList("""
+                select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+                where i.inhparent = to_regclass('consulta')
+                order by c.relname
+                """, String.class);
+        for (String particao : particoes) {
+            Matcher matcher = NOME_PARTICAO.matcher(particao);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), SUFIXO).isBefore(limite)) {
+                continue;
+            }
+            YearMonth mes = YearMonth.parse(matcher.group(1), SUFIXO);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("alter table consulta detach partition " + particao);
+                // A partição é o mês inteiro: as contagens de dia e de mês desse período eram todas dela.
+                jdbcTemplate.update("delete from consulta_estatistica where periodo >= cast(? as date) and periodo < cast(? as date)",
+                        mes.atDay(1).toString(), mes.plusMonths(1).atDay(1).toString());
+                int arquivadas = jdbcTemplate.update("insert into consulta_arquivo (" + COLUNAS + ") select " + COLUNAS
+                        + " from " + particao + " order by data, id");
+                jdbcTemplate.update("delete from consulta_resumo r using " + particao + " p where r.id = p.id");
+                jdbcTemplate.execute("drop table " + particao);
+                log.info("Partição {} arquivada ({} consultas).", particao, arquivadas);
+            });
+        }
+
+        // Consultas antigas que caíram na partição padrão (meses sem partição própria).
+        transactionTemplate.executeWithoutResult(status -> {
+            String corte = limite.atDay(1).toString();
+            jdbcTemplate.update("delete from consulta_resumo r using consulta_padrao p where r.id = p.id and p.data < cast(? as date)", corte);
+            // Antes do corte só restam contagens de consultas já arquivadas; o corte é início de mês, então vale também
+            // para as linhas de mês.
+            jdbcTemplate.update("delete from consulta_estatistica where periodo < cast(? as date)", corte);
+            jdbcTemplate.update("with movidas as (delete from consulta_padrao where data < cast(? as date) returning " + COLUNAS + ") "
+                    + "insert into consulta_arquivo (" + COLUNAS + ") select " + COLUNAS + " from movidas order by data, id", corte);
+        });
+    }
+
+    // PostgreSQL não comprime linhas pequenas no heap: a tabela de arquivo é densa (fillfactor 100),
+    // recebe as linhas em ordem de data e usa BRIN, que ocupa poucas páginas para dados ordenados.
+    private void criarTabelaArquivo() {
+        jdbcTemplate.execute("create table if not exists consulta_arquivo (like consulta including defaults) with (fillfactor = 100)");
+        jdbcTemplate.execute("create index if not exists idx_consulta_arquivo_data on consulta_arquivo using brin (data)");
+        jdbcTemplate.execute("create index if not exists idx_consulta_arquivo_id on consulta_arquivo (id)");
+    }
+
+    private String nomeParticao(YearMonth mes) {
+        return "consulta_p" + mes.format(SUFIXO);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.events.ConsultaRemovidaEvent;
+import br.com.exemplo.aula.events.ConsultasSalvasEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.events.PacienteSalvoEvent;
+import br.com.exemplo.aula.events.PacientesMescladosEvent;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Mantém a tabela consulta_resumo. Os eventos são aplicados após o commit da escrita
+// (ou imediatamente, quando publicados fora de transação), cada um em transação própria.
+@Service
+public class ConsultaResumoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaResumoService.class);
+    private static final int TAMANHO_LOTE = 500;
+
+    private final ConsultaResumoRepository consultaResumoRepository;
+
+    public ConsultaResumoService(ConsultaResumoRepository consultaResumoRepository) {
+        this.consultaResumoRepository = consultaResumoRepository;
+    }
+
+    // Primeira carga: preenche o modelo de leitura a partir das consultas existentes.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregarResumo() {
+        if (consultaResumoRepository.count() == 0) {
+            consultaResumoRepository.inserirTodas();
+        }
+    }
+
+    // Se um listener falhar depois do commit da escrita, o resumo fica divergente; a reconciliação periódica
+    // compara com consulta e corrige só as linhas diferentes. Também pode ser chamada sob demanda.
+    @Scheduled(cron = "${consulta.resumo.cron-reconciliacao:0 0 4 * * *}")
+    @Transactional
+    public int reconciliarResumo() {
+        int corrigidas = consultaResumoRepository.removerOrfaos() + consultaResumoRepository.removerDivergentes();
+        int inseridas = consultaResumoRepository.inserirFaltantes();
+        if (corrigidas > 0 || inseridas > 0) {
+            log.warn("consulta_resumo reconciliada: {} linhas órfãs ou divergentes removidas, {} inseridas.", corrigidas, inseridas);
+        }
+        return corrigidas + inseridas;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoSalvarConsultas(ConsultasSalvasEvent evento) {
+        List<Long> ids = evento.getIds();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+            consultaResumoRepository.removerPorIds(lote);
+            consultaResumoRepository.inserirDeConsultas(lote);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoRemoverConsulta(ConsultaRemovidaEvent evento) {
+        consultaResumoRepository.removerPorIds(List.of(evento.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoSalvarNutricionista(NutricionistaSalvoEvent evento) {
+        consultaResumoRepository.atualizarNomeNutricionista(evento.getId(), evento.getNome());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoSalvarPaciente(PacienteSalvoEvent evento) {
+        consultaResumoRepository.atualizarNomePaciente(evento.getId(), evento.getNome());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoMesclarPacientes(PacientesMescladosEvent evento) {
+        evento.getMantidoPorDuplicado().forEach(consultaResumoRepository::reatribuirPaciente);
+    }
+}
@@ -1,72 +1,380 @@
 package br.com.exemplo.aula.services;
 
+import br.com.exemplo.aula.config.MetricasConfig;
+import br.com.exemplo.aula.controllers.dto.ConsultaFatiaDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaLoteItemDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaPaginaDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaRequestDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaResponseDTO;
 import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.controllers.dto.HorarioDisponivelDTO;
+import br.com.exemplo.aula.controllers.dto.HorarioLivreDTO;
 import br.com.exemplo.aula.entities.Consulta;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.events.ConsultaRemovidaEvent;
+import br.com.exemplo.aula.events.ConsultasSalvasEvent;
 import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
 import br.com.exemplo.aula.repositories.NutricionistaRepository;
 import br.com.exemplo.aula.repositories.PacienteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Cada método público vira um timer (tags class e method), ver MetricasConfig.
+@Timed(MetricasConfig.SERVICOS)
 @Service
 public class ConsultaService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+    private static final int TAMANHO_LOTE = 500;
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
     private final ConsultaRepository consultaRepository;
+    private final ConsultaResumoRepository consultaResumoRepository;
     private final NutricionistaRepository nutricionistaRepository;
     private final PacienteRepository pacienteRepository;
+    private final AgendaService agendaService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public ConsultaService(ConsultaRepository consultaRepository, NutricionistaRepository nutricionistaRepository, PacienteRepository pacienteRepository) {
+    public ConsultaService(ConsultaRepository consultaRepository, ConsultaResumoRepository consultaResumoRepository,
+                           NutricionistaRepository nutricionistaRepository, PacienteRepository pacienteRepository,
+                           AgendaService agendaService, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
         this.consultaRepository = consultaRepository;
+        this.consultaResumoRepository = consultaResumoRepository;
         this.nutricionistaRepository = nutricionistaRepository;
         this.pacienteRepository = pacienteRepository;
+        this.agendaService = agendaService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
-    // Listar consultas apenas com Data/Hora, nome de Nutricionista e nome de Paciente.
+    // Listar consultas apenas com Data/Hora, nome de Nutricionista e nome de Paciente (lidos de consulta_resumo, sem joins).
     public List<ConsultaResponseListDTO> listarConsultas() {
-        return consultaRepository.findAll().stream().map(
-                consulta -> new ConsultaResponseListDTO(
+        return consultaResumoRepository.listarResumo();
+    }
+
+    public ConsultaFatiaDTO listarPorNutricionista(Long idNutricionista, LocalDate de, LocalDate ate, int pagina, int tamanho) {
+        PageRequest pageRequest = paginaLimitada(pagina, tamanho);
+        Slice<ConsultaResponseListDTO> fatia = consultaRepository.buscarPorNutricionista(idNutricionista,
+                de != null ? de : DATA_MINIMA, ate != null ? ate : DATA_MAXIMA, pageRequest);
+        return new ConsultaFatiaDTO(fatia.getContent(), fatia.getNumber(), fatia.getSize(), fatia.hasNext());
+    }
+
+    public ConsultaFatiaDTO listarPorPaciente(Long idPaciente, LocalDate de, LocalDate ate, int pagina, int tamanho) {
+        PageRequest pageRequest = paginaLimitada(pagina, tamanho);
+        Slice<ConsultaResponseListDTO> fatia = consultaRepository.buscarPorPaciente(idPaciente,
+                de != null ? de : DATA_MINIMA, ate != null ? ate : DATA_MAXIMA, pageRequest);
+        return new ConsultaFatiaDTO(fatia.getContent(), fatia.getNumber(), fatia.getSize(), fatia.hasNext());
+    }
+
+    private PageRequest paginaLimitada(int pagina, int tamanho) {
+        return PageRequest.of(Math.max(pagina, 0), Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA));
+    }
+
+    public ConsultaPaginaDTO listarConsultasPaginadas(int tamanho, String next, LocalDate de, LocalDate ate) {
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+        LocalDate cursorData = de != null ? de : DATA_MINIMA;
+        long cursorId = 0L;
+        if (next != null) {
+            String[] cursor = decodificarCursor(next);
+            cursorData = LocalDate.parse(cursor[0]);
+            cursorId = Long.parseLong(cursor[1]);
+        }
+
+        // Uma linha a mais só para saber se há próxima página; sem ela, a última página cheia levaria a uma vazia.
+        List<ConsultaResponseListDTO> consultas = consultaResumoRepository.buscarPagina(
+                cursorData, cursorId, ate != null ? ate : DATA_MAXIMA, Limit.of(limite + 1));
+
+        String proximo = null;
+        if (consultas.size() > limite) {
+            consultas = consultas.subList(0, limite);
+            ConsultaResponseListDTO ultima = consultas.get(limite - 1);
+            proximo = codificarCursor(ultima.getData(), ultima.getId());
+        }
+        return new ConsultaPaginaDTO(consultas, proximo);
+    }
+
+    // Exporta todas as consultas linha a linha; cada entidade é desanexada após escrita para manter a memória constante.
+    @Transactional(readOnly = true)
+    public void exportarConsultas(String formato, OutputStream saida) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Sem isso o Jackson separa valores raiz seguidos com um espaço, que iria no início de cada linha.
+        generator.setRootValueSeparator(null);
+        if (csv) {
+            writer.write("id,nomeNutricionista,nomePaciente,data\n");
+        }
+
+        try (Stream<Consulta> consultas = consultaRepository.streamTodas()) {
+            for (Consulta consulta : (Iterable<Consulta>) consultas::iterator) {
+                Nutricionista nutricionista = consulta.getNutricionista();
+                Paciente paciente = consulta.getPaciente();
+                ConsultaResponseListDTO linha = new ConsultaResponseListDTO(
                         consulta.getId(),
-                        consulta.getNutricionista().getNome(),
-                        consulta.getPaciente().getNome(),
+                        nutricionista != null ? nutricionista.getNome() : null,
+                        paciente != null ? paciente.getNome() : null,
                         consulta.getData()
-                )
-        ).collect(Collectors.toList());
+                );
+                if (csv) {
+                    escreverCsv(writer, linha);
+                } else {
+                    objectMapper.writeValue(generator, linha);
+                    generator.flush();
+                    writer.write('\n');
+                }
+                entityManager.detach(consulta);
+                if (nutricionista != null) {
+                    entityManager.detach(nutricionista);
+                }
+                if (paciente != null) {
+                    entityManager.detach(paciente);
+                }
+            }
+        }
+        writer.flush();
+    }
 
+    private void escreverCsv(Writer writer, ConsultaResponseListDTO linha) throws IOException {
+        writer.write(String.valueOf(linha.getId()));
+        writer.write(',');
+        writer.write(campoCsv(linha.getNomeNutricionista()));
+        writer.write(',');
+        writer.write(campoCsv(linha.getNomePaciente()));
+        writer.write(',');
+        writer.write(linha.getData() != null ? linha.getData().toString() : "");
+        writer.write('\n');
     }
 
+    private String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0 || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+        return valor;
+    }
+
+    private String codificarCursor(LocalDate data, Long id) {
+        String cursor = data + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodificarCursor(String next) {
+        try {
+            String[] cursor = new String(Base64.getUrlDecoder().decode(next), StandardCharsets.UTF_8).split(":");
+            LocalDate.parse(cursor[0]);
+            Long.parseLong(cursor[1]);
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido.");
+        }
+    }
+
+    // Detalhe montado por uma única consulta de projeção, sem carregar as entidades associadas.
     public ConsultaResponseDTO buscarConsulta(Long id){
-        Consulta consulta = consultaRepository.findById(id).orElse(null);
-        if (consulta != null) {
-            return new ConsultaResponseDTO(
-                    consulta.getId(),
-                    consulta.getNutricionista(),
-                    consulta.getPaciente(),
-                    consulta.getData(),
-                    consulta.getObservacoes()
-            );
+        return consultaRepository.buscarDetalhe(id).orElse(null);
+    }
+
+    // Sparse fieldset: busca só as colunas pedidas e serializa com os mesmos formatos do ConsultaResponseDTO.
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> buscarConsulta(Long id, Collection<String> campos) {
+        if (!ConsultaRepository.CAMPOS_DETALHE.containsAll(campos)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Campos permitidos: " + String.join(", ", ConsultaRepository.CAMPOS_DETALHE));
         }
-        return null;
+        Map<String, Object> valores = consultaRepository.buscarCampos(id, campos);
+        if (valores == null) {
+            return null;
+        }
+        ConsultaResponseDTO parcial = new ConsultaResponseDTO();
+        new BeanWrapperImpl(parcial).setPropertyValues(valores);
+        Map<String, Object> formatados = objectMapper.convertValue(parcial, Map.class);
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        for (String campo : campos) {
+            resposta.put(campo, formatados.get(campo));
+        }
+        return resposta;
     }
 
+    // Transacional para que as estatísticas sejam ajustadas junto com o insert (ver ConsultaEstatisticaService).
+    @Transactional
     public ConsultaResponseDTO salvarConsulta(ConsultaRequestDTO request) {
+        // A data faz parte da chave da tabela particionada.
+        if (request.getData() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data da consulta não informada.");
+        }
         Consulta consulta = mapearRequest(request);
+        List<AgendaService.Reserva> reservas = new ArrayList<>();
+        devolverReservasSeDesfeita(reservas);
+        AgendaService.Reserva reserva = reservarHorario(request);
+        if (reserva != null) {
+            reservas.add(reserva);
+        }
         Consulta entitySalva = consultaRepository.save(consulta);
+        agendaService.confirmar(reserva, entitySalva.getId());
+        eventPublisher.publishEvent(new ConsultasSalvasEvent(List.of(entitySalva.getId())));
 
+        Nutricionista nutricionista = entitySalva.getNutricionista();
+        Paciente paciente = entitySalva.getPaciente();
         return new ConsultaResponseDTO(entitySalva.getId(),
-                entitySalva.getNutricionista(),
-                entitySalva.getPaciente(),
+                nutricionista != null ? nutricionista.getId() : null,
+                nutricionista != null ? nutricionista.getNome() : null,
+                paciente != null ? paciente.getId() : null,
+                paciente != null ? paciente.getNome() : null,
                 entitySalva.getData(),
+                entitySalva.getHoraInicio(),
+                entitySalva.getHoraFim(),
                 entitySalva.getObservacoes()
         );
     }
 
+    // Agendamento em massa: ids de nutricionista/paciente resolvidos com um IN por lote e inserts agrupados pelo JDBC batch.
+    @Transactional
+    public List<ConsultaLoteItemDTO> salvarConsultas(List<ConsultaRequestDTO> requests) {
+        List<AgendaService.Reserva> reservas = new ArrayList<>();
+        devolverReservasSeDesfeita(reservas);
+
+        List<ConsultaLoteItemDTO> resultados = new ArrayList<>(requests.size());
+        for (int inicio = 0; inicio < requests.size(); inicio += TAMANHO_LOTE) {
+            List<ConsultaRequestDTO> lote = requests.subList(inicio, Math.min(inicio + TAMANHO_LOTE, requests.size()));
+            resultados.addAll(salvarLote(lote, inicio, reservas));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        List<Long> idsSalvos = resultados.stream().map(ConsultaLoteItemDTO::getId).filter(Objects::nonNull).toList();
+        if (!idsSalvos.isEmpty()) {
+            eventPublisher.publishEvent(new ConsultasSalvasEvent(idsSalvos));
+        }
+        return resultados;
+    }
+
+    // Se a transação for desfeita, os horários reservados na agenda em memória são devolvidos.
+    private void devolverReservasSeDesfeita(List<AgendaService.Reserva> reservas) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reservas.forEach(agendaService::cancelar);
+                }
+            }
+        });
+    }
+
+    private List<ConsultaLoteItemDTO> salvarLote(List<ConsultaRequestDTO> lote, int deslocamento, List<AgendaService.Reserva> reservas) {
+        Set<Long> idsNutricionistas = new HashSet<>();
+        Set<Long> idsPacientes = new HashSet<>();
+        for (ConsultaRequestDTO request : lote) {
+            if (request.getIdNutricionista() != null) {
+                idsNutricionistas.add(request.getIdNutricionista());
+            }
+            if (request.getIdPaciente() != null) {
+                idsPacientes.add(request.getIdPaciente());
+            }
+        }
+        Set<Long> nutricionistasExistentes = new HashSet<>();
+        if (!idsNutricionistas.isEmpty()) {
+            nutricionistasExistentes.addAll(nutricionistaRepository.buscarIdsExistentes(idsNutricionistas));
+        }
+        Set<Long> pacientesExistentes = new HashSet<>();
+        if (!idsPacientes.isEmpty()) {
+            pacientesExistentes.addAll(pacienteRepository.buscarIdsExistentes(idsPacientes));
+        }
+
+        List<ConsultaLoteItemDTO> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            ConsultaRequestDTO request = lote.get(i);
+            String erro = null;
+            if (!nutricionistasExistentes.contains(request.getIdNutricionista())) {
+                erro = "Nutricionista não encontrado: " + request.getIdNutricionista();
+            } else if (!pacientesExistentes.contains(request.getIdPaciente())) {
+                erro = "Paciente não encontrado: " + request.getIdPaciente();
+            } else if (request.getData() == null) {
+                erro = "Data da consulta não informada.";
+            }
+
+            AgendaService.Reserva reserva = null;
+            if (erro == null) {
+                try {
+                    reserva = reservarHorario(request);
+                } catch (ResponseStatusException e) {
+                    erro = e.getReason();
+                }
+            }
+
+            if (erro != null) {
+                resultados.add(new ConsultaLoteItemDTO(deslocamento + i, null, erro));
+                continue;
+            }
+
+            Consulta consulta = new Consulta();
+            consulta.setData(request.getData());
+            consulta.setHoraInicio(request.getHoraInicio());
+            consulta.setHoraFim(request.getHoraFim());
+            consulta.setObservacoes(request.getObservacoes());
+            consulta.setNutricionista(nutricionistaRepository.getReferenceById(request.getIdNutricionista()));
+            consulta.setPaciente(pacienteRepository.getReferenceById(request.getIdPaciente()));
+            // O id já é alocado pela sequência no persist, antes do flush.
+            entityManager.persist(consulta);
+            if (reserva != null) {
+                reservas.add(reserva);
+                agendaService.confirmar(reserva, consulta.getId());
+            }
+            resultados.add(new ConsultaLoteItemDTO(deslocamento + i, consulta.getId(), null));
+        }
+        return resultados;
+    }
+
     private Consulta mapearRequest(ConsultaRequestDTO source){
         Consulta target = new Consulta();
         target.setData(source.getData());
+        target.setHoraInicio(source.getHoraInicio());
+        target.setHoraFim(source.getHoraFim());
         target.setObservacoes(source.getObservacoes());
         target.setNutricionista(nutricionistaRepository.findById(source.getIdNutricionista()).orElse(null));
         target.setPaciente(pacienteRepository.findById(source.getIdPaciente()).orElse(null));
@@ -74,8 +382,71 @@ public class ConsultaService {
     }
 
 
-    public void deletarConsulta(long l) {
-        consultaRepository.deleteById(l);
+    public boolean horarioDisponivel(Long idNutricionista, LocalDate data, LocalTime horaInicio, LocalTime horaFim) {
+        return agendaService.estaLivre(idNutricionista, LocalDateTime.of(data, horaInicio), LocalDateTime.of(data, horaFim));
+    }
+
+    public List<HorarioLivreDTO> listarHorariosLivres(Long idNutricionista, LocalDate data, int duracaoMinutos) {
+        if (duracaoMinutos <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A duração deve ser maior que zero.");
+        }
+        Duration duracao = Duration.ofMinutes(duracaoMinutos);
+        return agendaService.horariosLivres(idNutricionista, data, duracao, Integer.MAX_VALUE).stream()
+                .map(inicio -> new HorarioLivreDTO(data, inicio.toLocalTime(), inicio.plus(duracao).toLocalTime()))
+                .toList();
+    }
+
+    public List<HorarioDisponivelDTO> buscarDisponibilidade(String especialidade, LocalDate desde, int duracaoMinutos, int quantidade) {
+        if (duracaoMinutos <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A duração deve ser maior que zero.");
+        }
+        Map<Long, String> nomes = nutricionistaRepository.findByEspecialidade(especialidade).stream()
+                .collect(Collectors.toMap(Nutricionista::getId, Nutricionista::getNome));
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime inicio = desde == null || desde.atStartOfDay().isBefore(agora) ? agora : desde.atStartOfDay();
+        Duration duracao = Duration.ofMinutes(duracaoMinutos);
 
+        return agendaService.proximosHorariosLivres(List.copyOf(nomes.keySet()), inicio, duracao, quantidade).stream()
+                .map(horario -> new HorarioDisponivelDTO(
+                        horario.getIdNutricionista(),
+                        nomes.get(horario.getIdNutricionista()),
+                        horario.getInicio().toLocalDate(),
+                        horario.getInicio().toLocalTime(),
+                        horario.getFim().toLocalTime()
+                ))
+                .toList();
+    }
+
+    // Consultas sem horário definido continuam aceitas e não ocupam a agenda.
+    private AgendaService.Reserva reservarHorario(ConsultaRequestDTO request) {
+        if (request.getHoraInicio() == null && request.getHoraFim() == null) {
+            return null;
+        }
+        if (request.getData() == null || request.getHoraInicio() == null || request.getHoraFim() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe data, hora de início e hora de fim da consulta.");
+        }
+        return agendaService.reservar(request.getIdNutricionista(),
+                LocalDateTime.of(request.getData(), request.getHoraInicio()),
+                LocalDateTime.of(request.getData(), request.getHoraFim()));
+    }
+
+    // A consulta é lida antes do delete para que o evento leve nutricionista e data às estatísticas.
+    @Transactional
+    public void deletarConsulta(long l) {
+        Consulta consulta = consultaRepository.findById(l).orElse(null);
+        if (consulta == null) {
+            return;
+        }
+        consultaRepository.delete(consulta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                agendaService.liberar(l);
+            }
+        });
+        Nutricionista nutricionista = consulta.getNutricionista();
+        eventPublisher.publishEvent(new ConsultaRemovidaEvent(l,
+                nutricionista != null ? nutricionista.getId() : null, consulta.getData()));
     }
 }
@@ -0,0 +1,34 @@
+package br.com.exemplo.aula.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// CPF é guardado só com os 11 dígitos: "000.000.000-00" e "00000000000" caem na mesma chave do índice único.
+public final class CpfUtil {
+
+    private CpfUtil() {
+    }
+
+    public static String normalizar(String cpf) {
+        if (cpf == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF não informado.");
+        }
+        StringBuilder digitos = new StringBuilder(11);
+        for (int i = 0; i < cpf.length(); i++) {
+            char caractere = cpf.charAt(i);
+            if (caractere >= '0' && caractere <= '9') {
+                digitos.append(caractere);
+            } else if (caractere != '.' && caractere != '-' && caractere != ' ') {
+                throw cpfInvalido();
+            }
+        }
+        if (digitos.length() != 11) {
+            throw cpfInvalido();
+        }
+        return digitos.toString();
+    }
+
+    private static ResponseStatusException cpfInvalido() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF deve conter 11 dígitos.");
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.controllers.dto.ExperienciaJobDTO;
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import br.com.exemplo.aula.events.ExperienciaIncrementadaEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Soma um ano de experiência a todos os nutricionistas ainda não atualizados no ano corrente.
+// Cada faixa de ids é um UPDATE em lote na sua própria transação; rodar de novo no mesmo ano não altera nada.
+@Service
+public class ExperienciaAnualService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExperienciaAnualService.class);
+
+    private final NutricionistaRepository nutricionistaRepository;
+    private final ColecaoVersaoRepository colecaoVersaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache cacheNutricionistas;
+    private final int tamanhoLote;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private volatile ExperienciaJobDTO ultimaExecucao;
+
+    public ExperienciaAnualService(NutricionistaRepository nutricionistaRepository, ColecaoVersaoRepository colecaoVersaoRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                                   @Value("${nutricionista.experiencia.lote:1000}") int tamanhoLote) {
+        this.nutricionistaRepository = nutricionistaRepository;
+        this.colecaoVersaoRepository = colecaoVersaoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheNutricionistas = cacheManager.getCache(CacheConfig.NUTRICIONISTAS);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(cron = "${nutricionista.experiencia.cron:0 0 2 1 1 *}")
+    public void executarAgendado() {
+        incrementar(false);
+    }
+
+    public ExperienciaJobDTO incrementar(boolean simulacao) {
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Incremento de experiência já está em execução.");
+        }
+        int ano = Year.now().getValue();
+        LocalDateTime inicio = LocalDateTime.now();
+        long afetados = 0;
+        int lotesProcessados = 0;
+        int totalLotes = 0;
+        try {
+            Long menorId = nutricionistaRepository.menorId();
+            Long maiorId = nutricionistaRepository.maiorId();
+            if (menorId != null) {
+                totalLotes = (int) ((maiorId - menorId) / tamanhoLote + 1);
+            }
+            atualizarProgresso(ExperienciaJobDTO.Status.EM_EXECUCAO, simulacao, ano, 0, totalLotes, 0, inicio, null);
+
+            for (long de = menorId != null ? menorId : 0; menorId != null && de <= maiorId; de += tamanhoLote) {
+                long primeiro = de;
+                long ultimo = de + tamanhoLote - 1;
+                Integer linhas = simulacao
+                        ? (int) nutricionistaRepository.contarSemIncrementoNoAno(primeiro, ultimo, ano)
+                        : transactionTemplate.execute(status -> incrementarLote(primeiro, ultimo, ano));
+                afetados += linhas != null ? linhas : 0;
+                if (!simulacao && linhas != null && linhas > 0) {
+                    // O lote já foi confirmado: DTOs em cache desses nutricionistas estão com a experiência antiga.
+                    cacheNutricionistas.clear();
+                }
+                lotesProcessados++;
+                atualizarProgresso(ExperienciaJobDTO.Status.EM_EXECUCAO, simulacao, ano, lotesProcessados, totalLotes, afetados, inicio, null);
+                log.info("Incremento de experiência{}: lote {}/{} (ids {}-{}), {} nutricionistas até agora.",
+                        simulacao ? " (simulação)" : "", lotesProcessados, totalLotes, primeiro, ultimo, afetados);
+            }
+
+            if (!simulacao && afetados > 0) {
+                eventPublisher.publishEvent(new ExperienciaIncrementadaEvent(null));
+            }
+            return atualizarProgresso(ExperienciaJobDTO.Status.CONCLUIDO, simulacao, ano, lotesProcessados, totalLotes, afetados,
+                    inicio, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            atualizarProgresso(ExperienciaJobDTO.Status.FALHOU, simulacao, ano, lotesProcessados, totalLotes, afetados,
+                    inicio, LocalDateTime.now());
+            throw e;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    // Lote e versão da coleção na mesma transação: a ETag da listagem muda junto com os dados.
+    private int incrementarLote(long primeiro, long ultimo, int ano) {
+        int linhas = nutricionistaRepository.incrementarExperienciaNoAno(primeiro, ultimo, ano);
+        if (linhas > 0) {
+            colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+        }
+        return linhas;
+    }
+
+    public ExperienciaJobDTO ultimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    private ExperienciaJobDTO atualizarProgresso(ExperienciaJobDTO.Status status, boolean simulacao, int ano, int lotesProcessados,
+                                                 int totalLotes, long afetados, LocalDateTime inicio, LocalDateTime fim) {
+        ExperienciaJobDTO progresso = new ExperienciaJobDTO(status, simulacao, ano, lotesProcessados, totalLotes, afetados, inicio, fim);
+        ultimaExecucao = progresso;
+        return progresso;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.repositories.NutricionistaNomeView;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Índice em memória nome -> id dos nutricionistas, usado para aceitar nomes novos sem ir ao banco.
+// É só um atalho: quem garante a unicidade é o índice único da coluna nome.
+@Component
+public class NomeNutricionistaIndice {
+
+    private final NutricionistaRepository nutricionistaRepository;
+
+    private final Map<String, Long> idsPorNome = new ConcurrentHashMap<>();
+    private final Map<Long, String> nomesPorId = new ConcurrentHashMap<>();
+
+    public NomeNutricionistaIndice(NutricionistaRepository nutricionistaRepository) {
+        this.nutricionistaRepository = nutricionistaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void carregar() {
+        idsPorNome.clear();
+        nomesPorId.clear();
+        try (Stream<NutricionistaNomeView> nomes = nutricionistaRepository.streamNomes()) {
+            nomes.forEach(nutricionista -> registrar(nutricionista.getId(), nutricionista.getNome()));
+        }
+    }
+
+    // Verdadeiro se o nome já pertence a outro nutricionista. O índice é local a cada instância e não vê renomeações
+    // feitas nas outras, então só a ausência é confiável (o índice único cobre o resto); quando ele aponta outro dono,
+    // o banco confirma antes de recusar e o índice é corrigido.
+    public boolean pertenceAOutro(String nome, Long id) {
+        if (nome == null) {
+            return false;
+        }
+        Long dono = idsPorNome.get(nome);
+        if (dono == null || dono.equals(id)) {
+            return false;
+        }
+        Optional<Long> donoAtual = nutricionistaRepository.buscarIdPorNome(nome);
+        if (donoAtual.isEmpty()) {
+            descartar(dono, nome);
+            return false;
+        }
+        registrar(donoAtual.get(), nome);
+        return !donoAtual.get().equals(id);
+    }
+
+    public synchronized void registrar(Long id, String nome) {
+        String anterior = nomesPorId.get(id);
+        if (anterior != null && !anterior.equals(nome)) {
+            idsPorNome.remove(anterior, id);
+        }
+        if (nome != null) {
+            nomesPorId.put(id, nome);
+            idsPorNome.put(nome, id);
+        }
+    }
+
+    private synchronized void descartar(Long id, String nome) {
+        idsPorNome.remove(nome, id);
+        nomesPorId.remove(id, nome);
+    }
+
+    public synchronized void remover(Long id) {
+        String nome = nomesPorId.remove(id);
+        if (nome != null) {
+            idsPorNome.remove(nome, id);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.events.CertificacaoAdicionadaEvent;
+import br.com.exemplo.aula.events.ExperienciaIncrementadaEvent;
+import br.com.exemplo.aula.events.NutricionistaRemovidoEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.repositories.NutricionistaBuscaView;
+import br.com.exemplo.aula.repositories.NutricionistaCertificacaoView;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido em memória para a busca de nutricionistas: cada termo (especialidade, certificação,
+// anos de experiência) aponta para um bitmap ordenado de ids. Buscas com vários critérios são interseções de bitmaps.
+@Component
+public class NutricionistaBuscaIndice implements SmartInitializingSingleton {
+
+    private final NutricionistaRepository nutricionistaRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap todos = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> porEspecialidade = new HashMap<>();
+    private final Map<Long, RoaringBitmap> porCertificacao = new HashMap<>();
+    private final NavigableMap<Integer, RoaringBitmap> porExperiencia = new TreeMap<>();
+
+    // Valores indexados de cada nutricionista, para remover os termos antigos em atualizações.
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+
+    public NutricionistaBuscaIndice(NutricionistaRepository nutricionistaRepository) {
+        this.nutricionistaRepository = nutricionistaRepository;
+    }
+
+    // Roda antes de o servidor web aceitar requisições: com o índice ainda vazio, a busca responderia sem nenhum
+    // nutricionista. Os callbacks seguem a ordem de registro dos beans, então a migração da tabela legada de
+    // certificações (CertificacaoCatalogo) já rodou.
+    @Override
+    public void afterSingletonsInstantiated() {
+        carregar();
+    }
+
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            todos.clear();
+            porEspecialidade.clear();
+            porCertificacao.clear();
+            porExperiencia.clear();
+            documentos.clear();
+            for (NutricionistaBuscaView nutricionista : nutricionistaRepository.listarBusca()) {
+                indexar(nutricionista.getId(), nutricionista.getEspecialidade(), nutricionista.getTempoExperiencia());
+            }
+            for (NutricionistaCertificacaoView vinculo : nutricionistaRepository.listarCertificacoes()) {
+                indexarCertificacao(vinculo.getIdNutricionista(), vinculo.getIdCertificacao());
+            }
+            todos.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Critérios nulos são ignorados; o resultado vem em ordem crescente de id, limitado a "limite" ids.
+    public List<Long> buscar(String especialidade, Long idCertificacao, Integer minExperiencia, int limite) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> criterios = new ArrayList<>();
+            if (especialidade != null) {
+                criterios.add(porEspecialidade.getOrDefault(normalizar(especialidade), new RoaringBitmap()));
+            }
+            if (idCertificacao != null) {
+                criterios.add(porCertificacao.getOrDefault(idCertificacao, new RoaringBitmap()));
+            }
+            if (minExperiencia != null) {
+                criterios.add(RoaringBitmap.or(porExperiencia.tailMap(minExperiencia, true).values().iterator()));
+            }
+
+            // Interseção começando pelo menor bitmap.
+            criterios.sort((a, b) -> Integer.compare(a.getCardinality(), b.getCardinality()));
+            RoaringBitmap resultado = criterios.isEmpty() ? todos.clone() : criterios.get(0).clone();
+            for (int i = 1; i < criterios.size() && !resultado.isEmpty(); i++) {
+                resultado.and(criterios.get(i));
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limite, resultado.getCardinality()));
+            var iterador = resultado.getIntIterator();
+            while (iterador.hasNext() && ids.size() < limite) {
+                ids.add((long) iterador.next());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarNutricionista(NutricionistaSalvoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            indexar(evento.getId(), evento.getEspecialidade(), evento.getTempoExperiencia());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAdicionarCertificacao(CertificacaoAdicionadaEvent evento) {
+        lock.writeLock().lock();
+        try {
+            indexarCertificacao(evento.getIdNutricionista(), evento.getIdCertificacao());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Incremento individual move o id para o próximo ano; o job em lote exige recarregar o índice.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoIncrementarExperiencia(ExperienciaIncrementadaEvent evento) {
+        if (evento.getIdNutricionista() == null) {
+            carregar();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(evento.getIdNutricionista());
+            Documento documento = documentos.get(id);
+            if (documento != null && documento.tempoExperiencia != null) {
+                removerDe(porExperiencia, documento.tempoExperiencia, id);
+                documento.tempoExperiencia++;
+                porExperiencia.computeIfAbsent(documento.tempoExperiencia, chave -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverNutricionista(NutricionistaRemovidoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            int id = Math.toIntExact(evento.getId());
+            Documento documento = documentos.remove(id);
+            if (documento != null) {
+                removerTermos(id, documento);
+                documento.certificacoes.forEach(certificacao -> removerDe(porCertificacao, certificacao, id));
+            }
+            todos.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexar(Long idNutricionista, String especialidade, int tempoExperiencia) {
+        int id = Math.toIntExact(idNutricionista);
+        Documento documento = documentos.computeIfAbsent(id, chave -> new Documento());
+        removerTermos(id, documento);
+        documento.especialidade = especialidade != null ? normalizar(especialidade) : null;
+        documento.tempoExperiencia = tempoExperiencia;
+        if (documento.especialidade != null) {
+            porEspecialidade.computeIfAbsent(documento.especialidade, chave -> new RoaringBitmap()).add(id);
+        }
+        porExperiencia.computeIfAbsent(tempoExperiencia, chave -> new RoaringBitmap()).add(id);
+        todos.add(id);
+    }
+
+    private void indexarCertificacao(Long idNutricionista, Long idCertificacao) {
+        int id = Math.toIntExact(idNutricionista);
+        Documento documento = documentos.get(id);
+        if (documento != null && documento.certificacoes.add(idCertificacao)) {
+            porCertificacao.computeIfAbsent(idCertificacao, chave -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void removerTermos(int id, Documento documento) {
+        if (documento.especialidade != null) {
+            removerDe(porEspecialidade, documento.especialidade, id);
+        }
+        if (documento.tempoExperiencia != null) {
+            removerDe(porExperiencia, documento.tempoExperiencia, id);
+        }
+    }
+
+    private <K> void removerDe(Map<K, RoaringBitmap> indice, K termo, int id) {
+        RoaringBitmap ids = indice.get(termo);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                indice.remove(termo);
+            }
+        }
+    }
+
+    private String normalizar(String termo) {
+        return termo.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Documento {
+        private String especialidade;
+        private Integer tempoExperiencia;
+        private final Set<Long> certificacoes = new HashSet<>();
+    }
+}
@@ -1,28 +1,71 @@
 package br.com.exemplo.aula.services;
 
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.config.MetricasConfig;
 import br.com.exemplo.aula.controllers.dto.NutricionistaRequestDTO;
 import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
+import br.com.exemplo.aula.entities.ColecaoVersao;
 import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.events.CertificacaoAdicionadaEvent;
+import br.com.exemplo.aula.events.ExperienciaIncrementadaEvent;
+import br.com.exemplo.aula.events.NutricionistaRemovidoEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaCertificacaoView;
 import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Cada método público vira um timer (tags class e method), ver MetricasConfig.
+@Timed(MetricasConfig.SERVICOS)
 @Service
 public class NutricionistaService {
 
     private final NutricionistaRepository nutricionistaRepository;
+    private final NomeNutricionistaIndice nomeNutricionistaIndice;
+    private final CertificacaoCatalogo certificacaoCatalogo;
+    private final NutricionistaBuscaIndice nutricionistaBuscaIndice;
+    private final NutricionistaTrigramaIndice nutricionistaTrigramaIndice;
+    private final ColecaoVersaoRepository colecaoVersaoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public NutricionistaService(NutricionistaRepository nutricionistaRepository) {
+    public NutricionistaService(NutricionistaRepository nutricionistaRepository, NomeNutricionistaIndice nomeNutricionistaIndice,
+                                CertificacaoCatalogo certificacaoCatalogo, NutricionistaBuscaIndice nutricionistaBuscaIndice,
+                                NutricionistaTrigramaIndice nutricionistaTrigramaIndice, ColecaoVersaoRepository colecaoVersaoRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.nutricionistaRepository = nutricionistaRepository;
+        this.nomeNutricionistaIndice = nomeNutricionistaIndice;
+        this.certificacaoCatalogo = certificacaoCatalogo;
+        this.nutricionistaBuscaIndice = nutricionistaBuscaIndice;
+        this.nutricionistaTrigramaIndice = nutricionistaTrigramaIndice;
+        this.colecaoVersaoRepository = colecaoVersaoRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Muda a cada escrita em nutricionistas; é a ETag da listagem.
+    public long versaoNutricionistas() {
+        return colecaoVersaoRepository.buscarVersao(ColecaoVersao.NUTRICIONISTAS).orElse(0L);
     }
 
     public List<NutricionistaResponseDTO> listarNutricionistas() {
-        return nutricionistaRepository.findAll().stream().map(
+        List<NutricionistaResponseDTO> nutricionistas = nutricionistaRepository.findAll().stream().map(
                 nutricionista -> new NutricionistaResponseDTO(
                         nutricionista.getId(),
                         nutricionista.getNome(),
@@ -32,12 +75,88 @@ public class NutricionistaService {
                         nutricionista.getEspecialidade()
                 )
         ).collect(Collectors.toList());
+        preencherCertificacoes(nutricionistas);
+        return nutricionistas;
+    }
+
+    // Filtros resolvidos no índice invertido em memória; o banco só é lido para montar os resultados.
+    public List<NutricionistaResponseDTO> buscarNutricionistas(String especialidade, String certificacao, Integer minExperiencia, int limite) {
+        Long idCertificacao = null;
+        if (certificacao != null) {
+            idCertificacao = certificacaoCatalogo.idExistente(certificacao);
+            if (idCertificacao == null) {
+                return List.of();
+            }
+        }
+        List<Long> ids = nutricionistaBuscaIndice.buscar(especialidade, idCertificacao, minExperiencia, limite);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<NutricionistaResponseDTO> nutricionistas = nutricionistaRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Nutricionista::getId))
+                .map(nutricionista -> new NutricionistaResponseDTO(
+                        nutricionista.getId(),
+                        nutricionista.getNome(),
+                        nutricionista.getMatricula(),
+                        nutricionista.getTempoExperiencia(),
+                        nutricionista.getCrn(),
+                        nutricionista.getEspecialidade()
+                ))
+                .collect(Collectors.toList());
+        preencherCertificacoes(nutricionistas);
+        return nutricionistas;
     }
 
+    // Busca aproximada por nome, na ordem de similaridade do índice de trigramas.
+    public List<NutricionistaResponseDTO> buscarPorNome(String nome, int limite) {
+        List<TrigramaIndice.Resultado> resultados = nutricionistaTrigramaIndice.buscar(nome, limite);
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Nutricionista> nutricionistasPorId = nutricionistaRepository.findAllById(
+                resultados.stream().map(TrigramaIndice.Resultado::id).toList()
+        ).stream().collect(Collectors.toMap(Nutricionista::getId, Function.identity()));
+        List<NutricionistaResponseDTO> nutricionistas = resultados.stream()
+                .map(resultado -> nutricionistasPorId.get(resultado.id()))
+                .filter(Objects::nonNull)
+                .map(nutricionista -> new NutricionistaResponseDTO(
+                        nutricionista.getId(),
+                        nutricionista.getNome(),
+                        nutricionista.getMatricula(),
+                        nutricionista.getTempoExperiencia(),
+                        nutricionista.getCrn(),
+                        nutricionista.getEspecialidade()
+                ))
+                .collect(Collectors.toList());
+        preencherCertificacoes(nutricionistas);
+        return nutricionistas;
+    }
+
+    // Uma consulta para os ids de certificação da lista inteira; os nomes saem do dicionário em memória.
+    private void preencherCertificacoes(List<NutricionistaResponseDTO> nutricionistas) {
+        List<Long> ids = nutricionistas.stream().map(NutricionistaResponseDTO::getId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> certificacoesPorNutricionista = new HashMap<>();
+        for (NutricionistaCertificacaoView vinculo : nutricionistaRepository.buscarCertificacoes(ids)) {
+            certificacoesPorNutricionista.computeIfAbsent(vinculo.getIdNutricionista(), id -> new ArrayList<>())
+                    .add(vinculo.getIdCertificacao());
+        }
+        for (NutricionistaResponseDTO nutricionista : nutricionistas) {
+            List<Long> idsCertificacoes = certificacoesPorNutricionista.get(nutricionista.getId());
+            if (idsCertificacoes != null) {
+                nutricionista.setCertificacoes(certificacaoCatalogo.nomes(idsCertificacoes));
+            }
+        }
+    }
+
+    // O DTO fica no cache já com as certificações; toda escrita no nutricionista invalida a entrada.
+    @Cacheable(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id", unless = "#result == null")
     public NutricionistaResponseDTO buscarNutricionista(Long id){
         Nutricionista nutricionista = nutricionistaRepository.findById(id).orElse(null);
         if (nutricionista != null) {
-            return new NutricionistaResponseDTO(
+            NutricionistaResponseDTO response = new NutricionistaResponseDTO(
                     nutricionista.getId(),
                     nutricionista.getNome(),
                     nutricionista.getMatricula(),
@@ -45,16 +164,23 @@ public class NutricionistaService {
                     nutricionista.getCrn(),
                     nutricionista.getEspecialidade()
             );
+            response.setVersao(nutricionista.getVersao());
+            response.setAtualizadoEm(nutricionista.getAtualizadoEm());
+            preencherCertificacoes(List.of(response));
+            return response;
         }
         return null;
     }
 
+    // Duplicados óbvios são recusados pelo índice em memória; os demais pelo índice único do banco.
     public NutricionistaResponseDTO salvarNutricionista(NutricionistaRequestDTO request) {
-        if (nutricionistaRepository.findByNome(request.getNome()).isPresent()) {
-            throw new RuntimeException("Já existe cadastro de nutricionista com este nome.");
+        if (nomeNutricionistaIndice.pertenceAOutro(request.getNome(), null)) {
+            throw nomeDuplicado();
         }
         Nutricionista nutricionista = mapearRequest(request);
-        Nutricionista entitySalva = nutricionistaRepository.save(nutricionista);
+        Nutricionista entitySalva = salvarComNomeUnico(nutricionista);
+        eventPublisher.publishEvent(new NutricionistaSalvoEvent(entitySalva.getId(), entitySalva.getNome(),
+                entitySalva.getEspecialidade(), entitySalva.getTempoExperiencia()));
 
         return new NutricionistaResponseDTO(entitySalva.getId(),
                 entitySalva.getNome(),
@@ -75,13 +201,13 @@ public class NutricionistaService {
         return target;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id")
     public NutricionistaResponseDTO atualizarNutricionista(Long id, NutricionistaRequestDTO request) {
         Nutricionista nutricionista = nutricionistaRepository.findById(id).orElse(null);
 
         assert nutricionista != null;
-        if (!Objects.equals(nutricionista.getNome(), request.getNome()) &&
-        nutricionistaRepository.findByNome(request.getNome()).isPresent()) {
-            throw new RuntimeException("Já existe cadastro de nutricionista com este nome.");
+        if (nomeNutricionistaIndice.pertenceAOutro(request.getNome(), nutricionista.getId())) {
+            throw nomeDuplicado();
         }
 
         nutricionista.setNome(request.getNome());
@@ -90,7 +216,9 @@ public class NutricionistaService {
         nutricionista.setCrn(request.getCrn());
         nutricionista.setEspecialidade(request.getEspecialidade());
 
-        nutricionistaRepository.save(nutricionista);
+        salvarComNomeUnico(nutricionista);
+        eventPublisher.publishEvent(new NutricionistaSalvoEvent(nutricionista.getId(), nutricionista.getNome(),
+                nutricionista.getEspecialidade(), nutricionista.getTempoExperiencia()));
         return new NutricionistaResponseDTO(nutricionista.getId(),
                 nutricionista.getNome(),
                 nutricionista.getMatricula(),
@@ -100,21 +228,99 @@ public class NutricionistaService {
                 );
     }
 
+    @CacheEvict(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id")
     public void removerNutricionista(Long id) {
         nutricionistaRepository.deleteById(id);
+        nomeNutricionistaIndice.remover(id);
+        colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+        eventPublisher.publishEvent(new NutricionistaRemovidoEvent(id));
+    }
+
+    // PATCH: um UPDATE só com os campos enviados, sem ler o nutricionista antes. Com a versão esperada (If-Match),
+    // devolve a nova versão; sem ela, a alteração é aplicada sem verificar concorrência e devolve null.
+    @CacheEvict(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id")
+    public Long alterarNutricionista(Long id, Map<String, Object> campos, Long versaoEsperada) {
+        PatchUtil.exigirCampos(campos);
+        Map<String, Object> valores = new HashMap<>();
+        campos.forEach((campo, valor) -> valores.put(campo, switch (campo) {
+            case "nome", "crn" -> PatchUtil.textoObrigatorio(campo, valor);
+            case "tempoExperiencia" -> PatchUtil.inteiroNaoNegativo(campo, valor);
+            case "matricula", "especialidade" -> PatchUtil.texto(campo, valor);
+            default -> throw PatchUtil.campoNaoAlteravel(campo);
+        }));
+        String nome = (String) valores.get("nome");
+        if (nomeNutricionistaIndice.pertenceAOutro(nome, id)) {
+            throw nomeDuplicado();
+        }
+
+        int alterados;
+        try {
+            alterados = nutricionistaRepository.atualizarCampos(id, versaoEsperada, valores);
+        } catch (DataIntegrityViolationException e) {
+            throw nomeDuplicadoOu(e);
+        }
+        if (alterados == 0) {
+            if (!nutricionistaRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Nutricionista não encontrado.");
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Nutricionista alterado por outra requisição; busque a versão atual.");
+        }
+        if (nome != null) {
+            nomeNutricionistaIndice.registrar(id, nome);
+        }
+        colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+        // O evento leva nome, especialidade e experiência juntos; só quando um deles muda a linha é relida.
+        if (nome != null || valores.containsKey("especialidade") || valores.containsKey("tempoExperiencia")) {
+            nutricionistaRepository.findById(id).ifPresent(nutricionista -> eventPublisher.publishEvent(
+                    new NutricionistaSalvoEvent(id, nutricionista.getNome(), nutricionista.getEspecialidade(),
+                            nutricionista.getTempoExperiencia())));
+        }
+        return versaoEsperada != null ? versaoEsperada + 1 : null;
     }
 
+    private Nutricionista salvarComNomeUnico(Nutricionista nutricionista) {
+        Nutricionista entitySalva;
+        try {
+            entitySalva = nutricionistaRepository.save(nutricionista);
+        } catch (DataIntegrityViolationException e) {
+            throw nomeDuplicadoOu(e);
+        }
+        nomeNutricionistaIndice.registrar(entitySalva.getId(), entitySalva.getNome());
+        colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+        return entitySalva;
+    }
+
+    // Alguns bancos informam o nome qualificado do índice que implementa a constraint (ex.: H2).
+    private RuntimeException nomeDuplicadoOu(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase().contains(Nutricionista.UK_NOME)) {
+            return nomeDuplicado();
+        }
+        return e;
+    }
+
+    private ResponseStatusException nomeDuplicado() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Já existe cadastro de nutricionista com este nome.");
+    }
+
+    // UPDATE direto: antes a entidade era alterada fora de transação e a mudança se perdia.
+    @CacheEvict(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id")
     public void adicionarAnoExperiencia(Long id) {
-        Nutricionista nutricionista = nutricionistaRepository.findById(id).orElse(null);
-        assert nutricionista != null;
-        nutricionista.setTempoExperiencia(nutricionista.getTempoExperiencia() + 1);
+        if (nutricionistaRepository.incrementarExperiencia(id) > 0) {
+            colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+            eventPublisher.publishEvent(new ExperienciaIncrementadaEvent(id));
+        }
     }
 
+    // Grava só o vínculo (id do nutricionista, id da certificação), sem carregar o nutricionista nem a coleção.
+    @CacheEvict(cacheNames = CacheConfig.NUTRICIONISTAS, key = "#id")
     public void adicionarCertificacao(String novaCertificacao, Long id){
-        Nutricionista nutricionista = nutricionistaRepository.findById(id).orElse(null);
-        if (nutricionista != null) {
-            Set<String> certificacoes = nutricionista.getCertificacoes();
-            certificacoes.add(novaCertificacao);
+        Long idCertificacao = certificacaoCatalogo.idDe(novaCertificacao);
+        if (nutricionistaRepository.adicionarCertificacao(id, idCertificacao) > 0) {
+            nutricionistaRepository.marcarAlterado(id);
+            colecaoVersaoRepository.incrementar(ColecaoVersao.NUTRICIONISTAS);
+            eventPublisher.publishEvent(new CertificacaoAdicionadaEvent(id, idCertificacao));
         }
     }
 
@@ -0,0 +1,60 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.events.NutricionistaRemovidoEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.repositories.NutricionistaNomeView;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Busca aproximada por nome de nutricionista: carregada na subida e mantida pelos eventos do NutricionistaService.
+@Component
+public class NutricionistaTrigramaIndice implements SmartInitializingSingleton {
+
+    private final NutricionistaRepository nutricionistaRepository;
+    private final TransactionTemplate leitura;
+    private final TrigramaIndice indice;
+
+    public NutricionistaTrigramaIndice(NutricionistaRepository nutricionistaRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${busca.nome.limiar:0.3}") double limiar) {
+        this.nutricionistaRepository = nutricionistaRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.indice = new TrigramaIndice(limiar);
+    }
+
+    // Carga antes de o servidor web aceitar requisições, como em PacienteTrigramaIndice.
+    @Override
+    public void afterSingletonsInstantiated() {
+        leitura.executeWithoutResult(status -> carregar());
+    }
+
+    private void carregar() {
+        indice.limpar();
+        try (Stream<NutricionistaNomeView> nomes = nutricionistaRepository.streamNomes()) {
+            nomes.forEach(nutricionista -> indice.indexar(nutricionista.getId(), nutricionista.getNome()));
+        }
+    }
+
+    public List<TrigramaIndice.Resultado> buscar(String nome, int limite) {
+        return indice.buscar(nome, limite);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarNutricionista(NutricionistaSalvoEvent evento) {
+        indice.indexar(evento.getId(), evento.getNome());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverNutricionista(NutricionistaRemovidoEvent evento) {
+        indice.remover(evento.getId());
+    }
+}
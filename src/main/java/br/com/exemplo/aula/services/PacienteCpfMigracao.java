@@ -0,0 +1,76 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Paciente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Roda depois do ddl-auto e do schema-postgresql.sql e antes de o servidor aceitar requisições. Confere que o índice
+// único de CPF existe (o ddl-auto só registra um aviso quando não consegue criá-lo) e, uma única vez, grava os CPFs
+// antigos só com dígitos.
+@Component
+public class PacienteCpfMigracao implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PacienteCpfMigracao.class);
+
+    static final String MIGRACAO = "paciente_cpf_digitos";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+
+    public PacienteCpfMigracao(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        conferirIndiceUnico();
+        transacao.executeWithoutResult(status -> normalizarCpfs());
+    }
+
+    // Sem o índice, cadastros duplicados e a busca por CPF passariam sem erro; melhor não subir.
+    void conferirIndiceUnico() {
+        Integer existe = jdbcTemplate.queryForObject(
+                "select count(*) from pg_constraint where conname = ? and conrelid = 'paciente'::regclass",
+                Integer.class, Paciente.UK_CPF);
+        if (existe == null || existe == 0) {
+            throw new IllegalStateException("Índice único " + Paciente.UK_CPF + " ausente na tabela paciente. "
+                    + "Resolva os CPFs repetidos (select cpf from paciente group by cpf having count(*) > 1) e reinicie.");
+        }
+    }
+
+    // O registro em migracao e a atualização vão na mesma transação: se falhar, roda de novo na próxima subida.
+    // Os CPFs normalizados ficam numa tabela temporária indexada, e as colisões são resolvidas por junção em vez de
+    // comparar regexp_replace de cada linha com todas as outras.
+    void normalizarCpfs() {
+        if (jdbcTemplate.update("insert into migracao (nome) values (?) on conflict do nothing", MIGRACAO) == 0) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                create temporary table cpf_normalizado on commit drop as
+                select id_paciente, regexp_replace(cpf, '[^0-9]', '', 'g') as cpf from paciente where cpf ~ '[^0-9]'
+                """);
+        jdbcTemplate.execute("create index on cpf_normalizado (cpf)");
+        jdbcTemplate.execute("analyze cpf_normalizado");
+        // Fica de fora quem colidiria com um CPF já só com dígitos ou com outro CPF antigo que normaliza igual.
+        int normalizados = jdbcTemplate.update("""
+                update paciente p set cpf = n.cpf
+                from cpf_normalizado n
+                where p.id_paciente = n.id_paciente
+                  and not exists (select 1 from paciente o where o.cpf = n.cpf)
+                  and not exists (select 1 from cpf_normalizado d where d.cpf = n.cpf and d.id_paciente <> n.id_paciente)
+                """);
+        Integer pendentes = jdbcTemplate.queryForObject("select count(*) from cpf_normalizado", Integer.class);
+        int colisoes = (pendentes == null ? 0 : pendentes) - normalizados;
+        log.info("CPFs normalizados para só dígitos: {}.", normalizados);
+        if (colisoes > 0) {
+            log.warn("{} paciente(s) com CPF antigo que colide com outro cadastro ficaram como estavam; "
+                    + "resolva manualmente (select * from paciente where cpf ~ '[^0-9]').", colisoes);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.controllers.dto.DeduplicacaoJobDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteDuplicidadeDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteMesclagemDTO;
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import br.com.exemplo.aula.entities.PacienteDuplicidade;
+import br.com.exemplo.aula.events.PacientesMescladosEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import br.com.exemplo.aula.repositories.PacienteDeduplicacaoView;
+import br.com.exemplo.aula.repositories.PacienteDuplicidadeRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Deduplicação de pacientes em duas etapas. A análise lê os pacientes uma vez, já ordenados por data de nascimento
+// e CPF, e só compara quem cai no mesmo bloco (mesma data e mesmo prefixo de CPF): em vez de todos os pares, alguns
+// pares por bloco. Os blocos são pontuados em paralelo e o resultado vira sugestões na tabela paciente_duplicidade.
+// A mesclagem aplica as sugestões em lotes: consultas passam para o paciente mantido e o duplicado é removido.
+@Service
+public class PacienteDeduplicacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PacienteDeduplicacaoService.class);
+
+    // Pacientes por tarefa enviada ao pool; um bloco nunca é dividido entre tarefas.
+    private static final int PACIENTES_POR_TAREFA = 20_000;
+
+    private static final String INSERIR_SUGESTAO = """
+            insert into paciente_duplicidade (id_paciente_mantido, id_paciente_duplicado, pontuacao, criada_em)
+            values (?, ?, ?, current_timestamp)
+            """;
+    // O mantido herda telefone e e-mail do duplicado quando não tem os seus.
+    private static final String COMPLETAR_MANTIDO = """
+            update paciente m set telefone = coalesce(m.telefone, d.telefone), email = coalesce(m.email, d.email),
+                   versao = m.versao + 1, atualizado_em = current_timestamp
+            from paciente d
+            where m.id_paciente = ? and d.id_paciente = ?
+            """;
+    private static final String REATRIBUIR_CONSULTAS = "update consulta set id_paciente = ? where id_paciente = ?";
+    private static final String REMOVER_PACIENTE = "delete from paciente where id_paciente = ?";
+
+    private final PacienteRepository pacienteRepository;
+    private final PacienteDuplicidadeRepository duplicidadeRepository;
+    private final ColecaoVersaoRepository colecaoVersaoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate leitura;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache cachePacientes;
+    private final PacienteSimilaridade similaridade;
+    private final int prefixoCpf;
+    private final int maximoBloco;
+    private final int paralelismo;
+    private final int tamanhoLote;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private volatile DeduplicacaoJobDTO ultimaExecucao;
+
+    public PacienteDeduplicacaoService(PacienteRepository pacienteRepository,
+                                       PacienteDuplicidadeRepository duplicidadeRepository,
+                                       ColecaoVersaoRepository colecaoVersaoRepository, JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                                       @Value("${paciente.deduplicacao.limiar:0.75}") double limiar,
+                                       @Value("${paciente.deduplicacao.limiar-nome:0.5}") double limiarNome,
+                                       @Value("${paciente.deduplicacao.prefixo-cpf:3}") int prefixoCpf,
+                                       @Value("${paciente.deduplicacao.maximo-bloco:2000}") int maximoBloco,
+                                       @Value("${paciente.deduplicacao.paralelismo:0}") int paralelismo,
+                                       @Value("${paciente.deduplicacao.lote:500}") int tamanhoLote) {
+        this.pacienteRepository = pacienteRepository;
+        this.duplicidadeRepository = duplicidadeRepository;
+        this.colecaoVersaoRepository = colecaoVersaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.cachePacientes = cacheManager.getCache(CacheConfig.PACIENTES);
+        this.similaridade = new PacienteSimilaridade(limiar, limiarNome);
+        this.prefixoCpf = prefixoCpf;
+        this.maximoBloco = maximoBloco;
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // Substitui as sugestões anteriores pelas desta análise.
+    public DeduplicacaoJobDTO analisar() {
+        iniciar();
+        Analise analise = new Analise(new ForkJoinPool(paralelismo), LocalDateTime.now());
+        try {
+            analise.progresso(DeduplicacaoJobDTO.Status.EM_EXECUCAO, null);
+            List<PacienteSimilaridade.Sugestao> sugestoes = leitura.execute(status -> {
+                try (Stream<PacienteDeduplicacaoView> pacientes = pacienteRepository.streamParaDeduplicacao()) {
+                    pacientes.forEach(analise::adicionar);
+                }
+                return analise.concluir();
+            });
+            transactionTemplate.executeWithoutResult(status -> gravarSugestoes(sugestoes));
+            log.info("Deduplicação de pacientes: {} pacientes lidos, {} pares comparados, {} sugestões.",
+                    analise.pacientesLidos, analise.paresComparados.sum(), analise.sugestoes.size());
+            return analise.progresso(DeduplicacaoJobDTO.Status.CONCLUIDO, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            analise.progresso(DeduplicacaoJobDTO.Status.FALHOU, LocalDateTime.now());
+            throw e;
+        } finally {
+            analise.pool.shutdownNow();
+            emExecucao.set(false);
+        }
+    }
+
+    public DeduplicacaoJobDTO ultimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    public List<PacienteDuplicidadeDTO> listarSugestoes(double pontuacaoMinima, int limite) {
+        return duplicidadeRepository.listar(pontuacaoMinima, Limit.of(limite));
+    }
+
+    // Aplica todas as sugestões com pontuação mínima, um lote por transação; lotes já aplicados ficam se um posterior falhar.
+    public PacienteMesclagemDTO mesclar(double pontuacaoMinima) {
+        iniciar();
+        try {
+            PacienteMesclagemDTO total = new PacienteMesclagemDTO();
+            Long cursorId = 0L;
+            List<PacienteDuplicidade> lote;
+            while (!(lote = duplicidadeRepository.buscarLote(pontuacaoMinima, cursorId, Limit.of(tamanhoLote))).isEmpty()) {
+                cursorId = lote.get(lote.size() - 1).getId();
+                somar(total, mesclarConfirmando(lote));
+            }
+            return total;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    public PacienteMesclagemDTO mesclarSugestao(Long id) {
+        iniciar();
+        try {
+            PacienteDuplicidade sugestao = duplicidadeRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sugestão não encontrada."));
+            return mesclarConfirmando(List.of(sugestao));
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    // Análise e mesclagem não rodam juntas: a análise regravaria sugestões de pacientes que a mesclagem está removendo.
+    private void iniciar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Deduplicação de pacientes já está em execução.");
+        }
+    }
+
+    private PacienteMesclagemDTO mesclarConfirmando(List<PacienteDuplicidade> lote) {
+        Map<Long, Long> mantidoPorDuplicado = new LinkedHashMap<>();
+        PacienteMesclagemDTO resultado = transactionTemplate.execute(status -> mesclarLote(lote, mantidoPorDuplicado));
+        // O lote já foi confirmado: DTOs em cache desses pacientes estão desatualizados.
+        mantidoPorDuplicado.forEach((duplicado, mantido) -> {
+            cachePacientes.evict(duplicado);
+            cachePacientes.evict(mantido);
+        });
+        return resultado;
+    }
+
+    private PacienteMesclagemDTO mesclarLote(List<PacienteDuplicidade> lote, Map<Long, Long> mantidoPorDuplicado) {
+        Set<Long> ids = new HashSet<>();
+        lote.forEach(sugestao -> {
+            ids.add(sugestao.getIdPacienteMantido());
+            ids.add(sugestao.getIdPacienteDuplicado());
+        });
+        Set<Long> existentes = new HashSet<>(pacienteRepository.buscarIdsExistentes(ids));
+        // Paciente já removido (por outra mesclagem ou pela API): a sugestão que o cita é descartada.
+        Set<Long> descartados = new HashSet<>(ids);
+        descartados.removeAll(existentes);
+
+        Set<Long> mantidos = new HashSet<>();
+        for (PacienteDuplicidade sugestao : lote) {
+            Long mantido = sugestao.getIdPacienteMantido();
+            Long duplicado = sugestao.getIdPacienteDuplicado();
+            // Sem cadeias no mesmo lote: quem fica não pode estar saindo, e vice-versa.
+            if (existentes.contains(mantido) && existentes.contains(duplicado)
+                    && !mantidoPorDuplicado.containsKey(mantido) && !mantidoPorDuplicado.containsKey(duplicado)
+                    && !mantidos.contains(duplicado)) {
+                mantidoPorDuplicado.put(duplicado, mantido);
+                mantidos.add(mantido);
+            }
+        }
+
+        long consultas = 0;
+        if (!mantidoPorDuplicado.isEmpty()) {
+            List<Object[]> pares = mantidoPorDuplicado.entrySet().stream()
+                    .map(par -> new Object[]{par.getValue(), par.getKey()})
+                    .toList();
+            jdbcTemplate.batchUpdate(COMPLETAR_MANTIDO, pares);
+            for (int linhas : jdbcTemplate.batchUpdate(REATRIBUIR_CONSULTAS, pares)) {
+                consultas += Math.max(linhas, 0);
+            }
+            jdbcTemplate.batchUpdate(REMOVER_PACIENTE, mantidoPorDuplicado.keySet().stream()
+                    .map(duplicado -> new Object[]{duplicado})
+                    .toList());
+            colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+            eventPublisher.publishEvent(new PacientesMescladosEvent(Map.copyOf(mantidoPorDuplicado)));
+        }
+        descartados.addAll(mantidoPorDuplicado.keySet());
+        if (!descartados.isEmpty()) {
+            duplicidadeRepository.removerPorPacientes(descartados);
+        }
+        return new PacienteMesclagemDTO(mantidoPorDuplicado.size(), consultas);
+    }
+
+    private void gravarSugestoes(List<PacienteSimilaridade.Sugestao> sugestoes) {
+        duplicidadeRepository.deleteAllInBatch();
+        jdbcTemplate.batchUpdate(INSERIR_SUGESTAO, sugestoes, 1000, (ps, sugestao) -> {
+            ps.setLong(1, sugestao.idMantido());
+            ps.setLong(2, sugestao.idDuplicado());
+            ps.setDouble(3, sugestao.pontuacao());
+        });
+    }
+
+    private static void somar(PacienteMesclagemDTO total, PacienteMesclagemDTO lote) {
+        total.setPacientesMesclados(total.getPacientesMesclados() + lote.getPacientesMesclados());
+        total.setConsultasReatribuidas(total.getConsultasReatribuidas() + lote.getConsultasReatribuidas());
+    }
+
+    // Estado de uma análise. O leitor (thread da requisição) monta os blocos na ordem do stream e envia pacotes
+    // de blocos ao pool; no máximo duas tarefas por núcleo ficam pendentes, o que limita a memória usada.
+    private final class Analise {
+
+        private final ForkJoinPool pool;
+        private final LocalDateTime inicio;
+        private final Deque<ForkJoinTask<List<PacienteSimilaridade.Sugestao>>> pendentes = new ArrayDeque<>();
+        private final List<PacienteSimilaridade.Sugestao> sugestoes = new ArrayList<>();
+        private final LongAdder paresComparados = new LongAdder();
+
+        private List<List<PacienteSimilaridade.Candidato>> pacote = new ArrayList<>();
+        private int pacientesNoPacote;
+        private List<PacienteSimilaridade.Candidato> bloco = new ArrayList<>();
+        private LocalDate dataBloco;
+        private String prefixoBloco;
+
+        private long pacientesLidos;
+        private long blocosComparados;
+        private long blocosIgnorados;
+
+        Analise(ForkJoinPool pool, LocalDateTime inicio) {
+            this.pool = pool;
+            this.inicio = inicio;
+        }
+
+        void adicionar(PacienteDeduplicacaoView paciente) {
+            String prefixo = paciente.getCpf().substring(0, Math.min(prefixoCpf, paciente.getCpf().length()));
+            if (!paciente.getDataNascimento().equals(dataBloco) || !prefixo.equals(prefixoBloco)) {
+                fecharBloco();
+                dataBloco = paciente.getDataNascimento();
+                prefixoBloco = prefixo;
+            }
+            bloco.add(new PacienteSimilaridade.Candidato(paciente.getId(), paciente.getNome(), paciente.getTelefone(),
+                    paciente.getEmail()));
+            pacientesLidos++;
+        }
+
+        List<PacienteSimilaridade.Sugestao> concluir() {
+            fecharBloco();
+            enviar();
+            while (!pendentes.isEmpty()) {
+                recolher();
+            }
+            return sugestoes;
+        }
+
+        private void fecharBloco() {
+            if (bloco.size() > maximoBloco) {
+                blocosIgnorados++;
+                log.warn("Deduplicação de pacientes: bloco {}/{} com {} pacientes ignorado.", dataBloco, prefixoBloco,
+                        bloco.size());
+            } else if (bloco.size() > 1) {
+                pacote.add(bloco);
+                pacientesNoPacote += bloco.size();
+                blocosComparados++;
+                if (pacientesNoPacote >= PACIENTES_POR_TAREFA) {
+                    enviar();
+                }
+            }
+            bloco = new ArrayList<>();
+        }
+
+        private void enviar() {
+            if (pacote.isEmpty()) {
+                return;
+            }
+            List<List<PacienteSimilaridade.Candidato>> blocos = pacote;
+            pendentes.addLast(pool.submit(() -> similaridade.comparar(blocos, paresComparados)));
+            pacote = new ArrayList<>();
+            pacientesNoPacote = 0;
+            while (pendentes.size() > paralelismo * 2) {
+                recolher();
+            }
+            progresso(DeduplicacaoJobDTO.Status.EM_EXECUCAO, null);
+        }
+
+        private void recolher() {
+            sugestoes.addAll(pendentes.removeFirst().join());
+        }
+
+        DeduplicacaoJobDTO progresso(DeduplicacaoJobDTO.Status status, LocalDateTime fim) {
+            DeduplicacaoJobDTO progresso = new DeduplicacaoJobDTO(status, pacientesLidos, blocosComparados,
+                    paresComparados.sum(), blocosIgnorados, sugestoes.size(), inicio, fim);
+            ultimaExecucao = progresso;
+            return progresso;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.PacienteImportacaoDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteImportacaoErroDTO;
+import br.com.exemplo.aula.controllers.dto.PacienteRequestDTO;
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import br.com.exemplo.aula.events.PacientesImportadosEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Importação de pacientes a partir de um CSV lido linha a linha: só o lote corrente fica em memória.
+// Cada lote é um único INSERT de várias linhas, na sua própria transação. CPFs já cadastrados são ignorados pelo
+// índice único (on conflict do nothing) e o RETURNING informa exatamente quais linhas entraram. Se o banco recusar o
+// lote por outro motivo, ele é refeito linha a linha para que só as linhas com problema fiquem de fora.
+@Service
+public class PacienteImportacaoService {
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    // O PostgreSQL aceita até 65535 parâmetros por comando; cada paciente usa 5.
+    private static final int LOTE_MAXIMO = 10_000;
+    // Limite de um registro com campo entre aspas em várias linhas; evita que uma aspa sem par leia o resto do arquivo.
+    private static final int TAMANHO_MAXIMO_REGISTRO = 8192;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ColecaoVersaoRepository colecaoVersaoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public PacienteImportacaoService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                     ColecaoVersaoRepository colecaoVersaoRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${paciente.importacao.lote:1000}") int tamanhoLote,
+                                     @Value("${paciente.importacao.maximo-erros:1000}") int maximoErros) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.colecaoVersaoRepository = colecaoVersaoRepository;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoLote = Math.max(1, Math.min(tamanhoLote, LOTE_MAXIMO));
+        this.maximoErros = maximoErros;
+    }
+
+    // Lotes já gravados permanecem se um lote posterior falhar; o relatório traz o que entrou até ali.
+    public PacienteImportacaoDTO importar(InputStream csv) {
+        PacienteImportacaoDTO resultado = new PacienteImportacaoDTO();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo vazio.");
+            }
+            if (cabecalho.startsWith("\uFEFF")) {
+                cabecalho = cabecalho.substring(1);
+            }
+            char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+            Colunas colunas = Colunas.de(campos(cabecalho, separador));
+
+            List<Linha> lote = new ArrayList<>(tamanhoLote);
+            long numero = 1;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                numero++;
+                long inicio = numero;
+                // Um campo entre aspas pode conter quebras de linha: o registro continua nas linhas seguintes.
+                while (aspasAbertas(texto) && texto.length() <= TAMANHO_MAXIMO_REGISTRO) {
+                    String continuacao = leitor.readLine();
+                    if (continuacao == null) {
+                        break;
+                    }
+                    numero++;
+                    texto = texto + "\n" + continuacao;
+                }
+                if (texto.isBlank()) {
+                    continue;
+                }
+                resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+                if (aspasAbertas(texto)) {
+                    rejeitar(resultado, inicio, inicio == numero ? "Aspas não fechadas."
+                            : "Aspas não fechadas; linhas " + inicio + " a " + numero + " ignoradas.");
+                    continue;
+                }
+                try {
+                    lote.add(new Linha(inicio, validar(colunas.request(campos(texto, separador)))));
+                } catch (ResponseStatusException e) {
+                    rejeitar(resultado, inicio, e.getReason());
+                    continue;
+                }
+                if (lote.size() == tamanhoLote) {
+                    gravar(lote, resultado);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravar(lote, resultado);
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Não foi possível ler o arquivo.", e);
+        }
+        return resultado;
+    }
+
+    // Mesmas regras do cadastro individual: nome obrigatório e CPF com 11 dígitos, gravado só com os dígitos.
+    private PacienteRequestDTO validar(PacienteRequestDTO request) {
+        if (request.getNome() == null || request.getNome().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nome não informado.");
+        }
+        PatchUtil.validarTamanho("Nome", request.getNome());
+        PatchUtil.validarTamanho("Telefone", request.getTelefone());
+        PatchUtil.validarTamanho("Email", request.getEmail());
+        request.setCpf(CpfUtil.normalizar(request.getCpf()));
+        return request;
+    }
+
+    private void gravar(List<Linha> lote, PacienteImportacaoDTO resultado) {
+        Map<String, Linha> porCpf = new LinkedHashMap<>();
+        for (Linha linha : lote) {
+            if (porCpf.putIfAbsent(linha.request().getCpf(), linha) != null) {
+                rejeitar(resultado, linha.numero(), "CPF repetido no arquivo.");
+            }
+        }
+        List<Linha> unicas = new ArrayList<>(porCpf.values());
+        try {
+            registrar(unicas, transactionTemplate.execute(status -> inserir(unicas)), resultado);
+        } catch (DataAccessException e) {
+            for (Linha linha : unicas) {
+                try {
+                    registrar(List.of(linha), transactionTemplate.execute(status -> inserir(List.of(linha))), resultado);
+                } catch (DataAccessException erroDaLinha) {
+                    rejeitar(resultado, linha.numero(), "Recusada pelo banco: " + motivo(erroDaLinha));
+                }
+            }
+        }
+    }
+
+    private void registrar(List<Linha> linhas, Map<String, Long> inseridos, PacienteImportacaoDTO resultado) {
+        for (Linha linha : linhas) {
+            if (!inseridos.containsKey(linha.request().getCpf())) {
+                rejeitar(resultado, linha.numero(), "Já existe cadastro de paciente com este CPF.");
+            }
+        }
+        resultado.setImportados(resultado.getImportados() + inseridos.size());
+    }
+
+    // Primeira linha da mensagem do driver, sem o detalhe com os valores da linha.
+    private static String motivo(DataAccessException e) {
+        String mensagem = String.valueOf(e.getMostSpecificCause().getMessage());
+        int quebra = mensagem.indexOf('\n');
+        return quebra < 0 ? mensagem : mensagem.substring(0, quebra);
+    }
+
+    private Map<String, Long> inserir(List<Linha> linhas) {
+        StringBuilder sql = new StringBuilder(
+                "insert into paciente (nome, data_nascimento, cpf, telefone, email, versao, atualizado_em) values ");
+        Object[] parametros = new Object[linhas.size() * 5];
+        int[] tipos = new int[parametros.length];
+        for (int i = 0; i < linhas.size(); i++) {
+            PacienteRequestDTO request = linhas.get(i).request();
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, 0, current_timestamp)");
+            int p = i * 5;
+            parametros[p] = request.getNome();
+            parametros[p + 1] = request.getDataNascimento();
+            parametros[p + 2] = request.getCpf();
+            parametros[p + 3] = request.getTelefone();
+            parametros[p + 4] = request.getEmail();
+            tipos[p] = Types.VARCHAR;
+            tipos[p + 1] = Types.DATE;
+            tipos[p + 2] = Types.VARCHAR;
+            tipos[p + 3] = Types.VARCHAR;
+            tipos[p + 4] = Types.VARCHAR;
+        }
+        sql.append(" on conflict (cpf) do nothing returning id_paciente, nome, cpf");
+
+        Map<String, Long> inseridos = new HashMap<>();
+        Map<Long, String> nomesPorId = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), parametros, tipos, rs -> {
+            long id = rs.getLong("id_paciente");
+            inseridos.put(rs.getString("cpf"), id);
+            nomesPorId.put(id, rs.getString("nome"));
+        });
+        if (!inseridos.isEmpty()) {
+            colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+            eventPublisher.publishEvent(new PacientesImportadosEvent(nomesPorId));
+        }
+        return inseridos;
+    }
+
+    private void rejeitar(PacienteImportacaoDTO resultado, long linha, String erro) {
+        resultado.setRejeitados(resultado.getRejeitados() + 1);
+        if (resultado.getErros().size() < maximoErros) {
+            resultado.getErros().add(new PacienteImportacaoErroDTO(linha, erro));
+        }
+    }
+
+    // Número ímpar de aspas: algum campo entre aspas ainda não foi fechado ("" conta duas vezes e não muda a paridade).
+    static boolean aspasAbertas(String texto) {
+        int aspas = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                aspas++;
+            }
+        }
+        return aspas % 2 != 0;
+    }
+
+    // Campos de um registro CSV; aspas duplas permitem o separador e quebras de linha dentro do campo,
+    // e "" representa uma aspa.
+    static List<String> campos(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char caractere = linha.charAt(i);
+            if (entreAspas) {
+                if (caractere == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (caractere == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(caractere);
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == separador) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(caractere);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    private record Linha(long numero, PacienteRequestDTO request) {
+    }
+
+    // Posição de cada coluna conhecida no cabeçalho; a ordem é livre e colunas extras são ignoradas.
+    private record Colunas(int nome, int dataNascimento, int cpf, int telefone, int email) {
+
+        static Colunas de(List<String> cabecalho) {
+            List<String> nomes = cabecalho.stream()
+                    .map(coluna -> coluna.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""))
+                    .toList();
+            Colunas colunas = new Colunas(nomes.indexOf("nome"), nomes.indexOf("datanascimento"), nomes.indexOf("cpf"),
+                    nomes.indexOf("telefone"), nomes.indexOf("email"));
+            if (colunas.nome < 0 || colunas.cpf < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "O cabeçalho deve ter ao menos as colunas nome e cpf.");
+            }
+            return colunas;
+        }
+
+        PacienteRequestDTO request(List<String> campos) {
+            PacienteRequestDTO request = new PacienteRequestDTO();
+            request.setNome(valor(campos, nome));
+            request.setDataNascimento(data(valor(campos, dataNascimento)));
+            request.setCpf(valor(campos, cpf));
+            request.setTelefone(valor(campos, telefone));
+            request.setEmail(valor(campos, email));
+            return request;
+        }
+
+        private static String valor(List<String> campos, int indice) {
+            if (indice < 0 || indice >= campos.size() || campos.get(indice).isEmpty()) {
+                return null;
+            }
+            return campos.get(indice);
+        }
+
+        // dd/MM/yyyy, como no cadastro pela API, ou ISO (yyyy-MM-dd), comum em exportações de outros sistemas.
+        private static LocalDate data(String valor) {
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+            } catch (DateTimeParseException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data de nascimento inválida: " + valor);
+            }
+        }
+    }
+}
@@ -1,20 +1,53 @@
 package br.com.exemplo.aula.services;
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.config.MetricasConfig;
+import br.com.exemplo.aula.entities.ColecaoVersao;
 import br.com.exemplo.aula.entities.Paciente;
 import br.com.exemplo.aula.controllers.dto.PacienteRequestDTO;
 import br.com.exemplo.aula.controllers.dto.PacienteResponseDTO;
+import br.com.exemplo.aula.events.PacienteRemovidoEvent;
+import br.com.exemplo.aula.events.PacienteSalvoEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
 import br.com.exemplo.aula.repositories.PacienteRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+
+// Cada método público vira um timer (tags class e method), ver MetricasConfig.
+@Timed(MetricasConfig.SERVICOS)
 @Service
 public class PacienteService {
 
     private final PacienteRepository pacienteRepository;
+    private final PacienteTrigramaIndice pacienteTrigramaIndice;
+    private final ColecaoVersaoRepository colecaoVersaoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public PacienteService(PacienteRepository pacienteRepository) {
+    public PacienteService(PacienteRepository pacienteRepository, PacienteTrigramaIndice pacienteTrigramaIndice,
+                           ColecaoVersaoRepository colecaoVersaoRepository, ApplicationEventPublisher eventPublisher) {
         this.pacienteRepository = pacienteRepository;
+        this.pacienteTrigramaIndice = pacienteTrigramaIndice;
+        this.colecaoVersaoRepository = colecaoVersaoRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Muda a cada escrita em pacientes; é a ETag da listagem.
+    public long versaoPacientes() {
+        return colecaoVersaoRepository.buscarVersao(ColecaoVersao.PACIENTES).orElse(0L);
     }
 
     public List<PacienteResponseDTO> listarPacientes() {
@@ -30,10 +63,34 @@ public class PacienteService {
         ).collect(Collectors.toList());
     }
 
+    // Ranking feito no índice de trigramas; o banco só é lido para os ids retornados, mantendo a ordem de similaridade.
+    public List<PacienteResponseDTO> buscarPorNome(String nome, int limite) {
+        List<TrigramaIndice.Resultado> resultados = pacienteTrigramaIndice.buscar(nome, limite);
+        if (resultados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Paciente> pacientes = pacienteRepository.findAllById(
+                resultados.stream().map(TrigramaIndice.Resultado::id).toList()
+        ).stream().collect(Collectors.toMap(Paciente::getId, Function.identity()));
+        return resultados.stream()
+                .map(resultado -> pacientes.get(resultado.id()))
+                .filter(Objects::nonNull)
+                .map(paciente -> new PacienteResponseDTO(
+                        paciente.getId(),
+                        paciente.getNome(),
+                        paciente.getDataNascimento(),
+                        paciente.getCpf(),
+                        paciente.getTelefone(),
+                        paciente.getEmail()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PACIENTES, key = "#id", unless = "#result == null")
     public PacienteResponseDTO buscarPaciente(Long id){
         Paciente paciente = pacienteRepository.findById(id).orElse(null);
         if (paciente != null) {
-            return new PacienteResponseDTO(
+            PacienteResponseDTO response = new PacienteResponseDTO(
                     paciente.getId(),
                     paciente.getNome(),
                     paciente.getDataNascimento(),
@@ -41,13 +98,36 @@ public class PacienteService {
                     paciente.getTelefone(),
                     paciente.getEmail()
             );
+            response.setVersao(paciente.getVersao());
+            response.setAtualizadoEm(paciente.getAtualizadoEm());
+            return response;
         }
         return null;
     }
 
+    // Busca do totem de check-in: uma leitura pelo índice único de CPF.
+    public PacienteResponseDTO buscarPorCpf(String cpf) {
+        return pacienteRepository.findByCpf(CpfUtil.normalizar(cpf))
+                .map(paciente -> {
+                    PacienteResponseDTO response = new PacienteResponseDTO(
+                            paciente.getId(),
+                            paciente.getNome(),
+                            paciente.getDataNascimento(),
+                            paciente.getCpf(),
+                            paciente.getTelefone(),
+                            paciente.getEmail()
+                    );
+                    response.setAtualizadoEm(paciente.getAtualizadoEm());
+                    return response;
+                })
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente não encontrado."));
+    }
+
     public PacienteResponseDTO salvarPaciente(PacienteRequestDTO request) {
         Paciente paciente = mapearRequest(request);
-        Paciente entitySalva = pacienteRepository.save(paciente);
+        Paciente entitySalva = salvarComCpfUnico(paciente);
+        colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+        eventPublisher.publishEvent(new PacienteSalvoEvent(entitySalva.getId(), entitySalva.getNome()));
 
         return new PacienteResponseDTO(entitySalva.getId(),
                 entitySalva.getNome(),
@@ -62,22 +142,25 @@ public class PacienteService {
         Paciente target = new Paciente();
         target.setNome(source.getNome());
         target.setDataNascimento(source.getDataNascimento());
-        target.setCpf(source.getCpf());
+        target.setCpf(CpfUtil.normalizar(source.getCpf()));
         target.setTelefone(source.getTelefone());
         target.setEmail(source.getEmail());
         return target;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PACIENTES, key = "#id")
     public PacienteResponseDTO atualizarPaciente(Long id, PacienteRequestDTO request) {
         Paciente paciente = pacienteRepository.findById(id).orElse(null);
         assert paciente != null;
         paciente.setNome(request.getNome());
         paciente.setDataNascimento(request.getDataNascimento());
-        paciente.setCpf(request.getCpf());
+        paciente.setCpf(CpfUtil.normalizar(request.getCpf()));
         paciente.setTelefone(request.getTelefone());
         paciente.setEmail(request.getEmail());
 
-        pacienteRepository.save(paciente);
+        salvarComCpfUnico(paciente);
+        colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+        eventPublisher.publishEvent(new PacienteSalvoEvent(paciente.getId(), paciente.getNome()));
 
         return new PacienteResponseDTO(paciente.getId(),
                 paciente.getNome(),
@@ -88,8 +171,62 @@ public class PacienteService {
         );
     }
 
+    // PATCH: um UPDATE só com os campos enviados, sem ler o paciente antes. Com a versão esperada (If-Match),
+    // devolve a nova versão; sem ela, a alteração é aplicada sem verificar concorrência e devolve null.
+    @CacheEvict(cacheNames = CacheConfig.PACIENTES, key = "#id")
+    public Long alterarPaciente(Long id, Map<String, Object> campos, Long versaoEsperada) {
+        PatchUtil.exigirCampos(campos);
+        Map<String, Object> valores = new HashMap<>();
+        campos.forEach((campo, valor) -> valores.put(campo, switch (campo) {
+            case "nome" -> PatchUtil.textoObrigatorio(campo, valor);
+            case "cpf" -> CpfUtil.normalizar(PatchUtil.texto(campo, valor));
+            case "dataNascimento" -> PatchUtil.data(campo, valor);
+            case "telefone", "email" -> PatchUtil.texto(campo, valor);
+            default -> throw PatchUtil.campoNaoAlteravel(campo);
+        }));
+
+        int alterados;
+        try {
+            alterados = pacienteRepository.atualizarCampos(id, versaoEsperada, valores);
+        } catch (DataIntegrityViolationException e) {
+            throw cpfDuplicadoOu(e);
+        }
+        if (alterados == 0) {
+            if (!pacienteRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Paciente não encontrado.");
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "Paciente alterado por outra requisição; busque a versão atual.");
+        }
+        colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+        if (valores.containsKey("nome")) {
+            eventPublisher.publishEvent(new PacienteSalvoEvent(id, (String) valores.get("nome")));
+        }
+        return versaoEsperada != null ? versaoEsperada + 1 : null;
+    }
+
+    // O índice único decide: sem consulta prévia, e sem janela entre verificar e inserir.
+    private Paciente salvarComCpfUnico(Paciente paciente) {
+        try {
+            return pacienteRepository.save(paciente);
+        } catch (DataIntegrityViolationException e) {
+            throw cpfDuplicadoOu(e);
+        }
+    }
+
+    private RuntimeException cpfDuplicadoOu(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase().contains(Paciente.UK_CPF)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Já existe cadastro de paciente com este CPF.");
+        }
+        return e;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PACIENTES, key = "#id")
     public void removerPaciente(Long id) {
         pacienteRepository.deleteById(id);
+        colecaoVersaoRepository.incrementar(ColecaoVersao.PACIENTES);
+        eventPublisher.publishEvent(new PacienteRemovidoEvent(id));
     }
     
     
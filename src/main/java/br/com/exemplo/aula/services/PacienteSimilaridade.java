@@ -0,0 +1,142 @@
+package br.com.exemplo.aula.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pontua pares de pacientes de um mesmo bloco e agrupa os parecidos. A base é a similaridade de trigramas do nome,
+// como na busca; e-mail ou telefone iguais somam um bônus. Dado diferente não desconta: telefone e e-mail mudam
+// com o tempo e são justamente o que costuma divergir entre cadastros repetidos. Sem thread-safety própria:
+// cada tarefa da deduplicação compara os seus blocos sozinha.
+class PacienteSimilaridade {
+
+    static final double BONUS_EMAIL = 0.15;
+    static final double BONUS_TELEFONE = 0.15;
+    // Telefone comparado pelos últimos dígitos: ignora DDD, +55 e o nono dígito acrescentado depois.
+    private static final int DIGITOS_TELEFONE = 8;
+
+    private final double limiar;
+    private final double limiarNome;
+
+    PacienteSimilaridade(double limiar, double limiarNome) {
+        this.limiar = limiar;
+        this.limiarNome = limiarNome;
+    }
+
+    List<Sugestao> comparar(List<List<Candidato>> blocos, LongAdder paresComparados) {
+        List<Sugestao> sugestoes = new ArrayList<>();
+        for (List<Candidato> bloco : blocos) {
+            agrupar(bloco, sugestoes);
+            paresComparados.add((long) bloco.size() * (bloco.size() - 1) / 2);
+        }
+        return sugestoes;
+    }
+
+    // Todos os pares do bloco; pares acima do limiar são unidos (union-find) e cada grupo fica com o menor id,
+    // o cadastro mais antigo. A pontuação de cada duplicado é a do seu melhor par dentro do grupo.
+    void agrupar(List<Candidato> bloco, List<Sugestao> sugestoes) {
+        int n = bloco.size();
+        Perfil[] perfis = new Perfil[n];
+        int[] grupo = new int[n];
+        double[] melhor = new double[n];
+        for (int i = 0; i < n; i++) {
+            perfis[i] = Perfil.de(bloco.get(i));
+            grupo[i] = i;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double pontuacao = pontuar(perfis[i], perfis[j]);
+                if (pontuacao >= limiar) {
+                    grupo[raiz(grupo, i)] = raiz(grupo, j);
+                    melhor[i] = Math.max(melhor[i], pontuacao);
+                    melhor[j] = Math.max(melhor[j], pontuacao);
+                }
+            }
+        }
+
+        Map<Integer, Long> mantidoPorGrupo = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (melhor[i] > 0) {
+                mantidoPorGrupo.merge(raiz(grupo, i), perfis[i].id(), Math::min);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            Long mantido = mantidoPorGrupo.get(raiz(grupo, i));
+            if (mantido != null && mantido != perfis[i].id()) {
+                sugestoes.add(new Sugestao(mantido, perfis[i].id(), melhor[i]));
+            }
+        }
+    }
+
+    double pontuar(Perfil a, Perfil b) {
+        double nome = jaccard(a.trigramas(), b.trigramas());
+        if (nome < limiarNome) {
+            return 0;
+        }
+        double pontuacao = nome;
+        if (a.email() != null && a.email().equals(b.email())) {
+            pontuacao += BONUS_EMAIL;
+        }
+        if (a.telefone() != null && a.telefone().equals(b.telefone())) {
+            pontuacao += BONUS_TELEFONE;
+        }
+        return Math.min(pontuacao, 1);
+    }
+
+    // Trigramas em comum / trigramas da união; os dois vetores vêm ordenados e sem repetição.
+    static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int comuns = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                comuns++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) comuns / (a.length + b.length - comuns);
+    }
+
+    private static int raiz(int[] grupo, int i) {
+        while (grupo[i] != i) {
+            grupo[i] = grupo[grupo[i]];
+            i = grupo[i];
+        }
+        return i;
+    }
+
+    record Candidato(long id, String nome, String telefone, String email) {
+    }
+
+    record Sugestao(long idMantido, long idDuplicado, double pontuacao) {
+    }
+
+    record Perfil(long id, int[] trigramas, String telefone, String email) {
+
+        static Perfil de(Candidato candidato) {
+            return new Perfil(candidato.id(), TrigramaIndice.trigramas(candidato.nome()),
+                    telefone(candidato.telefone()), email(candidato.email()));
+        }
+
+        private static String telefone(String telefone) {
+            if (telefone == null) {
+                return null;
+            }
+            String digitos = telefone.replaceAll("\\D", "");
+            return digitos.length() < DIGITOS_TELEFONE ? null : digitos.substring(digitos.length() - DIGITOS_TELEFONE);
+        }
+
+        private static String email(String email) {
+            return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.events.PacienteRemovidoEvent;
+import br.com.exemplo.aula.events.PacienteSalvoEvent;
+import br.com.exemplo.aula.events.PacientesImportadosEvent;
+import br.com.exemplo.aula.events.PacientesMescladosEvent;
+import br.com.exemplo.aula.repositories.PacienteNomeView;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Busca aproximada por nome de paciente: carregada na subida e mantida pelos eventos do PacienteService.
+@Component
+public class PacienteTrigramaIndice implements SmartInitializingSingleton {
+
+    private final PacienteRepository pacienteRepository;
+    private final TransactionTemplate leitura;
+    private final TrigramaIndice indice;
+
+    public PacienteTrigramaIndice(PacienteRepository pacienteRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${busca.nome.limiar:0.3}") double limiar) {
+        this.pacienteRepository = pacienteRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.indice = new TrigramaIndice(limiar);
+    }
+
+    // Roda antes de o servidor web aceitar requisições, então nenhum evento de cadastro chega durante a carga.
+    // Depois de no ar, um limpar seguido da leitura do banco apagaria cadastros indexados pelos eventos nesse meio-tempo.
+    @Override
+    public void afterSingletonsInstantiated() {
+        leitura.executeWithoutResult(status -> carregar());
+    }
+
+    private void carregar() {
+        indice.limpar();
+        try (Stream<PacienteNomeView> nomes = pacienteRepository.streamNomes()) {
+            nomes.forEach(paciente -> indice.indexar(paciente.getId(), paciente.getNome()));
+        }
+    }
+
+    public List<TrigramaIndice.Resultado> buscar(String nome, int limite) {
+        return indice.buscar(nome, limite);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarPaciente(PacienteSalvoEvent evento) {
+        indice.indexar(evento.getId(), evento.getNome());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarPacientes(PacientesImportadosEvent evento) {
+        evento.getNomesPorId().forEach(indice::indexar);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverPaciente(PacienteRemovidoEvent evento) {
+        indice.remover(evento.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoMesclarPacientes(PacientesMescladosEvent evento) {
+        evento.getMantidoPorDuplicado().keySet().forEach(indice::remover);
+    }
+}
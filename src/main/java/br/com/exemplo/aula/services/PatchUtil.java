@@ -0,0 +1,82 @@
+package br.com.exemplo.aula.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Map;
+
+// Conversão dos valores de um corpo PATCH (JSON já lido como mapa) para os tipos das entidades.
+// Campo ausente não é alterado; campo presente com null limpa a coluna, quando ela aceita nulo.
+final class PatchUtil {
+
+    // Tamanho das colunas varchar criadas pelo ddl-auto.
+    static final int TAMANHO_MAXIMO_TEXTO = 255;
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private PatchUtil() {
+    }
+
+    static void exigirCampos(Map<String, Object> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos um campo para alterar.");
+        }
+    }
+
+    static String texto(String campo, Object valor) {
+        if (valor == null || valor instanceof String) {
+            validarTamanho(campo, (String) valor);
+            return (String) valor;
+        }
+        throw valorInvalido(campo);
+    }
+
+    // Acima do tamanho da coluna o PostgreSQL recusa o comando, e o erro chegaria ao cliente como 500.
+    static void validarTamanho(String campo, String valor) {
+        if (valor != null && valor.codePointCount(0, valor.length()) > TAMANHO_MAXIMO_TEXTO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    campo + " com mais de " + TAMANHO_MAXIMO_TEXTO + " caracteres.");
+        }
+    }
+
+    static String textoObrigatorio(String campo, Object valor) {
+        String texto = texto(campo, valor);
+        if (texto == null || texto.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O campo " + campo + " não pode ficar vazio.");
+        }
+        return texto;
+    }
+
+    static int inteiroNaoNegativo(String campo, Object valor) {
+        if (valor instanceof Integer inteiro && inteiro >= 0) {
+            return inteiro;
+        }
+        throw valorInvalido(campo);
+    }
+
+    // Mesmo formato do cadastro: dd/MM/yyyy.
+    static LocalDate data(String campo, Object valor) {
+        String texto = texto(campo, valor);
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(texto, DATA_BR);
+        } catch (DateTimeParseException e) {
+            throw valorInvalido(campo);
+        }
+    }
+
+    static ResponseStatusException campoNaoAlteravel(String campo) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo não pode ser alterado: " + campo);
+    }
+
+    private static ResponseStatusException valorInvalido(String campo) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor inválido para o campo " + campo + ".");
+    }
+}
@@ -0,0 +1,366 @@
+package br.com.exemplo.aula.services;
+
+import org.roaringbitmap.ArrayContainer;
+import org.roaringbitmap.Container;
+import org.roaringbitmap.ContainerPointer;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice de trigramas em memória para busca aproximada por nome, no estilo do pg_trgm:
+// similaridade = trigramas em comum / trigramas da união. Cada trigrama aponta para um bitmap de ids.
+// A busca soma as listas dos trigramas da consulta em blocos de 65536 ids, num contador binário de palavras
+// de 64 bits (fatia j = bit j da contagem), e só pontua os ids cuja contagem ainda pode superar o pior do heap.
+// Os blocos são lidos direto dos containers do RoaringBitmap, por isso a versão da biblioteca fica fixa no pom.xml.
+public class TrigramaIndice {
+
+    // Alfabeto após a normalização: espaço, a-z e 0-9.
+    private static final int BASE = 37;
+    private static final int PALAVRAS_POR_BLOCO = 1 << 16 >>> 6;
+    // Maior bloco guardado como lista de ids pelo RoaringBitmap; acima disso o bloco já é um bitmap.
+    private static final int MAXIMO_ESPARSO = 4096;
+
+    private final double limiar;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap[] porTrigrama = new RoaringBitmap[BASE * BASE * BASE];
+
+    // Quantidade de trigramas de cada documento, indexada pelo id; zero quando o id não está no índice.
+    // Os códigos vão até 37^3 - 1, então tanto a quantidade quanto cada trigrama cabem num char.
+    private char[] tamanhos = new char[1024];
+    // Trigramas de cada documento, em sequência a partir de inicios[id], para que a remoção só toque as listas
+    // desses trigramas. Documentos reindexados deixam a sequência antiga como lixo, recolhido ao compactar.
+    private int[] inicios = new int[1024];
+    private char[] trigramasPorDocumento = new char[4096];
+    private int ocupados;
+    private int lixo;
+    private int documentos;
+
+    public TrigramaIndice(double limiar) {
+        this.limiar = limiar;
+    }
+
+    public void indexar(Long idDocumento, String texto) {
+        int id = Math.toIntExact(idDocumento);
+        int[] trigramas = trigramas(texto);
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+            if (trigramas.length == 0) {
+                return;
+            }
+            for (int trigrama : trigramas) {
+                RoaringBitmap ids = porTrigrama[trigrama];
+                if (ids == null) {
+                    ids = porTrigrama[trigrama] = new RoaringBitmap();
+                }
+                ids.add(id);
+            }
+            if (id >= tamanhos.length) {
+                int tamanho = Math.max(id + 1, tamanhos.length * 2);
+                tamanhos = Arrays.copyOf(tamanhos, tamanho);
+                inicios = Arrays.copyOf(inicios, tamanho);
+            }
+            guardar(id, trigramas);
+            documentos++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long idDocumento) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(Math.toIntExact(idDocumento));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(porTrigrama, null);
+            tamanhos = new char[1024];
+            inicios = new int[1024];
+            trigramasPorDocumento = new char[4096];
+            ocupados = 0;
+            lixo = 0;
+            documentos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Os "limite" documentos mais parecidos com a consulta, do mais para o menos similar (empates pelo menor id).
+    public List<Resultado> buscar(String consulta, int limite) {
+        int[] trigramas = trigramas(consulta);
+        int n = trigramas.length;
+        if (n == 0 || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Listas da mais rara para a mais comum; trigramas sem nenhum documento não contam.
+            ContainerPointer[] listas = Arrays.stream(trigramas)
+                    .mapToObj(trigrama -> porTrigrama[trigrama])
+                    .filter(ids -> ids != null)
+                    .sorted(Comparator.comparingInt(RoaringBitmap::getCardinality))
+                    .map(RoaringBitmap::getContainerPointer)
+                    .toArray(ContainerPointer[]::new);
+
+            // Heap limitado com o pior resultado no topo.
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite, Resultado.PIOR_PRIMEIRO);
+            // sim <= comuns / n: abaixo deste mínimo nenhum documento alcança o limiar.
+            int minimo = Math.max(1, (int) Math.ceil(limiar * n - 1e-9));
+
+            long[][] fatias = new long[32 - Integer.numberOfLeadingZeros(n)][PALAVRAS_POR_BLOCO];
+            long[] mascara = new long[PALAVRAS_POR_BLOCO];
+            long[] bloco = new long[PALAVRAS_POR_BLOCO];
+            int[] baixos = new int[MAXIMO_ESPARSO];
+            while (true) {
+                // Quem tem "minimo" trigramas em comum aparece em ao menos uma das listas - minimo + 1 mais raras;
+                // só os blocos dessas listas precisam ser visitados, e as demais só são somadas onde elas têm ids.
+                int essenciais = listas.length - minimo + 1;
+                int chave = Integer.MAX_VALUE;
+                for (int i = 0; i < essenciais; i++) {
+                    if (listas[i].getContainer() != null) {
+                        chave = Math.min(chave, listas[i].key());
+                    }
+                }
+                if (chave == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                for (long[] fatia : fatias) {
+                    Arrays.fill(fatia, 0L);
+                }
+                Arrays.fill(mascara, 0L);
+                for (int i = 0; i < listas.length; i++) {
+                    ContainerPointer lista = listas[i];
+                    while (lista.getContainer() != null && lista.key() < chave) {
+                        lista.advance();
+                    }
+                    if (lista.getContainer() != null && lista.key() == chave) {
+                        somar(fatias, lista.getContainer(), bloco, baixos, mascara, i < essenciais);
+                        lista.advance();
+                    }
+                }
+                minimo = pontuar(fatias, mascara, chave << 16, n, minimo, melhores, limite);
+            }
+
+            List<Resultado> resultados = new ArrayList<>(melhores);
+            resultados.sort(Resultado.PIOR_PRIMEIRO.reversed());
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Soma um bloco de uma lista ao contador, palavra a palavra; blocos esparsos são antes espalhados num bitmap.
+    // Listas essenciais formam a máscara de candidatos; as demais só contam dentro dela.
+    private void somar(long[][] fatias, Container container, long[] bloco, int[] baixos, long[] mascara, boolean essencial) {
+        if (container instanceof ArrayContainer) {
+            int quantidade = container.getCardinality();
+            container.fillLeastSignificant16bits(baixos, 0, 0);
+            Arrays.fill(bloco, 0L);
+            for (int i = 0; i < quantidade; i++) {
+                bloco[baixos[i] >>> 6] |= 1L << baixos[i];
+            }
+        } else {
+            container.toBitmapContainer().copyBitmapTo(bloco, 0);
+        }
+        for (int palavra = 0; palavra < PALAVRAS_POR_BLOCO; palavra++) {
+            long ids = bloco[palavra];
+            if (essencial) {
+                mascara[palavra] |= ids;
+            } else {
+                ids &= mascara[palavra];
+            }
+            if (ids != 0) {
+                somarPalavra(fatias, palavra, ids);
+            }
+        }
+    }
+
+    private void somarPalavra(long[][] fatias, int palavra, long vaiUm) {
+        for (int j = 0; j < fatias.length && vaiUm != 0; j++) {
+            long proximo = fatias[j][palavra] & vaiUm;
+            fatias[j][palavra] ^= vaiUm;
+            vaiUm = proximo;
+        }
+    }
+
+    // Pontua os ids do bloco com pelo menos "minimo" trigramas em comum e devolve o mínimo atualizado:
+    // com o heap cheio, como os ids chegam em ordem crescente, só entra quem tiver similaridade estritamente maior
+    // que a do pior, o que exige mais de piorSimilaridade * n trigramas em comum.
+    private int pontuar(long[][] fatias, long[] mascara, int base, int n, int minimo,
+                        PriorityQueue<Resultado> melhores, int limite) {
+        for (int palavra = 0; palavra < PALAVRAS_POR_BLOCO; palavra++) {
+            if (mascara[palavra] == 0) {
+                continue;
+            }
+            long candidatos = peloMenos(fatias, palavra, minimo);
+            while (candidatos != 0) {
+                int bit = Long.numberOfTrailingZeros(candidatos);
+                candidatos &= candidatos - 1;
+
+                int comuns = 0;
+                for (int j = 0; j < fatias.length; j++) {
+                    comuns |= (int) (fatias[j][palavra] >>> bit & 1L) << j;
+                }
+                int id = base | palavra << 6 | bit;
+                int tamanho = id < tamanhos.length ? tamanhos[id] : 0;
+                double similaridade = (double) comuns / (n + Math.max(tamanho, comuns) - comuns);
+                if (similaridade < limiar) {
+                    continue;
+                }
+                Resultado resultado = new Resultado(id, similaridade);
+                if (melhores.size() < limite) {
+                    melhores.add(resultado);
+                } else if (Resultado.PIOR_PRIMEIRO.compare(resultado, melhores.peek()) > 0) {
+                    melhores.poll();
+                    melhores.add(resultado);
+                } else {
+                    continue;
+                }
+                if (melhores.size() == limite) {
+                    int necessario = (int) Math.floor(melhores.peek().similaridade() * n + 1e-9) + 1;
+                    if (necessario > minimo) {
+                        minimo = necessario;
+                        candidatos &= peloMenos(fatias, palavra, minimo);
+                    }
+                }
+            }
+        }
+        return minimo;
+    }
+
+    // Máscara dos ids da palavra cuja contagem é >= minimo, comparando as fatias do bit mais alto para o mais baixo.
+    private long peloMenos(long[][] fatias, int palavra, int minimo) {
+        if (minimo >= 1 << fatias.length) {
+            return 0L;
+        }
+        long maior = 0L;
+        long igual = -1L;
+        for (int j = fatias.length - 1; j >= 0; j--) {
+            long fatia = fatias[j][palavra];
+            if ((minimo >>> j & 1) == 1) {
+                igual &= fatia;
+            } else {
+                maior |= igual & fatia;
+                igual &= ~fatia;
+            }
+        }
+        return maior | igual;
+    }
+
+    // Tira o id só das listas dos seus próprios trigramas.
+    private void removerDocumento(int id) {
+        if (id >= tamanhos.length || tamanhos[id] == 0) {
+            return;
+        }
+        int inicio = inicios[id];
+        int fim = inicio + tamanhos[id];
+        for (int i = inicio; i < fim; i++) {
+            int trigrama = trigramasPorDocumento[i];
+            RoaringBitmap ids = porTrigrama[trigrama];
+            if (ids != null && ids.checkedRemove(id) && ids.isEmpty()) {
+                porTrigrama[trigrama] = null;
+            }
+        }
+        lixo += tamanhos[id];
+        tamanhos[id] = 0;
+        documentos--;
+    }
+
+    // Sem espaço no fim, compacta se ao menos metade for lixo; senão o array dobra. Assim cada compactação
+    // copia os trigramas vivos uma vez para cada tanto deles reindexado ou removido.
+    private void guardar(int id, int[] trigramas) {
+        if (ocupados + trigramas.length > trigramasPorDocumento.length) {
+            if (lixo >= ocupados / 2) {
+                compactar();
+            }
+            if (ocupados + trigramas.length > trigramasPorDocumento.length) {
+                trigramasPorDocumento = Arrays.copyOf(trigramasPorDocumento,
+                        Math.max(ocupados + trigramas.length, trigramasPorDocumento.length * 2));
+            }
+        }
+        inicios[id] = ocupados;
+        tamanhos[id] = (char) trigramas.length;
+        for (int trigrama : trigramas) {
+            trigramasPorDocumento[ocupados++] = (char) trigrama;
+        }
+    }
+
+    private void compactar() {
+        char[] compactados = new char[trigramasPorDocumento.length];
+        int posicao = 0;
+        for (int id = 0; id < tamanhos.length; id++) {
+            int tamanho = tamanhos[id];
+            if (tamanho > 0) {
+                System.arraycopy(trigramasPorDocumento, inicios[id], compactados, posicao, tamanho);
+                inicios[id] = posicao;
+                posicao += tamanho;
+            }
+        }
+        trigramasPorDocumento = compactados;
+        ocupados = posicao;
+        lixo = 0;
+    }
+
+    // Trigramas distintos e ordenados de cada palavra, com dois espaços antes e um depois, como no pg_trgm.
+    // Acentos são removidos e qualquer caractere fora de a-z/0-9 separa palavras.
+    public static int[] trigramas(String texto) {
+        if (texto == null) {
+            return new int[0];
+        }
+        String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        int[] codigos = new int[normalizado.length() * 3 + 3];
+        int quantidade = 0;
+        for (String palavra : normalizado.split("[^a-z0-9]+")) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            String comEspacos = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= comEspacos.length(); i++) {
+                codigos[quantidade++] = (codigo(comEspacos.charAt(i)) * BASE + codigo(comEspacos.charAt(i + 1))) * BASE
+                        + codigo(comEspacos.charAt(i + 2));
+            }
+        }
+        return Arrays.stream(codigos, 0, quantidade).sorted().distinct().toArray();
+    }
+
+    private static int codigo(char caractere) {
+        if (caractere == ' ') {
+            return 0;
+        }
+        return caractere <= '9' ? 27 + (caractere - '0') : 1 + (caractere - 'a');
+    }
+
+    public record Resultado(long id, double similaridade) {
+
+        static final Comparator<Resultado> PIOR_PRIMEIRO = Comparator.comparingDouble(Resultado::similaridade)
+                .thenComparing(Comparator.comparingLong(Resultado::id).reversed());
+    }
+}
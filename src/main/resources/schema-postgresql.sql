@@ -0,0 +1,10 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization=true); deve ser idempotente.
+
+-- A sequência de consulta substituiu a coluna IDENTITY: garante que os próximos blocos começam após o maior id existente.
+SELECT setval('consulta_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM consulta), (SELECT last_value FROM consulta_seq)));
+
+-- Migrações de dados que rodam uma única vez (ver PacienteCpfMigracao): cada uma registra seu nome aqui.
+CREATE TABLE IF NOT EXISTS migracao (
+    nome         varchar(100) PRIMARY KEY,
+    executada_em timestamptz NOT NULL DEFAULT now()
+);
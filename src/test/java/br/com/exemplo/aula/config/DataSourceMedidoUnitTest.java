@@ -0,0 +1,152 @@
+package br.com.exemplo.aula.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.repository.Repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLTimeoutException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DataSourceMedidoUnitTest {
+
+    private static final String SQL = "select id from paciente where id = ? and cpf = ?";
+
+    @Mock
+    DataSource alvo;
+
+    @Mock
+    Connection conexao;
+
+    @Mock
+    PreparedStatement comando;
+
+    @Mock
+    ResultSet resultSet;
+
+    @Mock
+    SqlLento sqlLento;
+
+    DataSourceMedido dataSource;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new DataSourceMedido(alvo, sqlLento);
+        lenient().when(alvo.getConnection()).thenReturn(conexao);
+        lenient().when(conexao.prepareStatement(SQL)).thenReturn(comando);
+    }
+
+    private RegistroSql registrado() {
+        ArgumentCaptor<RegistroSql> registro = ArgumentCaptor.forClass(RegistroSql.class);
+        verify(sqlLento).registrar(registro.capture());
+        return registro.getValue();
+    }
+
+    @Test
+    @DisplayName("Deve registrar comando lento com os tipos dos parâmetros, linhas alteradas e origem")
+    void deveRegistrarComandoLento() throws Exception {
+        when(sqlLento.deveRegistrar(anyLong())).thenReturn(true);
+        when(sqlLento.lento(anyLong())).thenReturn(true);
+        when(comando.executeUpdate()).thenReturn(3);
+
+        try (Connection conexaoMedida = dataSource.getConnection();
+             PreparedStatement comandoMedido = conexaoMedida.prepareStatement(SQL)) {
+            comandoMedido.setLong(1, 10L);
+            comandoMedido.setNull(2, Types.VARCHAR);
+            assertEquals(3, comandoMedido.executeUpdate());
+            assertSame(conexaoMedida, comandoMedido.getConnection());
+        }
+
+        RegistroSql registro = registrado();
+        assertEquals(SQL, registro.sql());
+        assertEquals("Long, null", registro.formaDosParametros());
+        assertEquals(3, registro.linhas());
+        assertTrue(registro.lento());
+        assertEquals("DataSourceMedidoUnitTest.deveRegistrarComandoLento", registro.origem());
+        verify(comando).setLong(1, 10L);
+    }
+
+    @Test
+    @DisplayName("Não deve registrar nem embrulhar o ResultSet de comando rápido fora da amostra")
+    void naoDeveRegistrarComandoRapido() throws Exception {
+        when(comando.executeQuery()).thenReturn(resultSet);
+
+        try (Connection conexaoMedida = dataSource.getConnection();
+             PreparedStatement comandoMedido = conexaoMedida.prepareStatement(SQL)) {
+            assertSame(resultSet, comandoMedido.executeQuery());
+        }
+
+        verify(sqlLento, never()).registrar(any());
+    }
+
+    @Test
+    @DisplayName("Deve contar as linhas lidas pelo ResultSet e registrar ao fechá-lo")
+    void deveContarLinhasDoResultSet() throws Exception {
+        when(sqlLento.deveRegistrar(anyLong())).thenReturn(true);
+        when(comando.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        try (Connection conexaoMedida = dataSource.getConnection();
+             PreparedStatement comandoMedido = conexaoMedida.prepareStatement(SQL)) {
+            ResultSet linhas = comandoMedido.executeQuery();
+            assertNotSame(resultSet, linhas);
+            assertSame(comandoMedido, linhas.getStatement());
+            while (linhas.next()) {
+                linhas.getLong(1);
+            }
+            verify(sqlLento, never()).registrar(any());
+            linhas.close();
+            RegistroSql registro = registrado();
+            assertEquals(2, registro.linhas());
+            assertFalse(registro.lento());
+        }
+
+        verify(resultSet).close();
+        verify(resultSet, times(2)).getLong(1);
+        // Fechar o comando depois do ResultSet não registra de novo.
+        verify(sqlLento, times(1)).registrar(any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar comando que falhou depois do limiar, sem contagem de linhas")
+    void deveRegistrarFalhaLenta() throws Exception {
+        when(sqlLento.lento(anyLong())).thenReturn(true);
+        when(comando.executeQuery()).thenThrow(new SQLTimeoutException("cancelado"));
+
+        try (Connection conexaoMedida = dataSource.getConnection();
+             PreparedStatement comandoMedido = conexaoMedida.prepareStatement(SQL)) {
+            assertThrows(SQLTimeoutException.class, comandoMedido::executeQuery);
+        }
+
+        assertEquals(-1, registrado().linhas());
+    }
+
+    interface PacienteFalsoRepository extends Repository<Object, Long> {
+        String buscar();
+    }
+
+    @Test
+    @DisplayName("Deve apontar como origem o método do repositório Spring Data na pilha")
+    void deveEncontrarRepositorioNaPilha() {
+        PacienteFalsoRepository repositorio = (PacienteFalsoRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{PacienteFalsoRepository.class},
+                (proxy, metodo, args) -> DataSourceMedido.origem());
+
+        assertEquals("PacienteFalsoRepository.buscar", repositorio.buscar());
+        assertEquals("DataSourceMedidoUnitTest.deveEncontrarRepositorioNaPilha", DataSourceMedido.origem());
+    }
+}
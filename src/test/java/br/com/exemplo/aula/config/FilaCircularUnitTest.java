@@ -0,0 +1,107 @@
+package br.com.exemplo.aula.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilaCircularUnitTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade e devolver os itens na ordem, null quando vazia")
+    void deveManterOrdem() {
+        FilaCircular<Integer> fila = new FilaCircular<>(5);
+        assertEquals(8, fila.capacidade());
+        assertNull(fila.retirar());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(fila.oferecer(i));
+        }
+        assertEquals(0, fila.retirar());
+        assertEquals(1, fila.retirar());
+        assertEquals(2, fila.retirar());
+        assertNull(fila.retirar());
+    }
+
+    @Test
+    @DisplayName("Deve recusar sem bloquear quando cheia e aceitar de novo depois de esvaziar, em várias voltas")
+    void deveRecusarQuandoCheia() {
+        FilaCircular<Integer> fila = new FilaCircular<>(4);
+        int proximo = 0;
+        for (int volta = 0; volta < 10; volta++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(fila.oferecer(proximo + i));
+            }
+            assertFalse(fila.oferecer(-1));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(proximo + i, fila.retirar());
+            }
+            assertNull(fila.retirar());
+            proximo += 4;
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada item aceito exatamente uma vez com vários produtores concorrentes")
+    void deveEntregarComProdutoresConcorrentes() throws InterruptedException {
+        int produtores = 4;
+        int porProdutor = 100_000;
+        FilaCircular<Integer> fila = new FilaCircular<>(1024);
+        AtomicInteger recusados = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch fim = new CountDownLatch(produtores);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < porProdutor; i++) {
+                    if (!fila.oferecer(base + i)) {
+                        recusados.incrementAndGet();
+                    }
+                }
+                fim.countDown();
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        boolean[] recebidos = new boolean[produtores * porProdutor];
+        int[] ultimoPorProdutor = new int[produtores];
+        Arrays.fill(ultimoPorProdutor, -1);
+        int total = 0;
+        largada.countDown();
+        while (fim.getCount() > 0 || total + recusados.get() < recebidos.length) {
+            Integer item = fila.retirar();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(recebidos[item], "Item entregue duas vezes: " + item);
+            recebidos[item] = true;
+            // Itens de um mesmo produtor saem na ordem em que entraram.
+            int produtor = item / porProdutor;
+            assertTrue(item > ultimoPorProdutor[produtor]);
+            ultimoPorProdutor[produtor] = item;
+            total++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(fila.retirar());
+        assertEquals(recebidos.length, total + recusados.get());
+    }
+}
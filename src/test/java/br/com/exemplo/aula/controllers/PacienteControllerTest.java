@@ -13,13 +13,17 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -87,6 +91,18 @@ class PacienteControllerTest {
         verify(pacienteService).listarPacientes();
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listarPacientesNaoModificado() throws Exception {
+        when(pacienteService.versaoPacientes()).thenReturn(7L);
+
+        mvc.perform(get("/pacientes").header("If-None-Match", "\"pacientes-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"pacientes-7\""));
+
+        verify(pacienteService, never()).listarPacientes();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void search() throws Exception {
@@ -105,6 +121,20 @@ class PacienteControllerTest {
         verify(pacienteService).buscarPaciente(any());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void alterarCampos() throws Exception {
+        when(pacienteService.alterarPaciente(eq(1L), eq(Map.of("telefone", "(48) 93333-3333")), eq(3L))).thenReturn(4L);
+
+        mvc.perform(patch("/pacientes/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefone\": \"(48) 93333-3333\"}")
+                        .with(csrf()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void remove() throws Exception {
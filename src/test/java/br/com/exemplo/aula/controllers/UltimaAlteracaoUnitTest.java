@@ -0,0 +1,30 @@
+package br.com.exemplo.aula.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UltimaAlteracaoUnitTest {
+
+    @Test
+    @DisplayName("Deve arredondar para o próximo segundo e manter datas já inteiras")
+    void deveArredondarParaCima() {
+        Instant agora = Instant.parse("2024-05-10T10:00:05Z");
+        assertEquals(Instant.parse("2024-05-10T10:00:01Z").toEpochMilli(),
+                UltimaAlteracao.paraLastModified(Instant.parse("2024-05-10T10:00:00.400Z"), agora));
+        assertEquals(Instant.parse("2024-05-10T10:00:00Z").toEpochMilli(),
+                UltimaAlteracao.paraLastModified(Instant.parse("2024-05-10T10:00:00Z"), agora));
+    }
+
+    @Test
+    @DisplayName("Não deve enviar Last-Modified enquanto o segundo da alteração não terminou")
+    void deveOmitirNoSegundoCorrente() {
+        Instant atualizadoEm = Instant.parse("2024-05-10T10:00:00.400Z");
+        assertEquals(-1, UltimaAlteracao.paraLastModified(atualizadoEm, Instant.parse("2024-05-10T10:00:00.900Z")));
+        assertEquals(-1, UltimaAlteracao.paraLastModified(atualizadoEm, Instant.parse("2024-05-10T10:00:01Z")));
+        assertEquals(-1, UltimaAlteracao.paraLastModified(null, Instant.parse("2024-05-10T10:00:01Z")));
+    }
+}
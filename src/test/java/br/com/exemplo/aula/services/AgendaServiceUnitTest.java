@@ -0,0 +1,146 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgendaServiceUnitTest {
+
+    @Mock
+    ConsultaRepository consultaRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    AgendaService agendaService;
+
+    LocalDate dia = LocalDate.of(2024, 11, 11);
+
+    @BeforeEach
+    public void setup() {
+        agendaService = new AgendaService(consultaRepository, transactionManager, "08:00", "12:00", 30);
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva sobreposta para o mesmo nutricionista")
+    void deveRecusarReservaSobreposta() {
+        agendaService.reservar(1L, dia.atTime(14, 0), dia.atTime(15, 0));
+
+        assertThrows(ResponseStatusException.class,
+                () -> agendaService.reservar(1L, dia.atTime(14, 30), dia.atTime(15, 30)));
+        assertThrows(ResponseStatusException.class,
+                () -> agendaService.reservar(1L, dia.atTime(13, 30), dia.atTime(14, 1)));
+        assertDoesNotThrow(() -> agendaService.reservar(1L, dia.atTime(15, 0), dia.atTime(16, 0)));
+        assertDoesNotThrow(() -> agendaService.reservar(2L, dia.atTime(14, 0), dia.atTime(15, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve liberar horário ao remover consulta")
+    void deveLiberarHorario() {
+        AgendaService.Reserva reserva = agendaService.reservar(1L, dia.atTime(14, 0), dia.atTime(15, 0));
+        agendaService.confirmar(reserva, 10L);
+        assertFalse(agendaService.estaLivre(1L, dia.atTime(14, 0), dia.atTime(14, 30)));
+
+        agendaService.liberar(10L);
+
+        assertTrue(agendaService.estaLivre(1L, dia.atTime(14, 0), dia.atTime(14, 30)));
+    }
+
+    @Test
+    @DisplayName("Deve descartar reservas de dias anteriores e manter as de hoje em diante")
+    void deveDescartarReservasPassadas() {
+        AgendaService.Reserva ontem = agendaService.reservar(1L, dia.minusDays(1).atTime(9, 0), dia.minusDays(1).atTime(10, 0));
+        agendaService.confirmar(ontem, 10L);
+        AgendaService.Reserva hoje = agendaService.reservar(1L, dia.atTime(9, 0), dia.atTime(10, 0));
+        agendaService.confirmar(hoje, 11L);
+
+        agendaService.descartarAnteriores(dia);
+
+        assertTrue(agendaService.estaLivre(1L, dia.minusDays(1).atTime(9, 0), dia.minusDays(1).atTime(10, 0)));
+        assertFalse(agendaService.estaLivre(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+        agendaService.liberar(11L);
+        assertTrue(agendaService.estaLivre(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve listar horários livres do expediente ignorando os ocupados")
+    void deveListarHorariosLivres() {
+        agendaService.reservar(1L, dia.atTime(7, 30), dia.atTime(8, 30));
+        agendaService.reservar(1L, dia.atTime(10, 0), dia.atTime(11, 0));
+
+        List<LocalDateTime> livres = agendaService.horariosLivres(1L, dia, Duration.ofMinutes(30), 10);
+
+        assertEquals(List.of(
+                dia.atTime(8, 30),
+                dia.atTime(9, 0),
+                dia.atTime(9, 30),
+                dia.atTime(11, 0),
+                dia.atTime(11, 30)
+        ), livres);
+    }
+
+    @Test
+    @DisplayName("Deve buscar a partir do horário pedido quando o dia já começou")
+    void deveBuscarAPartirDoHorarioPedido() {
+        agendaService = new AgendaService(consultaRepository, transactionManager, "08:00", "18:00", 30);
+        agendaService.reservar(1L, dia.atTime(15, 0), dia.atTime(16, 0));
+
+        // Com a manhã inteira livre, os 3 primeiros horários a partir da abertura ficariam todos antes das 14:00.
+        List<AgendaService.Horario> horarios = agendaService.proximosHorariosLivres(
+                List.of(1L), dia.atTime(14, 0), Duration.ofMinutes(30), 3);
+
+        assertEquals(List.of(dia.atTime(14, 0), dia.atTime(14, 30), dia.atTime(16, 0)),
+                horarios.stream().map(AgendaService.Horario::getInicio).toList());
+    }
+
+    @Test
+    @DisplayName("Deve arredondar para o próximo bloco da grade um início fora dela")
+    void deveArredondarInicioParaAGrade() {
+        agendaService = new AgendaService(consultaRepository, transactionManager, "08:00", "18:00", 30);
+
+        // Como o LocalDateTime.now() usado quando a busca é para hoje.
+        List<AgendaService.Horario> horarios = agendaService.proximosHorariosLivres(
+                List.of(1L), dia.atTime(14, 7, 23, 512_000_000), Duration.ofMinutes(30), 2);
+
+        assertEquals(List.of(dia.atTime(14, 30), dia.atTime(15, 0)),
+                horarios.stream().map(AgendaService.Horario::getInicio).toList());
+        assertEquals(List.of(dia.atTime(14, 30)),
+                agendaService.horariosLivres(1L, dia.atTime(14, 30), Duration.ofMinutes(30), 1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os primeiros horários livres entre vários nutricionistas")
+    void deveBuscarProximosHorariosEntreNutricionistas() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            ids.add(id);
+            // Todos ocupados durante a manhã inteira, exceto o nutricionista 27.
+            if (id != 27) {
+                agendaService.reservar(id, dia.atTime(8, 0), dia.atTime(12, 0));
+            }
+        }
+
+        List<AgendaService.Horario> horarios = agendaService.proximosHorariosLivres(
+                ids, dia.atTime(8, 0), Duration.ofMinutes(60), 3);
+
+        assertEquals(3, horarios.size());
+        assertTrue(horarios.stream().allMatch(horario -> horario.getIdNutricionista() == 27L));
+        assertEquals(dia.atTime(8, 0), horarios.get(0).getInicio());
+        assertEquals(dia.atTime(10, 0), horarios.get(2).getInicio());
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Certificacao;
+import br.com.exemplo.aula.repositories.CertificacaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CertificacaoCatalogoUnitTest {
+
+    @Mock
+    CertificacaoRepository certificacaoRepository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    CertificacaoCatalogo catalogo;
+
+    @BeforeEach
+    public void setup() {
+        catalogo = new CertificacaoCatalogo(certificacaoRepository, jdbcTemplate, transactionManager);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+        when(certificacaoRepository.findAll()).thenReturn(List.of(certificacao(1L, "Esportiva")));
+        catalogo.afterSingletonsInstantiated();
+    }
+
+    private Certificacao certificacao(Long id, String nome) {
+        Certificacao certificacao = new Certificacao();
+        certificacao.setId(id);
+        certificacao.setNome(nome);
+        return certificacao;
+    }
+
+    @Test
+    @DisplayName("Deve buscar no banco os ids criados em outra instância e guardá-los no dicionário")
+    void deveRecarregarIdsAusentes() {
+        when(certificacaoRepository.findAllById(List.of(2L))).thenReturn(List.of(certificacao(2L, "Clínica")));
+
+        assertEquals(Set.of("Esportiva", "Clínica"), catalogo.nomes(List.of(1L, 2L)));
+        assertEquals(Set.of("Clínica"), catalogo.nomes(List.of(2L)));
+        verify(certificacaoRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Deve conferir no banco um nome fora do dicionário antes de devolver nulo")
+    void deveConferirNomeAusente() {
+        when(certificacaoRepository.findByNome("Clínica")).thenReturn(Optional.of(certificacao(2L, "Clínica")));
+        when(certificacaoRepository.findByNome("Pediátrica")).thenReturn(Optional.empty());
+
+        assertEquals(1L, catalogo.idExistente("Esportiva"));
+        assertEquals(2L, catalogo.idExistente("Clínica"));
+        assertEquals(2L, catalogo.idExistente("Clínica"));
+        assertNull(catalogo.idExistente("Pediátrica"));
+        verify(certificacaoRepository, times(1)).findByNome("Clínica");
+    }
+
+    @Test
+    @DisplayName("Deve recusar certificação sem nome com 400")
+    void deveRecusarNomeNulo() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> catalogo.idDe(null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(certificacaoRepository, never()).inserirSeAusente(any());
+    }
+}
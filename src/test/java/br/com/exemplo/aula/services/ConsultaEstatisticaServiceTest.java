@@ -0,0 +1,98 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaEstatisticaDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaRequestDTO;
+import br.com.exemplo.aula.entities.ConsultaEstatistica;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Precisa do PostgreSQL local configurado em application.properties:
+//   mvn test -Dtest=ConsultaEstatisticaServiceTest -Dpostgres.local=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres.local", matches = "true")
+class ConsultaEstatisticaServiceTest {
+
+    @Autowired
+    ConsultaEstatisticaService consultaEstatisticaService;
+
+    @Autowired
+    ConsultaService consultaService;
+
+    @Autowired
+    NutricionistaService nutricionistaService;
+
+    @Autowired
+    NutricionistaRepository nutricionistaRepository;
+
+    @Autowired
+    PacienteRepository pacienteRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Nutricionista nutricionista;
+    Paciente paciente;
+
+    @AfterEach
+    void limpar() {
+        if (nutricionista != null) {
+            jdbcTemplate.update("delete from consulta where nutricionista_id_nutricionista = ?", nutricionista.getId());
+            jdbcTemplate.update("delete from consulta_resumo where id_nutricionista = ?", nutricionista.getId());
+            jdbcTemplate.update("delete from consulta_estatistica where id_nutricionista = ?", nutricionista.getId());
+            nutricionistaRepository.deleteById(nutricionista.getId());
+        }
+        if (paciente != null) {
+            pacienteRepository.deleteById(paciente.getId());
+        }
+    }
+
+    @Test
+    void acompanhaMudancaDeEspecialidadeSemContarDuasVezes() {
+        String sufixo = String.valueOf(System.nanoTime());
+        nutricionista = new Nutricionista();
+        nutricionista.setNome("Estatística " + sufixo);
+        nutricionista.setCrn("CRN");
+        nutricionista.setEspecialidade("Antiga " + sufixo);
+        nutricionistaRepository.save(nutricionista);
+        paciente = new Paciente();
+        paciente.setNome("Paciente estatística");
+        paciente.setCpf(String.format("%011d", System.nanoTime() % 100_000_000_000L));
+        pacienteRepository.save(paciente);
+        LocalDate dia = LocalDate.now().plusDays(1);
+
+        consultaService.salvarConsulta(new ConsultaRequestDTO(nutricionista.getId(), paciente.getId(), dia, null));
+        assertEquals(1, totalDoDia(dia));
+
+        nutricionistaService.alterarNutricionista(nutricionista.getId(), Map.of("especialidade", "Nova " + sufixo), null);
+        assertTrue(porEspecialidade(dia, "Antiga " + sufixo).isEmpty());
+        assertEquals(1, porEspecialidade(dia, "Nova " + sufixo).get(0).getTotal());
+
+        consultaEstatisticaService.reconstruir();
+        assertEquals(1, totalDoDia(dia));
+        assertEquals(1, porEspecialidade(dia, "Nova " + sufixo).get(0).getTotal());
+    }
+
+    private long totalDoDia(LocalDate dia) {
+        return consultaEstatisticaService.buscarEstatisticas(ConsultaEstatistica.Granularidade.DIA, dia, dia,
+                nutricionista.getId(), null, false).stream().mapToLong(ConsultaEstatisticaDTO::getTotal).sum();
+    }
+
+    private List<ConsultaEstatisticaDTO> porEspecialidade(LocalDate dia, String especialidade) {
+        return consultaEstatisticaService.buscarEstatisticas(ConsultaEstatistica.Granularidade.DIA, dia, dia,
+                null, especialidade, true);
+    }
+}
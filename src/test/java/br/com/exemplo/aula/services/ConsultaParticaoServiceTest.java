@@ -0,0 +1,130 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Consulta;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Precisa do PostgreSQL local configurado em application.properties:
+//   mvn test -Dtest=ConsultaParticaoServiceTest -Dpostgres.local=true
+@SpringBootTest(properties = "consulta.particionamento.habilitado=true")
+@EnabledIfSystemProperty(named = "postgres.local", matches = "true")
+class ConsultaParticaoServiceTest {
+
+    @Autowired
+    ConsultaParticaoService consultaParticaoService;
+
+    @Autowired
+    ConsultaRepository consultaRepository;
+
+    @Autowired
+    NutricionistaRepository nutricionistaRepository;
+
+    @Autowired
+    PacienteRepository pacienteRepository;
+
+    @Autowired
+    ConsultaEstatisticaService consultaEstatisticaService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Nutricionista nutricionista;
+    Paciente paciente;
+
+    @AfterEach
+    void limpar() {
+        if (nutricionista != null) {
+            jdbcTemplate.update("delete from consulta where nutricionista_id_nutricionista = ?", nutricionista.getId());
+            jdbcTemplate.update("delete from consulta_arquivo where nutricionista_id_nutricionista = ?", nutricionista.getId());
+            jdbcTemplate.update("delete from consulta_estatistica where id_nutricionista = ?", nutricionista.getId());
+            nutricionistaRepository.deleteById(nutricionista.getId());
+        }
+        if (paciente != null) {
+            pacienteRepository.deleteById(paciente.getId());
+        }
+    }
+
+    @Test
+    void particionaEArquivaMesesAntigos() {
+        assertTrue(consultaParticaoService.estaParticionada());
+        String particaoAtual = "consulta_p" + YearMonth.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
+        assertNotNull(jdbcTemplate.queryForObject("select to_regclass(?)::text", String.class, particaoAtual));
+
+        cadastrar();
+        Consulta antiga = novaConsulta(nutricionista, paciente, LocalDate.now().minusMonths(30));
+        Consulta atual = novaConsulta(nutricionista, paciente, LocalDate.now());
+
+        consultaParticaoService.arquivarParticoesAntigas();
+
+        assertFalse(consultaRepository.existsById(antiga.getId()));
+        assertTrue(consultaRepository.existsById(atual.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from consulta_arquivo where id = ?", Integer.class, antiga.getId()));
+
+        List<String> plano = jdbcTemplate.queryForList(
+                "explain select id from consulta where data between current_date and current_date", String.class);
+        assertTrue(plano.stream().anyMatch(linha -> linha.contains(particaoAtual)));
+        assertTrue(plano.stream().noneMatch(linha -> linha.contains("consulta_padrao")));
+    }
+
+    @Test
+    void arquivamentoRemoveContagensQueAReconstrucaoNaoRecriaria() {
+        cadastrar();
+        LocalDate dataAntiga = LocalDate.now().minusMonths(30);
+        novaConsulta(nutricionista, paciente, dataAntiga);
+        novaConsulta(nutricionista, paciente, LocalDate.now());
+        consultaEstatisticaService.reconstruir();
+        assertEquals(2, totalMensal());
+
+        consultaParticaoService.arquivarParticoesAntigas();
+        assertEquals(1, totalMensal());
+
+        // A mesma regra na reconstrução: ela só lê consulta, então o mês arquivado continua sem contagem.
+        consultaEstatisticaService.reconstruir();
+        assertEquals(1, totalMensal());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from consulta_estatistica where id_nutricionista = ? and periodo <= ?",
+                Integer.class, nutricionista.getId(), dataAntiga));
+    }
+
+    private void cadastrar() {
+        nutricionista = new Nutricionista();
+        nutricionista.setNome("Particionamento " + System.nanoTime());
+        nutricionista.setCrn("CRN");
+        nutricionistaRepository.save(nutricionista);
+        paciente = new Paciente();
+        paciente.setNome("Paciente particionamento");
+        // CPF único por execução: a constraint uk_paciente_cpf recusaria um valor fixo na segunda rodada.
+        paciente.setCpf(String.format("%011d", System.nanoTime() % 100_000_000_000L));
+        pacienteRepository.save(paciente);
+    }
+
+    private long totalMensal() {
+        return jdbcTemplate.queryForObject(
+                "select coalesce(sum(total), 0) from consulta_estatistica where id_nutricionista = ? and granularidade = 'MES'",
+                Long.class, nutricionista.getId());
+    }
+
+    private Consulta novaConsulta(Nutricionista nutricionista, Paciente paciente, LocalDate data) {
+        Consulta consulta = new Consulta();
+        consulta.setNutricionista(nutricionista);
+        consulta.setPaciente(paciente);
+        consulta.setData(data);
+        return consultaRepository.save(consulta);
+    }
+}
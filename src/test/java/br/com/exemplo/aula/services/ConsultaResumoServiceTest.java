@@ -0,0 +1,85 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.entities.Consulta;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Precisa do PostgreSQL local configurado em application.properties:
+//   mvn test -Dtest=ConsultaResumoServiceTest -Dpostgres.local=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres.local", matches = "true")
+class ConsultaResumoServiceTest {
+
+    @Autowired
+    ConsultaResumoService consultaResumoService;
+
+    @Autowired
+    ConsultaResumoRepository consultaResumoRepository;
+
+    @Autowired
+    ConsultaRepository consultaRepository;
+
+    @Autowired
+    NutricionistaRepository nutricionistaRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Nutricionista nutricionista;
+    Consulta consulta;
+
+    @AfterEach
+    void limpar() {
+        if (consulta != null) {
+            consultaRepository.deleteById(consulta.getId());
+            consultaResumoRepository.deleteById(consulta.getId());
+        }
+        if (nutricionista != null) {
+            nutricionistaRepository.deleteById(nutricionista.getId());
+        }
+    }
+
+    @Test
+    void reconciliaResumoComConsultasSemPaciente() {
+        nutricionista = new Nutricionista();
+        nutricionista.setNome("Resumo " + System.nanoTime());
+        nutricionista.setCrn("CRN");
+        nutricionistaRepository.save(nutricionista);
+        // Gravada direto pelo repositório: nenhum evento chega ao resumo, como se o listener tivesse falhado.
+        consulta = new Consulta();
+        consulta.setNutricionista(nutricionista);
+        consulta.setData(LocalDate.now());
+        consultaRepository.save(consulta);
+
+        assertTrue(consultaResumoService.reconciliarResumo() >= 1);
+        ConsultaResponseListDTO linha = buscar(consulta.getId()).orElseThrow();
+        assertEquals(nutricionista.getNome(), linha.getNomeNutricionista());
+        assertNull(linha.getNomePaciente());
+
+        jdbcTemplate.update("update consulta_resumo set nome_nutricionista = 'divergente' where id = ?", consulta.getId());
+        consultaResumoService.reconciliarResumo();
+        assertEquals(nutricionista.getNome(), buscar(consulta.getId()).orElseThrow().getNomeNutricionista());
+
+        consultaRepository.deleteById(consulta.getId());
+        consultaResumoService.reconciliarResumo();
+        assertTrue(buscar(consulta.getId()).isEmpty());
+    }
+
+    private Optional<ConsultaResponseListDTO> buscar(Long id) {
+        return consultaResumoRepository.listarResumo().stream().filter(linha -> linha.getId().equals(id)).findFirst();
+    }
+}
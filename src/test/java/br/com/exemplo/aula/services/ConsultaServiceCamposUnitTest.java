@@ -0,0 +1,111 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaServiceCamposUnitTest {
+
+    @Mock
+    ConsultaRepository consultaRepository;
+
+    @Mock
+    ConsultaResumoRepository consultaResumoRepository;
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    @Mock
+    PacienteRepository pacienteRepository;
+
+    @Mock
+    AgendaService agendaService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    ConsultaService consultaService;
+
+    @BeforeEach
+    public void setup() {
+        // Mesmas configurações de datas do ObjectMapper do Spring Boot.
+        JsonMapper objectMapper = JsonMapper.builder().findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        consultaService = new ConsultaService(consultaRepository, consultaResumoRepository, nutricionistaRepository,
+                pacienteRepository, agendaService, objectMapper, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve devolver só os campos pedidos, na ordem pedida e com os formatos do ConsultaResponseDTO")
+    void deveFormatarCamposPedidos() {
+        List<String> campos = List.of("horaInicio", "data", "nomePaciente", "id");
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("horaInicio", LocalTime.of(9, 30));
+        valores.put("data", LocalDate.of(2024, 5, 10));
+        valores.put("nomePaciente", "Bruno");
+        valores.put("id", 1L);
+        when(consultaRepository.buscarCampos(1L, campos)).thenReturn(valores);
+
+        Map<String, Object> resposta = consultaService.buscarConsulta(1L, campos);
+
+        assertEquals(List.of("horaInicio", "data", "nomePaciente", "id"), List.copyOf(resposta.keySet()));
+        assertEquals("09:30", resposta.get("horaInicio"));
+        assertEquals("10/05/2024", resposta.get("data"));
+        assertEquals("Bruno", resposta.get("nomePaciente"));
+        assertEquals(1L, resposta.get("id"));
+    }
+
+    @Test
+    @DisplayName("Deve manter como nulo um campo pedido sem valor")
+    void deveManterCampoNulo() {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("horaFim", null);
+        when(consultaRepository.buscarCampos(1L, List.of("horaFim"))).thenReturn(valores);
+
+        Map<String, Object> resposta = consultaService.buscarConsulta(1L, List.of("horaFim"));
+
+        assertTrue(resposta.containsKey("horaFim"));
+        assertNull(resposta.get("horaFim"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 um campo que não existe no detalhe, sem ir ao banco")
+    void deveRecusarCampoDesconhecido() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> consultaService.buscarConsulta(1L, List.of("id", "senha")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        verify(consultaRepository, never()).buscarCampos(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar nulo quando a consulta não existe")
+    void deveRetornarNuloParaConsultaInexistente() {
+        when(consultaRepository.buscarCampos(2L, List.of("id"))).thenReturn(null);
+
+        assertNull(consultaService.buscarConsulta(2L, List.of("id")));
+    }
+}
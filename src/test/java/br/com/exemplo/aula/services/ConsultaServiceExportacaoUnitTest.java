@@ -0,0 +1,123 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Consulta;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaServiceExportacaoUnitTest {
+
+    @Mock
+    ConsultaRepository consultaRepository;
+
+    @Mock
+    ConsultaResumoRepository consultaResumoRepository;
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    @Mock
+    PacienteRepository pacienteRepository;
+
+    @Mock
+    AgendaService agendaService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    EntityManager entityManager;
+
+    ConsultaService consultaService;
+
+    @BeforeEach
+    public void setup() {
+        // Mesmas configurações de datas do ObjectMapper do Spring Boot.
+        JsonMapper objectMapper = JsonMapper.builder().findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        consultaService = new ConsultaService(consultaRepository, consultaResumoRepository, nutricionistaRepository,
+                pacienteRepository, agendaService, objectMapper, eventPublisher);
+        ReflectionTestUtils.setField(consultaService, "entityManager", entityManager);
+        when(consultaRepository.streamTodas()).thenReturn(Stream.of(
+                consulta(1L, "Ana", "Bruno", LocalDate.of(2024, 5, 10)),
+                consulta(2L, "Carla, Souza", "Davi \"D\"", LocalDate.of(2024, 5, 11)),
+                consulta(3L, "Eva", "Fábio", LocalDate.of(2024, 5, 12)),
+                orfa(4L, LocalDate.of(2024, 5, 13))));
+    }
+
+    private Consulta consulta(Long id, String nomeNutricionista, String nomePaciente, LocalDate data) {
+        Nutricionista nutricionista = new Nutricionista();
+        nutricionista.setNome(nomeNutricionista);
+        Paciente paciente = new Paciente();
+        paciente.setNome(nomePaciente);
+        Consulta consulta = new Consulta();
+        consulta.setId(id);
+        consulta.setNutricionista(nutricionista);
+        consulta.setPaciente(paciente);
+        consulta.setData(data);
+        return consulta;
+    }
+
+    // Consulta sem nutricionista nem paciente, que o left join da exportação precisa manter.
+    private Consulta orfa(Long id, LocalDate data) {
+        Consulta consulta = new Consulta();
+        consulta.setId(id);
+        consulta.setData(data);
+        return consulta;
+    }
+
+    private String exportar(String formato) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        consultaService.exportarConsultas(formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Deve exportar NDJSON com um objeto por linha, sem separador antes das linhas seguintes")
+    void deveExportarNdjson() throws Exception {
+        assertEquals("""
+                {"id":1,"nomeNutricionista":"Ana","nomePaciente":"Bruno","data":"2024-05-10"}
+                {"id":2,"nomeNutricionista":"Carla, Souza","nomePaciente":"Davi \\"D\\"","data":"2024-05-11"}
+                {"id":3,"nomeNutricionista":"Eva","nomePaciente":"Fábio","data":"2024-05-12"}
+                {"id":4,"nomeNutricionista":null,"nomePaciente":null,"data":"2024-05-13"}
+                """, exportar("ndjson"));
+        verify(entityManager, times(4)).detach(any(Consulta.class));
+        verify(entityManager, times(3)).detach(any(Nutricionista.class));
+        verify(entityManager, times(3)).detach(any(Paciente.class));
+    }
+
+    @Test
+    @DisplayName("Deve exportar CSV com cabeçalho e campos com vírgula ou aspas entre aspas")
+    void deveExportarCsv() throws Exception {
+        assertEquals("""
+                id,nomeNutricionista,nomePaciente,data
+                1,Ana,Bruno,2024-05-10
+                2,"Carla, Souza","Davi ""D\"\"",2024-05-11
+                3,Eva,Fábio,2024-05-12
+                4,,,2024-05-13
+                """, exportar("csv"));
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaLoteItemDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaRequestDTO;
+import br.com.exemplo.aula.entities.Consulta;
+import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.events.ConsultasSalvasEvent;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaServiceLoteUnitTest {
+
+    @Mock
+    ConsultaRepository consultaRepository;
+
+    @Mock
+    ConsultaResumoRepository consultaResumoRepository;
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    @Mock
+    PacienteRepository pacienteRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    EntityManager entityManager;
+
+    AgendaService agendaService;
+    ConsultaService consultaService;
+
+    LocalDate dia = LocalDate.of(2024, 11, 11);
+
+    @BeforeEach
+    public void setup() {
+        // Agenda de verdade, para conferir quais horários ficam reservados depois do lote.
+        agendaService = new AgendaService(consultaRepository, transactionManager, "08:00", "18:00", 30);
+        consultaService = new ConsultaService(consultaRepository, consultaResumoRepository, nutricionistaRepository,
+                pacienteRepository, agendaService, JsonMapper.builder().findAndAddModules().build(), eventPublisher);
+        ReflectionTestUtils.setField(consultaService, "entityManager", entityManager);
+
+        // Como o persist com a sequência: o id já existe antes do flush.
+        AtomicLong sequencia = new AtomicLong(100);
+        lenient().doAnswer(invocacao -> {
+            invocacao.<Consulta>getArgument(0).setId(sequencia.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Consulta.class));
+        lenient().when(nutricionistaRepository.getReferenceById(any())).thenAnswer(invocacao -> new Nutricionista());
+        lenient().when(pacienteRepository.getReferenceById(any())).thenAnswer(invocacao -> new Paciente());
+        when(nutricionistaRepository.buscarIdsExistentes(any())).thenReturn(List.of(1L, 2L));
+        when(pacienteRepository.buscarIdsExistentes(any())).thenReturn(List.of(10L));
+
+        // Sincronização de transação ativa, como dentro do @Transactional.
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void limpar() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void concluirTransacao(int status) {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private ConsultaRequestDTO request(Long idNutricionista, Long idPaciente, LocalDate data, int horaInicio) {
+        return new ConsultaRequestDTO(idNutricionista, idPaciente, data,
+                LocalTime.of(horaInicio, 0), LocalTime.of(horaInicio + 1, 0), null);
+    }
+
+    @Test
+    @DisplayName("Deve salvar as linhas válidas e devolver o erro de cada inválida na mesma posição")
+    void deveSalvarLinhasValidasEApontarAsInvalidas() {
+        List<ConsultaLoteItemDTO> resultados = consultaService.salvarConsultas(List.of(
+                request(1L, 10L, dia, 9),
+                request(3L, 10L, dia, 9),
+                request(1L, 11L, dia, 9),
+                request(1L, 10L, null, 9),
+                request(1L, 10L, dia, 9),
+                request(2L, 10L, dia, 9)));
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), resultados.stream().map(ConsultaLoteItemDTO::getIndice).toList());
+        assertEquals(101L, resultados.get(0).getId());
+        assertEquals("Nutricionista não encontrado: 3", resultados.get(1).getErro());
+        assertEquals("Paciente não encontrado: 11", resultados.get(2).getErro());
+        assertEquals("Data da consulta não informada.", resultados.get(3).getErro());
+        // Conflita com a linha 0, do mesmo lote.
+        assertNull(resultados.get(4).getId());
+        assertNotNull(resultados.get(4).getErro());
+        assertEquals(102L, resultados.get(5).getId());
+        verify(entityManager, times(2)).persist(any(Consulta.class));
+
+        ArgumentCaptor<ConsultasSalvasEvent> evento = ArgumentCaptor.forClass(ConsultasSalvasEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(List.of(101L, 102L), evento.getValue().getIds());
+        assertFalse(agendaService.estaLivre(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+        assertFalse(agendaService.estaLivre(2L, dia.atTime(9, 0), dia.atTime(10, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve devolver à agenda os horários reservados pelo lote quando a transação é desfeita")
+    void deveDevolverReservasQuandoDesfeita() {
+        List<ConsultaLoteItemDTO> resultados = consultaService.salvarConsultas(List.of(
+                request(1L, 10L, dia, 9),
+                request(2L, 10L, dia, 14)));
+        assertTrue(resultados.stream().allMatch(resultado -> resultado.getErro() == null));
+        assertFalse(agendaService.estaLivre(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+
+        concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(agendaService.estaLivre(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+        assertTrue(agendaService.estaLivre(2L, dia.atTime(14, 0), dia.atTime(15, 0)));
+        // O horário devolvido pode ser reservado de novo.
+        assertDoesNotThrow(() -> agendaService.reservar(1L, dia.atTime(9, 0), dia.atTime(10, 0)));
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.controllers.dto.ConsultaPaginaDTO;
+import br.com.exemplo.aula.controllers.dto.ConsultaResponseListDTO;
+import br.com.exemplo.aula.repositories.ConsultaRepository;
+import br.com.exemplo.aula.repositories.ConsultaResumoRepository;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaServicePaginacaoUnitTest {
+
+    @Mock
+    ConsultaRepository consultaRepository;
+
+    @Mock
+    ConsultaResumoRepository consultaResumoRepository;
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    @Mock
+    PacienteRepository pacienteRepository;
+
+    @Mock
+    AgendaService agendaService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    ConsultaService consultaService;
+
+    LocalDate dia = LocalDate.of(2024, 5, 10);
+
+    @BeforeEach
+    public void setup() {
+        consultaService = new ConsultaService(consultaRepository, consultaResumoRepository, nutricionistaRepository,
+                pacienteRepository, agendaService, JsonMapper.builder().findAndAddModules().build(), eventPublisher);
+    }
+
+    // Linhas com ids a partir de "primeiro", uma por dia.
+    private List<ConsultaResponseListDTO> linhas(long primeiro, int quantidade) {
+        List<ConsultaResponseListDTO> linhas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new ConsultaResponseListDTO(primeiro + i, "Ana", "Bruno", dia.plusDays(i)));
+        }
+        return linhas;
+    }
+
+    @Test
+    @DisplayName("Deve continuar a próxima página logo depois da última consulta devolvida")
+    void deveContinuarDoCursor() {
+        when(consultaResumoRepository.buscarPagina(eq(LocalDate.of(1, 1, 1)), eq(0L), any(), eq(Limit.of(4))))
+                .thenReturn(linhas(1L, 4));
+
+        ConsultaPaginaDTO primeira = consultaService.listarConsultasPaginadas(3, null, null, null);
+
+        assertEquals(List.of(1L, 2L, 3L), primeira.getConsultas().stream().map(ConsultaResponseListDTO::getId).toList());
+        assertNotNull(primeira.getNext());
+
+        when(consultaResumoRepository.buscarPagina(eq(dia.plusDays(2)), eq(3L), any(), eq(Limit.of(4))))
+                .thenReturn(linhas(4L, 1));
+
+        ConsultaPaginaDTO segunda = consultaService.listarConsultasPaginadas(3, primeira.getNext(), null, null);
+
+        assertEquals(List.of(4L), segunda.getConsultas().stream().map(ConsultaResponseListDTO::getId).toList());
+        assertNull(segunda.getNext());
+    }
+
+    @Test
+    @DisplayName("Não deve devolver cursor quando a última página vem exatamente cheia")
+    void naoDeveApontarParaPaginaVazia() {
+        when(consultaResumoRepository.buscarPagina(any(), eq(0L), any(), eq(Limit.of(4)))).thenReturn(linhas(1L, 3));
+
+        ConsultaPaginaDTO pagina = consultaService.listarConsultasPaginadas(3, null, null, null);
+
+        assertEquals(3, pagina.getConsultas().size());
+        assertNull(pagina.getNext());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 um cursor que não foi gerado pela listagem")
+    void deveRecusarCursorInvalido() {
+        String semId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-05-10".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("%%%", semId, "bm9uc2Vuc2U")) {
+            ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                    () -> consultaService.listarConsultasPaginadas(3, cursor, null, null));
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        }
+        verifyNoInteractions(consultaResumoRepository);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NomeNutricionistaIndiceUnitTest {
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    NomeNutricionistaIndice indice;
+
+    @BeforeEach
+    public void setup() {
+        indice = new NomeNutricionistaIndice(nutricionistaRepository);
+        indice.registrar(1L, "Ana");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar sem ir ao banco quando o nome não está no índice ou é do próprio nutricionista")
+    void deveConfiarNaAusencia() {
+        assertFalse(indice.pertenceAOutro("Bia", null));
+        assertFalse(indice.pertenceAOutro("Ana", 1L));
+        verifyNoInteractions(nutricionistaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar no banco antes de recusar um nome que o índice aponta para outro")
+    void deveConfirmarNoBanco() {
+        when(nutricionistaRepository.buscarIdPorNome("Ana")).thenReturn(Optional.of(1L));
+        assertTrue(indice.pertenceAOutro("Ana", 2L));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e corrigir o índice quando o nome foi trocado em outra instância")
+    void deveCorrigirIndiceDesatualizado() {
+        when(nutricionistaRepository.buscarIdPorNome("Ana")).thenReturn(Optional.empty());
+        assertFalse(indice.pertenceAOutro("Ana", 2L));
+        assertFalse(indice.pertenceAOutro("Ana", 3L));
+        verify(nutricionistaRepository, times(1)).buscarIdPorNome("Ana");
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.events.CertificacaoAdicionadaEvent;
+import br.com.exemplo.aula.events.NutricionistaRemovidoEvent;
+import br.com.exemplo.aula.events.NutricionistaSalvoEvent;
+import br.com.exemplo.aula.repositories.NutricionistaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NutricionistaBuscaIndiceUnitTest {
+
+    @Mock
+    NutricionistaRepository nutricionistaRepository;
+
+    NutricionistaBuscaIndice indice;
+
+    @BeforeEach
+    public void setup() {
+        indice = new NutricionistaBuscaIndice(nutricionistaRepository);
+        indice.aoSalvarNutricionista(new NutricionistaSalvoEvent(1L, "Ana", "Esportiva", 2));
+        indice.aoSalvarNutricionista(new NutricionistaSalvoEvent(2L, "Bia", "esportiva", 8));
+        indice.aoSalvarNutricionista(new NutricionistaSalvoEvent(3L, "Caio", "Clínica", 10));
+        indice.aoAdicionarCertificacao(new CertificacaoAdicionadaEvent(2L, 7L));
+        indice.aoAdicionarCertificacao(new CertificacaoAdicionadaEvent(3L, 7L));
+    }
+
+    @Test
+    @DisplayName("Deve combinar especialidade, certificação e experiência mínima")
+    void deveCombinarCriterios() {
+        assertEquals(List.of(1L, 2L), indice.buscar(" ESPORTIVA", null, null, 10));
+        assertEquals(List.of(2L), indice.buscar("Esportiva", 7L, 5, 10));
+        assertEquals(List.of(2L, 3L), indice.buscar(null, 7L, null, 10));
+        assertEquals(List.of(3L), indice.buscar(null, null, 9, 10));
+        assertTrue(indice.buscar("Pediátrica", null, null, 10).isEmpty());
+        assertEquals(List.of(1L, 2L), indice.buscar(null, null, null, 2));
+    }
+
+    @Test
+    @DisplayName("Deve reindexar nutricionista atualizado e remover excluído")
+    void deveReindexarERemover() {
+        indice.aoSalvarNutricionista(new NutricionistaSalvoEvent(1L, "Ana", "Clínica", 12));
+
+        assertEquals(List.of(2L), indice.buscar("Esportiva", null, null, 10));
+        assertEquals(List.of(1L, 3L), indice.buscar("Clínica", null, 10, 10));
+
+        indice.aoRemoverNutricionista(new NutricionistaRemovidoEvent(3L));
+
+        assertEquals(List.of(1L), indice.buscar("Clínica", null, null, 10));
+        assertEquals(List.of(2L), indice.buscar(null, 7L, null, 10));
+    }
+}
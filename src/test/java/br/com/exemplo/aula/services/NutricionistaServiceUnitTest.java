@@ -3,6 +3,8 @@ package br.com.exemplo.aula.services;
 import br.com.exemplo.aula.controllers.dto.NutricionistaRequestDTO;
 import br.com.exemplo.aula.controllers.dto.NutricionistaResponseDTO;
 import br.com.exemplo.aula.entities.Nutricionista;
+import br.com.exemplo.aula.events.ExperienciaIncrementadaEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
 import br.com.exemplo.aula.repositories.NutricionistaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 
@@ -25,6 +30,24 @@ public class NutricionistaServiceUnitTest {
     @Mock
     NutricionistaRepository nutricionistaRepository;
 
+    @Mock
+    NomeNutricionistaIndice nomeNutricionistaIndice;
+
+    @Mock
+    CertificacaoCatalogo certificacaoCatalogo;
+
+    @Mock
+    NutricionistaBuscaIndice nutricionistaBuscaIndice;
+
+    @Mock
+    NutricionistaTrigramaIndice nutricionistaTrigramaIndice;
+
+    @Mock
+    ColecaoVersaoRepository colecaoVersaoRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     NutricionistaService nutricionistaService;
 
@@ -109,6 +132,31 @@ public class NutricionistaServiceUnitTest {
         verify(nutricionistaRepository).save(Mockito.any(Nutricionista.class));
     }
 
+    @Test
+    @DisplayName("Deve recusar nutricionista com nome já cadastrado sem consultar o banco")
+    void deveRecusarNomeDuplicado() {
+
+        NutricionistaRequestDTO request = new NutricionistaRequestDTO(
+                "Nome de nutricionista",
+                "Número de matrícula",
+                1,
+                1L,
+                "Número de CRN",
+                "Especialidade"
+        );
+
+        // Given
+        when(nomeNutricionistaIndice.pertenceAOutro(request.getNome(), null)).thenReturn(true);
+
+        // When
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> nutricionistaService.salvarNutricionista(request));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, erro.getStatusCode());
+        verifyNoInteractions(nutricionistaRepository);
+    }
+
     @Test
     @DisplayName("Deve atualizar nutricionista existente via id e retornar dados atualizados")
     void deveAtualizarNutricionista() {
@@ -157,21 +205,16 @@ public class NutricionistaServiceUnitTest {
     @DisplayName("Deve adicionar 1 ano de experiência a nutricionista via id")
     void deveAdicionarAnoExperiencia() {
 
-        // Define um nutricionista com 1 ano de experiência inicialmente
-        Nutricionista nutricionista = new Nutricionista();
-        nutricionista.setTempoExperiencia(1);
-
-        // Configura o mock para retornar o nutricionista criado quando findById for chamado
-        when(nutricionistaRepository.findById(anyLong())).thenReturn(Optional.of(nutricionista));
+        // Configura o mock para indicar que uma linha foi atualizada
+        when(nutricionistaRepository.incrementarExperiencia(1L)).thenReturn(1);
 
         // Chama o método que adiciona um ano de experiência
-        nutricionistaService.adicionarAnoExperiencia(anyLong());
-
-        // Verifica se o tempo de experiência foi atualizado para 2
-        assertEquals(2, nutricionista.getTempoExperiencia());
+        nutricionistaService.adicionarAnoExperiencia(1L);
 
-        // Verifica se o método findById foi chamado
-        verify(nutricionistaRepository).findById(anyLong());
+        // Verifica que o incremento foi feito com um UPDATE, sem carregar a entidade
+        verify(nutricionistaRepository).incrementarExperiencia(1L);
+        verify(nutricionistaRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(any(ExperienciaIncrementadaEvent.class));
     }
 
     @Test
@@ -179,14 +222,26 @@ public class NutricionistaServiceUnitTest {
     void deveAdicionarCertificacao() {
 
         // Given
-        when(nutricionistaRepository.findById(anyLong())).thenReturn(Optional.ofNullable(nutricionista));
+        when(certificacaoCatalogo.idDe("Certificação 3")).thenReturn(3L);
 
         // When
         nutricionistaService.adicionarCertificacao("Certificação 3", 1L);
 
         // Then
-        assertTrue(nutricionista.getCertificacoes().contains("Certificação 3"));
-        verify(nutricionistaRepository).findById(anyLong());
+        verify(nutricionistaRepository).adicionarCertificacao(1L, 3L);
+        verify(nutricionistaRepository, never()).findById(anyLong());
+
+    }
 
+    @Test
+    @DisplayName("Deve recusar com 400 um campo maior que a coluna na alteração parcial")
+    void deveRecusarCampoLongoNaAlteracao() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> nutricionistaService.alterarNutricionista(1L, Map.of("especialidade", "é".repeat(256)), 2L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        // 255 caracteres, não bytes: acentos contam um.
+        assertDoesNotThrow(() -> PatchUtil.texto("especialidade", "é".repeat(255)));
+        verifyNoInteractions(nutricionistaRepository);
     }
 }
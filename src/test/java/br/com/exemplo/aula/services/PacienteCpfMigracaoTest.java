@@ -0,0 +1,72 @@
+package br.com.exemplo.aula.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Precisa do PostgreSQL local configurado em application.properties:
+//   mvn test -Dtest=PacienteCpfMigracaoTest -Dpostgres.local=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres.local", matches = "true")
+class PacienteCpfMigracaoTest {
+
+    @Autowired
+    PacienteCpfMigracao pacienteCpfMigracao;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // Prefixo de 8 dígitos por execução, para não colidir com os CPFs da massa nem de rodadas anteriores.
+    String prefixo = String.format("%08d", System.nanoTime() % 100_000_000L);
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("delete from paciente where regexp_replace(cpf, '[^0-9]', '', 'g') like ?", prefixo + "%");
+    }
+
+    @Test
+    void normalizaUmaVezESemColisoes() {
+        inserir("Livre", prefixo.substring(0, 3) + "." + prefixo.substring(3, 6) + "." + prefixo.substring(6) + "1-00");
+        inserir("Formatado", prefixo + "2-00");
+        inserir("Só dígitos", prefixo + "200");
+        inserir("Antigo A", prefixo + "3-00");
+        inserir("Antigo B", prefixo + "3.00");
+
+        jdbcTemplate.update("delete from migracao where nome = ?", PacienteCpfMigracao.MIGRACAO);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> pacienteCpfMigracao.normalizarCpfs());
+
+        assertEquals(prefixo + "100", cpf("Livre"));
+        assertEquals(prefixo + "2-00", cpf("Formatado"));
+        assertEquals(prefixo + "3-00", cpf("Antigo A"));
+        assertEquals(prefixo + "3.00", cpf("Antigo B"));
+
+        // Já registrada: a próxima subida não toca mais nos CPFs.
+        inserir("Depois", prefixo + "4-00");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> pacienteCpfMigracao.normalizarCpfs());
+        assertEquals(prefixo + "4-00", cpf("Depois"));
+        assertDoesNotThrow(pacienteCpfMigracao::conferirIndiceUnico);
+    }
+
+    private void inserir(String nome, String cpf) {
+        jdbcTemplate.update("insert into paciente (nome, cpf) values (?, ?)", nome + " " + prefixo, cpf);
+    }
+
+    private String cpf(String nome) {
+        List<String> cpfs = jdbcTemplate.queryForList("select cpf from paciente where nome = ?", String.class,
+                nome + " " + prefixo);
+        assertEquals(1, cpfs.size());
+        return cpfs.get(0);
+    }
+}
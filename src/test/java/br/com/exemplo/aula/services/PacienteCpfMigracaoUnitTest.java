@@ -0,0 +1,36 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.Paciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PacienteCpfMigracaoUnitTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Deve impedir a subida quando o índice único de CPF não existe")
+    void deveFalharSemIndiceUnico() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(Paciente.UK_CPF))).thenReturn(0);
+        PacienteCpfMigracao migracao = new PacienteCpfMigracao(jdbcTemplate, transactionManager);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, migracao::afterSingletonsInstantiated);
+        assertTrue(e.getMessage().contains(Paciente.UK_CPF));
+        verifyNoInteractions(transactionManager);
+    }
+}
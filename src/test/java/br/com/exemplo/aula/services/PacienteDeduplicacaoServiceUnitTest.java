@@ -0,0 +1,195 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import br.com.exemplo.aula.entities.PacienteDuplicidade;
+import br.com.exemplo.aula.events.PacientesMescladosEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import br.com.exemplo.aula.repositories.PacienteDeduplicacaoView;
+import br.com.exemplo.aula.repositories.PacienteDuplicidadeRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PacienteDeduplicacaoServiceUnitTest {
+
+    @Mock
+    PacienteRepository pacienteRepository;
+
+    @Mock
+    PacienteDuplicidadeRepository duplicidadeRepository;
+
+    @Mock
+    ColecaoVersaoRepository colecaoVersaoRepository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    Cache cachePacientes;
+
+    PacienteDeduplicacaoService deduplicacaoService;
+
+    @BeforeEach
+    void setup() {
+        when(cacheManager.getCache(CacheConfig.PACIENTES)).thenReturn(cachePacientes);
+        deduplicacaoService = new PacienteDeduplicacaoService(pacienteRepository, duplicidadeRepository,
+                colecaoVersaoRepository, jdbcTemplate, transactionTemplate, transactionManager, eventPublisher,
+                cacheManager, 0.75, 0.5, 3, 2000, 2, 500);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Deve sugerir só os pacientes parecidos do mesmo bloco, mantendo o menor id")
+    void deveSugerirDuplicadosDoMesmoBloco() {
+        LocalDate nascimento = LocalDate.of(1980, 5, 10);
+        // Na ordem do stream: data de nascimento e CPF.
+        when(pacienteRepository.streamParaDeduplicacao()).thenReturn(Stream.of(
+                // Mesmo telefone e e-mail da Maria, mas outro nome: familiar, não duplicado.
+                new Paciente(3L, "João Pereira", nascimento, "12311111111", "(48) 99999-1111", "maria@teste.com"),
+                new Paciente(1L, "Maria Aparecida da Silva", nascimento, "12345678901", "(48) 99999-1111", "maria@teste.com"),
+                new Paciente(2L, "Maria Aparecida Silva", nascimento, "12399999999", "48 9999-1111", "MARIA@teste.com "),
+                // Mesmo nome, mas outro prefixo de CPF ou outra data: fora do bloco.
+                new Paciente(5L, "Maria Aparecida da Silva", nascimento, "98700000000", null, null),
+                new Paciente(4L, "Maria Aparecida da Silva", nascimento.plusDays(1), "12345678902", null, null)));
+
+        var resultado = deduplicacaoService.analisar();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<PacienteSimilaridade.Sugestao>> sugestoes = ArgumentCaptor.forClass(Collection.class);
+        verify(duplicidadeRepository).deleteAllInBatch();
+        verify(jdbcTemplate).batchUpdate(anyString(), sugestoes.capture(), eq(1000),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, sugestoes.getValue().size());
+        PacienteSimilaridade.Sugestao sugestao = sugestoes.getValue().iterator().next();
+        assertEquals(1L, sugestao.idMantido());
+        assertEquals(2L, sugestao.idDuplicado());
+        assertTrue(sugestao.pontuacao() > 0.75);
+
+        assertEquals(5, resultado.getPacientesLidos());
+        assertEquals(1, resultado.getBlocosComparados());
+        assertEquals(3, resultado.getParesComparados());
+        assertEquals(1, resultado.getSugestoes());
+    }
+
+    @Test
+    @DisplayName("Deve passar as consultas para o paciente mantido e remover o duplicado")
+    void deveMesclarSugestao() {
+        PacienteDuplicidade sugestao = new PacienteDuplicidade();
+        sugestao.setId(7L);
+        sugestao.setIdPacienteMantido(1L);
+        sugestao.setIdPacienteDuplicado(2L);
+        when(duplicidadeRepository.findById(7L)).thenReturn(Optional.of(sugestao));
+        when(pacienteRepository.buscarIdsExistentes(any())).thenReturn(List.of(1L, 2L));
+        lenient().when(jdbcTemplate.batchUpdate(startsWith("update consulta"), anyList())).thenReturn(new int[]{3});
+
+        var resultado = deduplicacaoService.mesclarSugestao(7L);
+
+        assertEquals(1, resultado.getPacientesMesclados());
+        assertEquals(3, resultado.getConsultasReatribuidas());
+        verify(jdbcTemplate).batchUpdate(startsWith("delete from paciente"), anyList());
+        verify(colecaoVersaoRepository).incrementar(ColecaoVersao.PACIENTES);
+        verify(duplicidadeRepository).removerPorPacientes(Set.of(2L));
+        ArgumentCaptor<PacientesMescladosEvent> evento = ArgumentCaptor.forClass(PacientesMescladosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(Map.of(2L, 1L), evento.getValue().getMantidoPorDuplicado());
+        verify(cachePacientes).evict(1L);
+        verify(cachePacientes).evict(2L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar a sugestão cujo paciente já foi removido")
+    void deveDescartarSugestaoDePacienteRemovido() {
+        PacienteDuplicidade sugestao = new PacienteDuplicidade();
+        sugestao.setId(7L);
+        sugestao.setIdPacienteMantido(1L);
+        sugestao.setIdPacienteDuplicado(2L);
+        when(duplicidadeRepository.findById(7L)).thenReturn(Optional.of(sugestao));
+        when(pacienteRepository.buscarIdsExistentes(any())).thenReturn(List.of(1L));
+
+        var resultado = deduplicacaoService.mesclarSugestao(7L);
+
+        assertEquals(0, resultado.getPacientesMesclados());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(duplicidadeRepository).removerPorPacientes(Set.of(2L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private record Paciente(Long id, String nome, LocalDate dataNascimento, String cpf, String telefone, String email)
+            implements PacienteDeduplicacaoView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public LocalDate getDataNascimento() {
+            return dataNascimento;
+        }
+
+        @Override
+        public String getCpf() {
+            return cpf;
+        }
+
+        @Override
+        public String getTelefone() {
+            return telefone;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+}
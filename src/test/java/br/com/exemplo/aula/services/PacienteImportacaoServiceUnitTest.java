@@ -0,0 +1,162 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.entities.ColecaoVersao;
+import br.com.exemplo.aula.events.PacientesImportadosEvent;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PacienteImportacaoServiceUnitTest {
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    ColecaoVersaoRepository colecaoVersaoRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    PacienteImportacaoService importacaoService;
+
+    @BeforeEach
+    void setup() {
+        importacaoService = new PacienteImportacaoService(jdbcTemplate, transactionTemplate, colecaoVersaoRepository,
+                eventPublisher, 1000, 1000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Deve inserir as linhas válidas e relatar as rejeitadas com o número da linha")
+    void deveImportarERelatarErros() throws Exception {
+        // O banco devolve só o primeiro CPF: o segundo já estava cadastrado.
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id_paciente")).thenReturn(10L);
+            when(rs.getString("cpf")).thenReturn("12345678901");
+            when(rs.getString("nome")).thenReturn("Ana Lima");
+            invocation.<RowCallbackHandler>getArgument(3).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(Object[].class), any(int[].class), any(RowCallbackHandler.class));
+
+        String csv = """
+                nome;cpf;dataNascimento;email
+                Ana Lima;123.456.789-01;17/06/1979;ana@teste.com
+                Bruno Reis;98765432100;1980-02-01;
+                Carla;123;01/01/1990;
+                ;11122233344;;
+                Ana Lima de novo;12345678901;;
+                Daniel;55566677788;31/02/1990;
+                """;
+
+        var resultado = importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, resultado.getLinhasLidas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(5, resultado.getRejeitados());
+        assertEquals(List.of(4L, 5L, 7L, 6L, 3L),
+                resultado.getErros().stream().map(erro -> erro.getLinha()).toList());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(Object[].class), any(int[].class), any(RowCallbackHandler.class));
+        verify(eventPublisher).publishEvent(any(PacientesImportadosEvent.class));
+        verify(colecaoVersaoRepository).incrementar(ColecaoVersao.PACIENTES);
+    }
+
+    @Test
+    @DisplayName("Deve separar campos entre aspas contendo o separador")
+    void deveSepararCamposComAspas() {
+        assertEquals(List.of("Silva, Ana", "1", "diz \"oi\"", ""),
+                PacienteImportacaoService.campos("\"Silva, Ana\",1,\"diz \"\"oi\"\"\",", ','));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campos maiores que as colunas sem enviar a linha ao banco")
+    void deveRejeitarCamposLongos() {
+        String csv = "nome,cpf,telefone,email\n"
+                + "A".repeat(256) + ",12345678901,,\n"
+                + "Ana,12345678902," + "9".repeat(256) + ",\n"
+                + "Bia,12345678903,,b@" + "x".repeat(300) + "\n";
+
+        var resultado = importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, resultado.getRejeitados());
+        assertEquals(List.of("Nome com mais de 255 caracteres.", "Telefone com mais de 255 caracteres.",
+                "Email com mais de 255 caracteres."), resultado.getErros().stream().map(erro -> erro.getErro()).toList());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve refazer linha a linha um lote recusado pelo banco e relatar só a linha com problema")
+    void deveRefazerLoteRecusado() throws Exception {
+        doThrow(new DataIntegrityViolationException("lote", new SQLException("ERROR: valor inválido\n  Detalhe: ...")))
+                .doAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id_paciente")).thenReturn(10L);
+                    when(rs.getString("cpf")).thenReturn("12345678901");
+                    when(rs.getString("nome")).thenReturn("Ana");
+                    invocation.<RowCallbackHandler>getArgument(3).processRow(rs);
+                    return null;
+                })
+                .doThrow(new DataIntegrityViolationException("linha", new SQLException("ERROR: valor inválido\n  Detalhe: ...")))
+                .when(jdbcTemplate).query(anyString(), any(Object[].class), any(int[].class), any(RowCallbackHandler.class));
+
+        String csv = """
+                nome,cpf
+                Ana,12345678901
+                Bia,12345678902
+                """;
+
+        var resultado = importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, resultado.getImportados());
+        assertEquals(1, resultado.getRejeitados());
+        assertEquals(3L, resultado.getErros().get(0).getLinha());
+        assertEquals("Recusada pelo banco: ERROR: valor inválido", resultado.getErros().get(0).getErro());
+        verify(jdbcTemplate, times(3)).query(anyString(), any(Object[].class), any(int[].class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar quebra de linha dentro de aspas e rejeitar aspas não fechadas")
+    void deveTratarQuebraDeLinhaEntreAspas() {
+        String csv = "nome,cpf,email\n"
+                + "\"Ana\nLima\",123,\n"
+                + "\"Bia,12345678902,\n"
+                + "Caio,12345678903,\n";
+
+        var resultado = importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, resultado.getLinhasLidas());
+        // O registro de várias linhas é relatado pela primeira delas.
+        assertEquals(2L, resultado.getErros().get(0).getLinha());
+        assertEquals("CPF deve conter 11 dígitos.", resultado.getErros().get(0).getErro());
+        assertEquals(4L, resultado.getErros().get(1).getLinha());
+        assertEquals("Aspas não fechadas; linhas 4 a 5 ignoradas.", resultado.getErros().get(1).getErro());
+        assertTrue(PacienteImportacaoService.aspasAbertas("\"Ana"));
+        assertFalse(PacienteImportacaoService.aspasAbertas("\"diz \"\"oi\"\"\",1"));
+    }
+}
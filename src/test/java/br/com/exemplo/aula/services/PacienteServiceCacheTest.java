@@ -0,0 +1,81 @@
+package br.com.exemplo.aula.services;
+
+import br.com.exemplo.aula.config.CacheConfig;
+import br.com.exemplo.aula.controllers.dto.PacienteRequestDTO;
+import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
+import br.com.exemplo.aula.repositories.PacienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, PacienteService.class})
+public class PacienteServiceCacheTest {
+
+    @Autowired
+    PacienteService pacienteService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    PacienteRepository pacienteRepository;
+
+    @MockBean
+    PacienteTrigramaIndice pacienteTrigramaIndice;
+
+    @MockBean
+    ColecaoVersaoRepository colecaoVersaoRepository;
+
+    @MockBean
+    ApplicationEventPublisher eventPublisher;
+
+    Paciente paciente;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.PACIENTES).clear();
+        paciente = new Paciente();
+        paciente.setId(1L);
+        paciente.setNome("Nome de paciente");
+        paciente.setDataNascimento(LocalDate.of(1970, 1, 1));
+        when(pacienteRepository.findById(1L)).thenReturn(Optional.of(paciente));
+    }
+
+    @Test
+    @DisplayName("Deve servir buscas repetidas do cache e invalidar ao atualizar")
+    void deveUsarCacheEInvalidar() {
+        assertEquals("Nome de paciente", pacienteService.buscarPaciente(1L).getNome());
+        assertEquals("Nome de paciente", pacienteService.buscarPaciente(1L).getNome());
+        verify(pacienteRepository, times(1)).findById(1L);
+
+        PacienteRequestDTO request = new PacienteRequestDTO();
+        request.setNome("Outro nome");
+        request.setCpf("000.000.000-00");
+        pacienteService.atualizarPaciente(1L, request);
+
+        assertEquals("Outro nome", pacienteService.buscarPaciente(1L).getNome());
+        verify(pacienteRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar paciente inexistente no cache")
+    void naoDeveGuardarInexistente() {
+        when(pacienteRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertNull(pacienteService.buscarPaciente(2L));
+        assertNull(pacienteService.buscarPaciente(2L));
+        verify(pacienteRepository, times(2)).findById(2L);
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.exemplo.aula.services;
 
 import br.com.exemplo.aula.controllers.dto.PacienteRequestDTO;
+import br.com.exemplo.aula.entities.ColecaoVersao;
 import br.com.exemplo.aula.entities.Paciente;
+import br.com.exemplo.aula.repositories.ColecaoVersaoRepository;
 import br.com.exemplo.aula.repositories.PacienteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -23,6 +31,15 @@ public class PacienteServiceUnitTest {
     @Mock
     PacienteRepository pacienteRepository;
 
+    @Mock
+    PacienteTrigramaIndice pacienteTrigramaIndice;
+
+    @Mock
+    ColecaoVersaoRepository colecaoVersaoRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     PacienteService pacienteService;
 
@@ -103,6 +120,80 @@ public class PacienteServiceUnitTest {
     }
 
 
+    @Test
+    @DisplayName("Deve buscar paciente pelo CPF só com dígitos, com ou sem máscara")
+    void deveBuscarPacientePorCpf() {
+        Paciente encontrado = new Paciente();
+        encontrado.setId(1L);
+        encontrado.setNome("Nome de paciente");
+        encontrado.setCpf("12345678901");
+        when(pacienteRepository.findByCpf("12345678901")).thenReturn(Optional.of(encontrado));
+
+        var resultado = pacienteService.buscarPorCpf("123.456.789-01");
+
+        assertEquals("Nome de paciente", resultado.getNome());
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> pacienteService.buscarPorCpf("123"));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Deve responder 409 quando o CPF já está cadastrado")
+    void naoDeveSalvarPacienteComCpfDuplicado() {
+        PacienteRequestDTO request = new PacienteRequestDTO(
+                "Nome de paciente",
+                LocalDate.of(1970, 1, 1),
+                "000.000.000-00",
+                "(48) 92222-2222",
+                "email@teste.com",
+                1L);
+        when(pacienteRepository.save(any(Paciente.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new org.hibernate.exception.ConstraintViolationException("duplicado", new SQLException(), Paciente.UK_CPF)));
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> pacienteService.salvarPaciente(request));
+
+        assertEquals(HttpStatus.CONFLICT, erro.getStatusCode());
+        verifyNoInteractions(colecaoVersaoRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve alterar só os campos enviados, sem ler o paciente antes")
+    void deveAlterarCamposDoPaciente() {
+        when(pacienteRepository.atualizarCampos(1L, 3L, Map.of("telefone", "(48) 93333-3333"))).thenReturn(1);
+
+        Long versao = pacienteService.alterarPaciente(1L, Map.of("telefone", "(48) 93333-3333"), 3L);
+
+        assertEquals(4L, versao);
+        verify(pacienteRepository, never()).findById(anyLong());
+        verify(colecaoVersaoRepository).incrementar(ColecaoVersao.PACIENTES);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 um campo maior que a coluna, sem ir ao banco")
+    void deveRecusarCampoLongoNaAlteracao() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> pacienteService.alterarPaciente(1L, Map.of("email", "a".repeat(256)), 3L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        assertEquals("email com mais de 255 caracteres.", erro.getReason());
+        verifyNoInteractions(pacienteRepository, colecaoVersaoRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve responder 412 quando a versão informada não é mais a atual")
+    void naoDeveAlterarPacienteComVersaoDesatualizada() {
+        when(pacienteRepository.atualizarCampos(eq(1L), eq(3L), any())).thenReturn(0);
+        when(pacienteRepository.existsById(1L)).thenReturn(true);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> pacienteService.alterarPaciente(1L, Map.of("nome", "Outro nome"), 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, erro.getStatusCode());
+        verifyNoInteractions(colecaoVersaoRepository, eventPublisher);
+    }
+
     @Test
     @DisplayName("Deve atualizar paciente existente via id e retornar dados atualizados")
     void deveAtualizarPaciente() {
@@ -0,0 +1,95 @@
+package br.com.exemplo.aula.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramaIndiceUnitTest {
+
+    TrigramaIndice indice;
+
+    @BeforeEach
+    public void setup() {
+        indice = new TrigramaIndice(0.3);
+        indice.indexar(1L, "Maria da Silva");
+        indice.indexar(2L, "Mariana Souza");
+        indice.indexar(3L, "João Pereira");
+        indice.indexar(4L, "Márcia Silveira");
+        indice.indexar(5L, "Maria");
+    }
+
+    private List<Long> ids(String consulta, int limite) {
+        return indice.buscar(consulta, limite).stream().map(TrigramaIndice.Resultado::id).toList();
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por similaridade e tolerar acentos e erros de digitação")
+    void deveOrdenarPorSimilaridade() {
+        assertEquals(List.of(5L, 1L), ids("maria", 2));
+        assertEquals(3L, ids("Joao Pereria", 10).get(0));
+        assertEquals(4L, ids("marcia silveira", 10).get(0));
+        assertTrue(ids("Xyz", 10).isEmpty());
+
+        List<TrigramaIndice.Resultado> resultados = indice.buscar("Maria", 10);
+        assertEquals(1.0, resultados.get(0).similaridade());
+        for (int i = 1; i < resultados.size(); i++) {
+            assertTrue(resultados.get(i - 1).similaridade() >= resultados.get(i).similaridade());
+            assertTrue(resultados.get(i).similaridade() >= 0.3);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas os K melhores, desempatando pelo menor id")
+    void deveLimitarAosMelhores() {
+        indice.indexar(6L, "Maria");
+        indice.indexar(7L, "Maria");
+
+        assertEquals(List.of(5L, 6L), ids("Maria", 2));
+        assertEquals(List.of(5L, 6L, 7L, 1L), ids("Maria", 4));
+    }
+
+    @Test
+    @DisplayName("Deve reindexar documento atualizado e remover excluído")
+    void deveReindexarERemover() {
+        indice.indexar(5L, "Pedro Alves");
+        assertFalse(ids("Maria", 10).contains(5L));
+        assertEquals(List.of(5L), ids("Pedro Alvez", 10));
+
+        indice.remover(3L);
+        assertTrue(ids("João Pereira", 10).isEmpty());
+        assertEquals(4, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve continuar igual a um índice novo depois de muitas reindexações e compactações")
+    void deveManterListasAposCompactar() {
+        String[] nomes = {"Ana Lima", "Bruno Costa", "Carla Souza Ramos", "Davi", "Elisa Fagundes Pereira"};
+        for (int volta = 0; volta < 20; volta++) {
+            for (long id = 10; id < 300; id++) {
+                indice.indexar(id, nomes[(int) ((id + volta) % nomes.length)] + " " + volta);
+            }
+            for (long id = 10; id < 300; id += 7) {
+                indice.remover(id);
+            }
+        }
+        TrigramaIndice novo = new TrigramaIndice(0.3);
+        for (long id = 1; id <= 5; id++) {
+            novo.indexar(id, List.of("Maria da Silva", "Mariana Souza", "João Pereira", "Márcia Silveira", "Maria")
+                    .get((int) id - 1));
+        }
+        for (long id = 10; id < 300; id++) {
+            if ((id - 10) % 7 != 0) {
+                novo.indexar(id, nomes[(int) ((id + 19) % nomes.length)] + " 19");
+            }
+        }
+
+        assertEquals(novo.tamanho(), indice.tamanho());
+        for (String consulta : List.of("Ana Lima 19", "Carla Souza", "Davi 3", "Elisa Pereira", "Maria")) {
+            assertEquals(novo.buscar(consulta, 50), indice.buscar(consulta, 50));
+        }
+    }
+}
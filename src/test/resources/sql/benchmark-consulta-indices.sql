@@ -0,0 +1,85 @@
+-- Benchmark das listagens por nutricionista/paciente e período (GET /consultas?nutricionista=&de=&ate=).
+-- Rodar com psql em um banco local já criado pela aplicação (ddl-auto=update cria tabelas e índices):
+--   psql -h localhost -p 5431 -U meuUsuario -d meuBancoDeDados -f src/test/resources/sql/benchmark-consulta-indices.sql
+-- Gera ~3 milhões de consultas em tabelas novas de um schema separado, sem tocar nos dados da aplicação.
+
+\timing on
+
+DROP SCHEMA IF EXISTS benchmark CASCADE;
+CREATE SCHEMA benchmark;
+SET search_path TO benchmark;
+
+CREATE TABLE nutricionista (LIKE public.nutricionista INCLUDING ALL);
+CREATE TABLE paciente (LIKE public.paciente INCLUDING ALL);
+CREATE TABLE consulta (LIKE public.consulta INCLUDING DEFAULTS);
+
+INSERT INTO nutricionista (id_nutricionista, nome, crn, matricula, tempo_experiencia, especialidade)
+SELECT i, 'Nutricionista ' || i, 'CRN' || i, 'M' || i, i % 30, (ARRAY['Esportiva', 'Clinica', 'Pediatrica', 'Funcional'])[1 + i % 4]
+FROM generate_series(1, 500) AS i;
+
+INSERT INTO paciente (id_paciente, nome, cpf, data_nascimento, telefone, email)
+SELECT i, 'Paciente ' || i, lpad(i::text, 11, '0'), DATE '1960-01-01' + (i % 20000), '4899999' || i, 'p' || i || '@exemplo.com'
+FROM generate_series(1, 200000) AS i;
+
+INSERT INTO consulta (id, nutricionista_id_nutricionista, id_paciente, data, hora_inicio, hora_fim, observacoes)
+SELECT i,
+       1 + (i * 7919) % 500,
+       1 + (i * 104729) % 200000,
+       DATE '2019-01-01' + (i % 2920),
+       TIME '08:00' + ((i % 20) * INTERVAL '30 minutes'),
+       TIME '08:30' + ((i % 20) * INTERVAL '30 minutes'),
+       'Observação ' || i
+FROM generate_series(1, 3000000) AS i;
+
+ALTER TABLE consulta ADD PRIMARY KEY (id);
+
+-- Sem os índices: varredura sequencial da tabela inteira.
+ANALYZE consulta;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.id, n.nome, p.nome, c.data
+FROM consulta c
+JOIN nutricionista n ON n.id_nutricionista = c.nutricionista_id_nutricionista
+JOIN paciente p ON p.id_paciente = c.id_paciente
+WHERE c.nutricionista_id_nutricionista = 42 AND c.data BETWEEN DATE '2024-01-01' AND DATE '2024-06-30'
+ORDER BY c.data, c.id
+LIMIT 51;
+
+-- Mesmos índices declarados na entidade Consulta.
+CREATE INDEX idx_consulta_nutricionista_data ON consulta (nutricionista_id_nutricionista, data, id, id_paciente);
+CREATE INDEX idx_consulta_paciente_data ON consulta (id_paciente, data, id, nutricionista_id_nutricionista);
+
+-- O VACUUM atualiza o visibility map; sem ele o planner ainda consulta o heap (Heap Fetches > 0).
+VACUUM ANALYZE consulta;
+
+-- Esperado: "Index Only Scan using idx_consulta_nutricionista_data" com Heap Fetches: 0.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.id, n.nome, p.nome, c.data
+FROM consulta c
+JOIN nutricionista n ON n.id_nutricionista = c.nutricionista_id_nutricionista
+JOIN paciente p ON p.id_paciente = c.id_paciente
+WHERE c.nutricionista_id_nutricionista = 42 AND c.data BETWEEN DATE '2024-01-01' AND DATE '2024-06-30'
+ORDER BY c.data, c.id
+LIMIT 51;
+
+-- Esperado: "Index Only Scan using idx_consulta_paciente_data".
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.id, n.nome, p.nome, c.data
+FROM consulta c
+JOIN nutricionista n ON n.id_nutricionista = c.nutricionista_id_nutricionista
+JOIN paciente p ON p.id_paciente = c.id_paciente
+WHERE c.id_paciente = 4242 AND c.data BETWEEN DATE '2019-01-01' AND DATE '2026-12-31'
+ORDER BY c.data, c.id
+LIMIT 51;
+
+-- Páginas seguintes (OFFSET) continuam no mesmo índice.
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT c.id, n.nome, p.nome, c.data
+FROM consulta c
+JOIN nutricionista n ON n.id_nutricionista = c.nutricionista_id_nutricionista
+JOIN paciente p ON p.id_paciente = c.id_paciente
+WHERE c.nutricionista_id_nutricionista = 42 AND c.data BETWEEN DATE '2019-01-01' AND DATE '2026-12-31'
+ORDER BY c.data, c.id
+LIMIT 51 OFFSET 500;
+
+RESET search_path;
+DROP SCHEMA benchmark CASCADE;